@@ -0,0 +1,150 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventSource;
+import com.adobe.marketing.mobile.EventType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Realistic track event payload shapes used by the Edge Bridge benchmarks.
+ */
+final class BenchmarkPayloads {
+
+	private static final int NESTED_DEPTH = 8;
+	private static final int NESTED_WIDTH = 4;
+
+	private BenchmarkPayloads() {}
+
+	enum Shape {
+		/** {@code MobileCore.trackAction} with no context data. */
+		TRACK_ACTION,
+		/** {@code MobileCore.trackState} with 10 context data keys. */
+		TRACK_STATE_10,
+		/** {@code MobileCore.trackState} with 100 context data keys. */
+		TRACK_STATE_100,
+		/** {@code MobileCore.trackState} with 1000 context data keys. */
+		TRACK_STATE_1000,
+		/** {@code MobileCore.trackAction} where most context data keys use the "&&" prefix. */
+		PREFIXED_HEAVY,
+		/** Track payload with deeply nested free-form data passed through under "data". */
+		NESTED_PASS_THROUGH,
+	}
+
+	/**
+	 * Creates the track event data for the given payload shape.
+	 * The returned map is taken from a built {@link Event} so it matches what the extension
+	 * receives from the event hub.
+	 *
+	 * @param shape the payload shape
+	 * @return the event data of a generic track request event
+	 */
+	static Map<String, Object> trackData(final Shape shape) {
+		return trackEvent(shape).getEventData();
+	}
+
+	/**
+	 * Creates a generic track request event for the given payload shape.
+	 *
+	 * @param shape the payload shape
+	 * @return a generic track request event
+	 */
+	static Event trackEvent(final Shape shape) {
+		return new Event.Builder("Benchmark Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+			.setEventData(rawTrackData(shape))
+			.build();
+	}
+
+	/**
+	 * Creates a rules engine response event carrying an Analytics consequence whose detail is
+	 * the track event data for the given payload shape.
+	 *
+	 * @param shape the payload shape
+	 * @return a rules engine response event
+	 */
+	static Event rulesEngineEvent(final Shape shape) {
+		final Map<String, Object> consequence = new HashMap<>();
+		consequence.put("id", "benchmark-consequence");
+		consequence.put("type", "an");
+		consequence.put("detail", rawTrackData(shape));
+
+		final Map<String, Object> eventData = new HashMap<>();
+		eventData.put("triggeredconsequence", consequence);
+
+		return new Event.Builder("Rules Consequence Event", EventType.RULES_ENGINE, EventSource.RESPONSE_CONTENT)
+			.setEventData(eventData)
+			.build();
+	}
+
+	private static Map<String, Object> rawTrackData(final Shape shape) {
+		final Map<String, Object> data = new HashMap<>();
+
+		switch (shape) {
+			case TRACK_ACTION:
+				data.put("action", "Add To Cart");
+				break;
+			case TRACK_STATE_10:
+				data.put("state", "Home Screen");
+				data.put("contextdata", contextData(10, 0));
+				break;
+			case TRACK_STATE_100:
+				data.put("state", "Home Screen");
+				data.put("contextdata", contextData(100, 0));
+				break;
+			case TRACK_STATE_1000:
+				data.put("state", "Home Screen");
+				data.put("contextdata", contextData(1000, 0));
+				break;
+			case PREFIXED_HEAVY:
+				final Map<String, String> contextData = contextData(10, 90);
+				contextData.put("&&events", "event1,event2,event3,event4,event12,event13");
+				contextData.put(
+					"&&products",
+					";product1;1;5.99;event12=5.99;evar5=merchEvar5,;product2;2;10.99;event13=6;eVar6=mercheVar6"
+				);
+				data.put("action", "Purchase");
+				data.put("contextdata", contextData);
+				break;
+			case NESTED_PASS_THROUGH:
+				data.put("action", "Add To Cart");
+				data.put("contextdata", contextData(10, 0));
+				data.put("nested", nestedMap(NESTED_DEPTH));
+				break;
+		}
+
+		return data;
+	}
+
+	private static Map<String, String> contextData(final int plainKeys, final int prefixedKeys) {
+		final Map<String, String> contextData = new HashMap<>();
+		for (int i = 0; i < plainKeys; i++) {
+			contextData.put("key" + i, "value" + i);
+		}
+		for (int i = 0; i < prefixedKeys; i++) {
+			contextData.put("&&eVar" + i, "evarValue" + i);
+		}
+		return contextData;
+	}
+
+	private static Map<String, Object> nestedMap(final int depth) {
+		final Map<String, Object> map = new HashMap<>();
+		for (int i = 0; i < NESTED_WIDTH; i++) {
+			map.put("key" + i, "value" + i);
+		}
+		if (depth > 0) {
+			map.put("level" + depth, nestedMap(depth - 1));
+		}
+		return map;
+	}
+}
@@ -0,0 +1,169 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventSource;
+import com.adobe.marketing.mobile.EventType;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Compares {@link CompactMap} against the {@link HashMap} previously used for the containers built
+ * for each bridged event.
+ * <p>
+ * The "build" benchmarks create a map and put the entries of a typical container, so the reported
+ * allocations per operation reflect the transient allocations of each map while the event data is
+ * built. The "lookup" benchmarks read every entry of an already built map. The "dispatch" benchmarks
+ * also pass the map to the event builder, which deep-copies event data into {@link HashMap}s, so
+ * they show the saving per dispatched event: only the short-lived container is smaller, and the
+ * retained event data is the same for both maps. Containers hold 2 entries (the {@code __adobe} and
+ * request objects), 4 entries (the XDM and analytics objects) and 8 entries, the largest
+ * array-backed size. See {@link EdgeBridgeExtensionBenchmark} for the whole bridging path.
+ */
+public class CompactMapBenchmark {
+
+	private static final String[] KEYS = {
+		"linkName",
+		"linkType",
+		"cp",
+		"contextData",
+		"pageName",
+		"events",
+		"products",
+		"xdm",
+	};
+
+	@Rule
+	public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+	@Test
+	public void hashMap_build2() {
+		build(new HashMapFactory(), 2);
+	}
+
+	@Test
+	public void compactMap_build2() {
+		build(new CompactMapFactory(), 2);
+	}
+
+	@Test
+	public void hashMap_build4() {
+		build(new HashMapFactory(), 4);
+	}
+
+	@Test
+	public void compactMap_build4() {
+		build(new CompactMapFactory(), 4);
+	}
+
+	@Test
+	public void hashMap_build8() {
+		build(new HashMapFactory(), 8);
+	}
+
+	@Test
+	public void compactMap_build8() {
+		build(new CompactMapFactory(), 8);
+	}
+
+	@Test
+	public void hashMap_dispatch4() {
+		dispatch(new HashMapFactory(), 4);
+	}
+
+	@Test
+	public void compactMap_dispatch4() {
+		dispatch(new CompactMapFactory(), 4);
+	}
+
+	@Test
+	public void hashMap_lookup4() {
+		lookup(new HashMapFactory(), 4);
+	}
+
+	@Test
+	public void compactMap_lookup4() {
+		lookup(new CompactMapFactory(), 4);
+	}
+
+	@Test
+	public void hashMap_lookup8() {
+		lookup(new HashMapFactory(), 8);
+	}
+
+	@Test
+	public void compactMap_lookup8() {
+		lookup(new CompactMapFactory(), 8);
+	}
+
+	private void build(final MapFactory factory, final int entries) {
+		final BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			final Map<String, Object> map = factory.create(entries);
+			for (int i = 0; i < entries; i++) {
+				map.put(KEYS[i], KEYS[i]);
+			}
+		}
+	}
+
+	private void dispatch(final MapFactory factory, final int entries) {
+		final BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			final Map<String, Object> map = factory.create(entries);
+			for (int i = 0; i < entries; i++) {
+				map.put(KEYS[i], KEYS[i]);
+			}
+			new Event.Builder("Benchmark Edge Event", EventType.EDGE, EventSource.REQUEST_CONTENT)
+				.setEventData(map)
+				.build();
+		}
+	}
+
+	private void lookup(final MapFactory factory, final int entries) {
+		final Map<String, Object> map = factory.create(entries);
+		for (int i = 0; i < entries; i++) {
+			map.put(KEYS[i], KEYS[i]);
+		}
+
+		final BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			for (int i = 0; i < entries; i++) {
+				map.get(KEYS[i]);
+			}
+		}
+	}
+
+	private interface MapFactory {
+		Map<String, Object> create(int expectedSize);
+	}
+
+	private static final class HashMapFactory implements MapFactory {
+
+		@Override
+		public Map<String, Object> create(final int expectedSize) {
+			return new HashMap<>();
+		}
+	}
+
+	private static final class CompactMapFactory implements MapFactory {
+
+		@Override
+		public Map<String, Object> create(final int expectedSize) {
+			return new CompactMap(expectedSize);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.SharedStateResolution;
+import com.adobe.marketing.mobile.SharedStateResult;
+import com.adobe.marketing.mobile.SharedStateStatus;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Benchmarks the Edge Bridge formatting and dispatch path for each {@link BenchmarkPayloads.Shape}.
+ * <p>
+ * Each benchmark reports the time and the number of allocations per operation.
+ * Run with {@code make benchmark} on a connected device or emulator.
+ */
+@RunWith(Parameterized.class)
+public class EdgeBridgeExtensionBenchmark {
+
+	@Rule
+	public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+	@Parameterized.Parameter
+	public BenchmarkPayloads.Shape shape;
+
+	private EdgeBridgeExtension extension;
+	private Map<String, Object> trackData;
+	private Event trackEvent;
+	private Event rulesEngineEvent;
+
+	@Parameterized.Parameters(name = "{0}")
+	public static Collection<Object[]> shapes() {
+		final List<Object[]> shapes = new ArrayList<>();
+		for (BenchmarkPayloads.Shape shape : BenchmarkPayloads.Shape.values()) {
+			shapes.add(new Object[] { shape });
+		}
+		return shapes;
+	}
+
+	@Before
+	public void setup() {
+		// Stub-only mock so dispatched events are not recorded across iterations
+		final ExtensionApi extensionApi = mock(ExtensionApi.class, withSettings().stubOnly());
+		// Report the Edge extension as registered so events are not held in the pre-registration buffer
+		final Map<String, Object> eventHubState = new HashMap<>();
+		eventHubState.put("extensions", Collections.singletonMap("com.adobe.edge", Collections.emptyMap()));
+		when(
+			extensionApi.getSharedState(
+				eq("com.adobe.module.eventhub"),
+				any(Event.class),
+				anyBoolean(),
+				any(SharedStateResolution.class)
+			)
+		)
+			.thenReturn(new SharedStateResult(SharedStateStatus.SET, eventHubState));
+		extension = new EdgeBridgeExtension(extensionApi);
+
+		trackData = BenchmarkPayloads.trackData(shape);
+		trackEvent = BenchmarkPayloads.trackEvent(shape);
+		rulesEngineEvent = BenchmarkPayloads.rulesEngineEvent(shape);
+	}
+
+	@Test
+	public void formatData() {
+		final BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			extension.formatData(trackData);
+		}
+	}
+
+	@Test
+	public void addAnalyticsProperties() {
+		// addAnalyticsProperties overwrites the same keys on every call, so the map can be reused
+		final Map<String, Object> analyticsData = new HashMap<>();
+		analyticsData.put("linkName", "Add To Cart");
+		analyticsData.put("linkType", "other");
+
+		final BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			extension.addAnalyticsProperties(analyticsData);
+		}
+	}
+
+	@Test
+	public void handleTrackRequest() {
+		final BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			extension.handleTrackRequest(trackEvent);
+		}
+	}
+
+	@Test
+	public void handleRulesEngineResponse() {
+		final BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			extension.handleRulesEngineResponse(rulesEngineEvent);
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import com.adobe.marketing.mobile.util.TimeUtils;
+import java.util.Date;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Compares {@link TimestampFormatter} against the {@link TimeUtils} path previously used for the
+ * XDM timestamp of each bridged event.
+ * <p>
+ * The "sameSecond" benchmarks reuse one timestamp, the common case for bursts of events; the
+ * "newSecond" benchmarks advance one second per operation so the cached prefix is never reused.
+ */
+public class TimestampFormatterBenchmark {
+
+	private static final long TIMESTAMP = 1714566896789L; // 2024-05-01T12:34:56.789Z
+
+	@Rule
+	public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+	@Test
+	public void timeUtils_sameSecond() {
+		final BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			TimeUtils.getISO8601UTCDateWithMilliseconds(new Date(TIMESTAMP));
+		}
+	}
+
+	@Test
+	public void timestampFormatter_sameSecond() {
+		final BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			TimestampFormatter.format(TIMESTAMP);
+		}
+	}
+
+	@Test
+	public void timeUtils_newSecond() {
+		long timestamp = TIMESTAMP;
+		final BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			timestamp += 1000;
+			TimeUtils.getISO8601UTCDateWithMilliseconds(new Date(timestamp));
+		}
+	}
+
+	@Test
+	public void timestampFormatter_newSecond() {
+		long timestamp = TIMESTAMP;
+		final BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			timestamp += 1000;
+			TimestampFormatter.format(timestamp);
+		}
+	}
+}
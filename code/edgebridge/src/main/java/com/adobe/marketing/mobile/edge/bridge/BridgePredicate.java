@@ -0,0 +1,32 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Decides which track calls are bridged to the Edge Network.
+ * <p>
+ * Register a predicate with {@link EdgeBridge#setBridgePredicate(BridgePredicate)}. The predicate is
+ * called on the event hub thread for every track event and Analytics rule consequence not already
+ * excluded by the configuration, before its data is copied or formatted, so it should return quickly
+ * and must not block.
+ */
+public interface BridgePredicate {
+	/**
+	 * @param action the track action name, or null if the call has no action
+	 * @param state the track state name, or null if the call has no state
+	 * @param isRuleConsequence true if the call was generated by an Analytics rule consequence
+	 * @return true to bridge the call, false to skip it
+	 */
+	boolean shouldBridge(@Nullable String action, @Nullable String state, boolean isRuleConsequence);
+}
@@ -0,0 +1,134 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import static com.adobe.marketing.mobile.edge.bridge.EdgeBridgeConstants.LOG_TAG;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.util.DataReader;
+import java.util.Map;
+
+/**
+ * Selects which track calls are bridged, from the configuration and the {@link BridgePredicate}
+ * registered in code.
+ * <p>
+ * The configuration can exclude all track requests or all rule consequences, and can restrict the
+ * bridged calls to those whose action or state matches a list of key patterns, as compiled by
+ * {@link KeyFilter}. A call with an action must match the action patterns, if any, and a call with a
+ * state must match the state patterns, if any. Calls selected by the configuration are then passed
+ * to the registered predicate. Selection only reads the raw action and state strings, so skipped
+ * calls are never copied or formatted.
+ */
+final class BridgeSelector {
+
+	private static final String LOG_SOURCE = "BridgeSelector";
+
+	static final BridgeSelector DEFAULT = new BridgeSelector(
+		EdgeBridgeConstants.Defaults.BRIDGE_TRACK,
+		EdgeBridgeConstants.Defaults.BRIDGE_RULES_ENGINE,
+		KeyFilter.EMPTY,
+		KeyFilter.EMPTY
+	);
+
+	private static volatile BridgePredicate registeredPredicate;
+
+	private final boolean bridgeTrack;
+	private final boolean bridgeRulesEngine;
+	private final KeyFilter actions;
+	private final KeyFilter states;
+
+	private BridgeSelector(
+		final boolean bridgeTrack,
+		final boolean bridgeRulesEngine,
+		final KeyFilter actions,
+		final KeyFilter states
+	) {
+		this.bridgeTrack = bridgeTrack;
+		this.bridgeRulesEngine = bridgeRulesEngine;
+		this.actions = actions;
+		this.states = states;
+	}
+
+	/**
+	 * Compiles the bridging selection settings from the configuration.
+	 *
+	 * @param configuration the Configuration shared state
+	 * @return the {@link BridgeSelector}
+	 */
+	@NonNull static BridgeSelector fromConfiguration(@Nullable final Map<String, Object> configuration) {
+		final boolean bridgeTrack = DataReader.optBoolean(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.BRIDGE_TRACK,
+			EdgeBridgeConstants.Defaults.BRIDGE_TRACK
+		);
+		final boolean bridgeRulesEngine = DataReader.optBoolean(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.BRIDGE_RULES_ENGINE,
+			EdgeBridgeConstants.Defaults.BRIDGE_RULES_ENGINE
+		);
+		final KeyFilter actions = KeyFilter.compile(
+			DataReader.optTypedList(Object.class, configuration, EdgeBridgeConstants.ConfigurationKeys.BRIDGE_ACTIONS, null)
+		);
+		final KeyFilter states = KeyFilter.compile(
+			DataReader.optTypedList(Object.class, configuration, EdgeBridgeConstants.ConfigurationKeys.BRIDGE_STATES, null)
+		);
+
+		if (bridgeTrack && bridgeRulesEngine && actions.isEmpty() && states.isEmpty()) {
+			return DEFAULT;
+		}
+		return new BridgeSelector(bridgeTrack, bridgeRulesEngine, actions, states);
+	}
+
+	/**
+	 * Registers the predicate which is applied after the configured selection.
+	 *
+	 * @param predicate the {@link BridgePredicate}, or null to remove the registered predicate
+	 */
+	static void setRegisteredPredicate(@Nullable final BridgePredicate predicate) {
+		registeredPredicate = predicate;
+	}
+
+	/**
+	 * @param action the raw track action name, may be null
+	 * @param state the raw track state name, may be null
+	 * @param isRuleConsequence true if the call was generated by an Analytics rule consequence
+	 * @return true if the call should be bridged
+	 */
+	boolean select(@Nullable final String action, @Nullable final String state, final boolean isRuleConsequence) {
+		if (isRuleConsequence ? !bridgeRulesEngine : !bridgeTrack) {
+			return false;
+		}
+
+		if (action != null && !actions.isEmpty() && !actions.matches(action)) {
+			return false;
+		}
+
+		if (state != null && !states.isEmpty() && !states.matches(state)) {
+			return false;
+		}
+
+		final BridgePredicate predicate = registeredPredicate;
+		if (predicate == null) {
+			return true;
+		}
+
+		try {
+			return predicate.shouldBridge(action, state, isRuleConsequence);
+		} catch (Exception e) {
+			// A failing predicate should not lose data, so the call is bridged
+			Log.warning(LOG_TAG, LOG_SOURCE, "Registered bridge predicate failed, bridging the call: %s", e);
+			return true;
+		}
+	}
+}
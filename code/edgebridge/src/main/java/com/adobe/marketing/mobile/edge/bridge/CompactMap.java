@@ -0,0 +1,298 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map for the small, fixed-shape containers built for every bridged event.
+ * <p>
+ * Up to {@link #MAX_ARRAY_ENTRIES} entries are kept in a single array of alternating keys and
+ * values, which is searched linearly. This avoids the table and per-entry node allocations of a
+ * {@link HashMap}, and for a few short keys is as fast to search as hashing. When an entry is added
+ * beyond that, or if a larger size is expected when the map is created, the entries are moved to a
+ * {@link HashMap} sized for the expected entries, which is used from then on. Entries are iterated
+ * in insertion order while array-backed. Not thread-safe.
+ * <p>
+ * The saving is limited to the short-lived containers built while formatting an event: the event
+ * builder deep-copies event data into {@link HashMap}s, so the data retained by a dispatched event
+ * is the same as with {@link HashMap} containers.
+ */
+final class CompactMap extends AbstractMap<String, Object> {
+
+	static final int MAX_ARRAY_ENTRIES = 8;
+
+	private static final int DEFAULT_ARRAY_ENTRIES = 4;
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private Object[] table;
+	private int size;
+	private int modCount;
+	private HashMap<String, Object> hashMap;
+	private Set<Map.Entry<String, Object>> entrySet;
+
+	CompactMap() {
+		this(DEFAULT_ARRAY_ENTRIES);
+	}
+
+	/**
+	 * @param expectedSize the expected number of entries
+	 */
+	CompactMap(final int expectedSize) {
+		if (expectedSize > MAX_ARRAY_ENTRIES) {
+			hashMap = new HashMap<>(hashMapCapacity(expectedSize));
+		} else {
+			table = new Object[2 * Math.max(1, expectedSize)];
+		}
+	}
+
+	@Override
+	public int size() {
+		return hashMap != null ? hashMap.size() : size;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return hashMap != null ? hashMap.containsKey(key) : indexOf(key) >= 0;
+	}
+
+	@Override
+	public Object get(final Object key) {
+		if (hashMap != null) {
+			return hashMap.get(key);
+		}
+
+		final int index = indexOf(key);
+		return index >= 0 ? table[2 * index + 1] : null;
+	}
+
+	@Override
+	public Object put(final String key, final Object value) {
+		if (hashMap != null) {
+			return hashMap.put(key, value);
+		}
+
+		final int index = indexOf(key);
+		if (index >= 0) {
+			final Object previousValue = table[2 * index + 1];
+			table[2 * index + 1] = value;
+			return previousValue;
+		}
+
+		if (size == MAX_ARRAY_ENTRIES) {
+			moveToHashMap(size + 1);
+			return hashMap.put(key, value);
+		}
+
+		if (2 * size == table.length) {
+			final Object[] newTable = new Object[Math.min(2 * table.length, 2 * MAX_ARRAY_ENTRIES)];
+			System.arraycopy(table, 0, newTable, 0, table.length);
+			table = newTable;
+		}
+
+		table[2 * size] = key;
+		table[2 * size + 1] = value;
+		size++;
+		modCount++;
+		return null;
+	}
+
+	@Override
+	public Object remove(final Object key) {
+		if (hashMap != null) {
+			return hashMap.remove(key);
+		}
+
+		final int index = indexOf(key);
+		if (index < 0) {
+			return null;
+		}
+
+		final Object previousValue = table[2 * index + 1];
+		removeAt(index);
+		return previousValue;
+	}
+
+	@Override
+	public void clear() {
+		if (hashMap != null) {
+			hashMap.clear();
+			return;
+		}
+
+		for (int i = 0; i < 2 * size; i++) {
+			table[i] = null;
+		}
+		size = 0;
+		modCount++;
+	}
+
+	@NonNull @Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	private int indexOf(final Object key) {
+		for (int i = 0; i < size; i++) {
+			final Object entryKey = table[2 * i];
+			if (entryKey == key || (key != null && key.equals(entryKey))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void removeAt(final int index) {
+		final int next = 2 * (index + 1);
+		System.arraycopy(table, next, table, 2 * index, 2 * size - next);
+		size--;
+		table[2 * size] = null;
+		table[2 * size + 1] = null;
+		modCount++;
+	}
+
+	private void moveToHashMap(final int expectedSize) {
+		final HashMap<String, Object> entries = new HashMap<>(hashMapCapacity(expectedSize));
+		for (int i = 0; i < size; i++) {
+			entries.put((String) table[2 * i], table[2 * i + 1]);
+		}
+		hashMap = entries;
+		table = null;
+		size = 0;
+		modCount++;
+	}
+
+	private static int hashMapCapacity(final int expectedSize) {
+		return (int) (expectedSize / LOAD_FACTOR) + 1;
+	}
+
+	/**
+	 * View of the entries, which follows the map when its entries move to the {@link HashMap}.
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+		@Override
+		public int size() {
+			return CompactMap.this.size();
+		}
+
+		@Override
+		public void clear() {
+			CompactMap.this.clear();
+		}
+
+		@NonNull @Override
+		public Iterator<Map.Entry<String, Object>> iterator() {
+			return hashMap != null ? hashMap.entrySet().iterator() : new ArrayIterator();
+		}
+	}
+
+	private final class ArrayIterator implements Iterator<Map.Entry<String, Object>> {
+
+		private int next;
+		private int last = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return next < size;
+		}
+
+		@Override
+		public Map.Entry<String, Object> next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (next >= size) {
+				throw new NoSuchElementException();
+			}
+			last = next++;
+			return new ArrayEntry(last);
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeAt(last);
+			next = last;
+			last = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+	private final class ArrayEntry implements Map.Entry<String, Object> {
+
+		private final int index;
+
+		ArrayEntry(final int index) {
+			this.index = index;
+		}
+
+		@Override
+		public String getKey() {
+			return (String) table[2 * index];
+		}
+
+		@Override
+		public Object getValue() {
+			return table[2 * index + 1];
+		}
+
+		@Override
+		public Object setValue(final Object value) {
+			final Object previousValue = table[2 * index + 1];
+			table[2 * index + 1] = value;
+			return previousValue;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			final Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+			return eq(getKey(), other.getKey()) && eq(getValue(), other.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			final Object key = getKey();
+			final Object value = getValue();
+			return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+	}
+
+	private static boolean eq(final Object a, final Object b) {
+		return a == null ? b == null : a.equals(b);
+	}
+}
@@ -0,0 +1,69 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import static com.adobe.marketing.mobile.edge.bridge.EdgeBridgeConstants.LOG_TAG;
+
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.util.DataReader;
+import java.util.Map;
+
+/**
+ * Caches the collect consent from the Consent extension shared state, so bridged events can be
+ * rejected before any formatting work is done when the user denied collect consent.
+ * <p>
+ * Events received while collect consent is pending are not held here. They are bridged to the Edge
+ * extension, which queues them until consent is resolved. An unknown consent, for example when the
+ * Consent extension is not registered, lets all requests through. Accessed only from the event hub
+ * thread.
+ */
+class ConsentGate {
+
+	private boolean loaded;
+	private String collectConsent;
+
+	/**
+	 * @return true if the collect consent was read from the Consent shared state at least once
+	 */
+	boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * @return true if the user denied collect consent
+	 */
+	boolean isDenied() {
+		return EdgeBridgeConstants.ConsentValues.NO.equals(collectConsent);
+	}
+
+	/**
+	 * Updates the cached collect consent from the Consent extension shared state.
+	 *
+	 * @param consentState the Consent XDM shared state value, or null if not available
+	 */
+	void update(@Nullable final Map<String, Object> consentState) {
+		loaded = true;
+		final Map<String, Object> consents = DataReader.optTypedMap(
+			Object.class,
+			consentState,
+			EdgeBridgeConstants.ConsentKeys.CONSENTS,
+			null
+		);
+		final Map<String, Object> collect = DataReader.optTypedMap(
+			Object.class,
+			consents,
+			EdgeBridgeConstants.ConsentKeys.COLLECT,
+			null
+		);
+		collectConsent = DataReader.optString(collect, EdgeBridgeConstants.ConsentKeys.VALUE, null);
+	}
+}
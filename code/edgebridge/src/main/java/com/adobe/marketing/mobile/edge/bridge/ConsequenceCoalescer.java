@@ -0,0 +1,410 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import static com.adobe.marketing.mobile.edge.bridge.EdgeBridgeConstants.LOG_TAG;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges the Analytics rule consequences triggered by the same parent event into a single track
+ * request.
+ * <p>
+ * When enabled, the first consequence for a parent event opens a group which collects all further
+ * consequences for that parent until the coalescing window elapses. The merged consequence detail
+ * is then passed to the {@link Callback}. Consequences are only merged when they have the same
+ * {@code action} and {@code state}, and no top-level detail key or {@code contextdata} entry of one
+ * has a different value in the other, so merging never drops a value. A consequence which cannot be
+ * merged flushes the open group of its parent and opens a new one. The merged request is chained to
+ * the first consequence event.
+ * <p>
+ * Window flushes are run through the flush {@link Executor}, so they are ordered with the other
+ * bridged events. The flush executor is never called while this object's lock is held, as its tasks
+ * take that lock. When disabled, consequences are passed to the callback as they are added.
+ */
+class ConsequenceCoalescer {
+
+	private static final String LOG_SOURCE = "ConsequenceCoalescer";
+
+	/**
+	 * Receives the consequence details to format and dispatch.
+	 */
+	interface Callback {
+		/**
+		 * @param detail the consequence detail, merged if more than one consequence was coalesced
+		 * @param consequenceId the consequence id if only one consequence was collected, otherwise null
+		 * @param parentEvent the first consequence event of the group
+		 * @param customerPerspective the customer perspective captured for the first consequence
+		 * @param receivedNanos the {@link System#nanoTime()} at which the first consequence was received
+		 */
+		void onCoalesced(
+			@NonNull Map<String, Object> detail,
+			@Nullable String consequenceId,
+			@NonNull Event parentEvent,
+			@Nullable String customerPerspective,
+			long receivedNanos
+		);
+	}
+
+	private final Callback callback;
+	private final Executor flushExecutor;
+	private final EdgeBridgeMetrics metrics;
+	private final int maxGroups;
+	private final LinkedHashMap<String, Group> groups = new LinkedHashMap<>();
+
+	private volatile boolean enabled = EdgeBridgeConstants.Defaults.COALESCE_ENABLED;
+	private long windowMilliseconds = EdgeBridgeConstants.Defaults.COALESCE_WINDOW_MILLISECONDS;
+	private ScheduledExecutorService scheduler;
+
+	ConsequenceCoalescer(
+		@NonNull final Callback callback,
+		@NonNull final Executor flushExecutor,
+		@NonNull final EdgeBridgeMetrics metrics
+	) {
+		this(callback, flushExecutor, metrics, EdgeBridgeConstants.BufferLimits.COALESCE_GROUPS);
+	}
+
+	@VisibleForTesting
+	ConsequenceCoalescer(
+		@NonNull final Callback callback,
+		@NonNull final Executor flushExecutor,
+		@NonNull final EdgeBridgeMetrics metrics,
+		final int maxGroups
+	) {
+		this.callback = callback;
+		this.flushExecutor = flushExecutor;
+		this.metrics = metrics;
+		this.maxGroups = maxGroups;
+	}
+
+	/**
+	 * Updates the coalescing settings. Disabling coalescing flushes any open groups through the flush
+	 * {@link Executor}.
+	 *
+	 * @param configuration the current {@link EdgeBridgeConfiguration}
+	 */
+	void configure(@NonNull final EdgeBridgeConfiguration configuration) {
+		final List<Group> openGroups;
+		synchronized (this) {
+			enabled = configuration.isCoalesceEnabled();
+			windowMilliseconds = configuration.getCoalesceWindowMilliseconds();
+			openGroups = enabled ? null : removeGroups();
+		}
+
+		if (openGroups != null && !openGroups.isEmpty()) {
+			flushExecutor.execute(() -> {
+				for (Group group : openGroups) {
+					dispatch(group);
+				}
+			});
+		}
+	}
+
+	/**
+	 * @return true if consequences sharing a parent event are merged
+	 */
+	boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Adds a consequence to the group of its parent event, opening the group if needed. If the
+	 * maximum number of groups is open, the oldest group is flushed first.
+	 *
+	 * @param parentId the unique identifier of the event which triggered the consequence
+	 * @param detail the consequence detail
+	 * @param consequenceId the consequence id
+	 * @param consequenceEvent the rules engine response event carrying the consequence
+	 * @param customerPerspective the customer perspective captured when the consequence was received
+	 * @param receivedNanos the {@link System#nanoTime()} at which the consequence was received
+	 */
+	synchronized void add(
+		@NonNull final String parentId,
+		@NonNull final Map<String, Object> detail,
+		@NonNull final String consequenceId,
+		@NonNull final Event consequenceEvent,
+		@Nullable final String customerPerspective,
+		final long receivedNanos
+	) {
+		if (!enabled) {
+			callback.onCoalesced(detail, consequenceId, consequenceEvent, customerPerspective, receivedNanos);
+			return;
+		}
+
+		final Group group = groups.get(parentId);
+		if (group != null) {
+			if (canMerge(group.detail, detail)) {
+				group.merge(detail);
+				metrics.recordCoalesced();
+				return;
+			}
+
+			// Merging would replace a value, so send the collected consequences as their own request
+			groups.remove(parentId);
+			dispatch(group);
+		}
+
+		if (groups.size() >= maxGroups) {
+			final Iterator<Map.Entry<String, Group>> iterator = groups.entrySet().iterator();
+			final Group oldestGroup = iterator.next().getValue();
+			iterator.remove();
+			dispatch(oldestGroup);
+		}
+
+		final Group newGroup = new Group(detail, consequenceId, consequenceEvent, customerPerspective, receivedNanos);
+		newGroup.scheduledFlush =
+			getScheduler()
+				.schedule(
+					() -> flushExecutor.execute(() -> flush(parentId)),
+					windowMilliseconds,
+					TimeUnit.MILLISECONDS
+				);
+		groups.put(parentId, newGroup);
+	}
+
+	/**
+	 * Passes the merged consequences of the given parent event to the callback, if its group is open.
+	 *
+	 * @param parentId the unique identifier of the parent event
+	 */
+	synchronized void flush(@NonNull final String parentId) {
+		final Group group = groups.remove(parentId);
+		if (group != null) {
+			dispatch(group);
+		}
+	}
+
+	/**
+	 * Passes the merged consequences of all open groups to the callback, oldest first.
+	 */
+	synchronized void flush() {
+		for (Group group : removeGroups()) {
+			dispatch(group);
+		}
+	}
+
+	/**
+	 * Discards all open groups and stops the window scheduler, as the extension can no longer
+	 * dispatch events. Consequences added afterwards are passed to the callback directly.
+	 */
+	synchronized void shutdown() {
+		enabled = false;
+
+		final List<Group> openGroups = removeGroups();
+		for (Group group : openGroups) {
+			if (group.scheduledFlush != null) {
+				group.scheduledFlush.cancel(false);
+			}
+		}
+		if (!openGroups.isEmpty()) {
+			Log.debug(
+				LOG_TAG,
+				LOG_SOURCE,
+				"Discarding %d open rule consequence groups on shutdown.",
+				openGroups.size()
+			);
+		}
+
+		if (scheduler != null) {
+			scheduler.shutdown();
+			scheduler = null;
+		}
+	}
+
+	/**
+	 * Removes all open groups. Must be called while holding this object's lock.
+	 *
+	 * @return the removed groups, oldest first
+	 */
+	private List<Group> removeGroups() {
+		if (groups.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		final List<Group> openGroups = new ArrayList<>(groups.values());
+		groups.clear();
+		return openGroups;
+	}
+
+	private void dispatch(final Group group) {
+		if (group.scheduledFlush != null) {
+			group.scheduledFlush.cancel(false);
+		}
+
+		if (group.count > 1) {
+			Log.trace(LOG_TAG, LOG_SOURCE, "Merged %d rule consequences into one request.", group.count);
+		}
+
+		callback.onCoalesced(
+			group.detail,
+			group.count == 1 ? group.consequenceId : null,
+			group.consequenceEvent,
+			group.customerPerspective,
+			group.receivedNanos
+		);
+	}
+
+	private ScheduledExecutorService getScheduler() {
+		if (scheduler == null) {
+			// Daemon thread, so pending windows do not keep the process alive
+			scheduler =
+				Executors.newSingleThreadScheduledExecutor(runnable -> {
+					final Thread thread = new Thread(runnable, LOG_SOURCE);
+					thread.setDaemon(true);
+					return thread;
+				});
+		}
+		return scheduler;
+	}
+
+	/**
+	 * Checks whether a consequence detail can be merged into another without changing the track call
+	 * or dropping a value.
+	 *
+	 * @param target the merged detail
+	 * @param source the consequence detail to merge
+	 * @return true if both details have the same {@code action} and {@code state}, and every top-level
+	 * key and {@code contextdata} entry they share has the same value
+	 */
+	@VisibleForTesting
+	static boolean canMerge(final Map<String, Object> target, final Map<String, Object> source) {
+		if (
+			!isSameValue(
+				target.get(EdgeBridgeConstants.MobileCoreKeys.ACTION),
+				source.get(EdgeBridgeConstants.MobileCoreKeys.ACTION)
+			) ||
+			!isSameValue(
+				target.get(EdgeBridgeConstants.MobileCoreKeys.STATE),
+				source.get(EdgeBridgeConstants.MobileCoreKeys.STATE)
+			)
+		) {
+			return false;
+		}
+
+		for (Map.Entry<String, Object> entry : source.entrySet()) {
+			final String key = entry.getKey();
+			if (!target.containsKey(key)) {
+				continue;
+			}
+
+			final Object value = entry.getValue();
+			final Object existingValue = target.get(key);
+			if (
+				EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA.equals(key) &&
+				value instanceof Map &&
+				existingValue instanceof Map
+			) {
+				if (!hasSameSharedEntries((Map<?, ?>) existingValue, (Map<?, ?>) value)) {
+					return false;
+				}
+			} else if (!isSameValue(existingValue, value)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Merges the top-level entries of {@code source} into {@code target}, except for
+	 * {@code contextdata} maps, whose entries are merged the same way. Callers check
+	 * {@link #canMerge(Map, Map)} first, so no existing value is replaced.
+	 *
+	 * @param target the merged detail
+	 * @param source the consequence detail to merge
+	 */
+	@VisibleForTesting
+	static void mergeDetail(final Map<String, Object> target, final Map<String, Object> source) {
+		for (Map.Entry<String, Object> entry : source.entrySet()) {
+			final String key = entry.getKey();
+			final Object value = entry.getValue();
+			final Object existingValue = target.get(key);
+
+			if (
+				EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA.equals(key) &&
+				value instanceof Map &&
+				existingValue instanceof Map
+			) {
+				final Map<Object, Object> mergedContextData = new HashMap<>((Map<?, ?>) existingValue);
+				mergedContextData.putAll((Map<?, ?>) value);
+				target.put(key, mergedContextData);
+			} else {
+				target.put(key, value);
+			}
+		}
+	}
+
+	private static boolean hasSameSharedEntries(final Map<?, ?> target, final Map<?, ?> source) {
+		for (Map.Entry<?, ?> entry : source.entrySet()) {
+			if (target.containsKey(entry.getKey()) && !isSameValue(target.get(entry.getKey()), entry.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSameValue(final Object value, final Object otherValue) {
+		return value == null ? otherValue == null : value.equals(otherValue);
+	}
+
+	/**
+	 * The consequences collected for one parent event.
+	 */
+	private static final class Group {
+
+		private final String consequenceId;
+		private final Event consequenceEvent;
+		private final String customerPerspective;
+		private final long receivedNanos;
+		private Map<String, Object> detail;
+		private int count = 1;
+		private ScheduledFuture<?> scheduledFlush;
+
+		Group(
+			final Map<String, Object> detail,
+			final String consequenceId,
+			final Event consequenceEvent,
+			final String customerPerspective,
+			final long receivedNanos
+		) {
+			this.detail = detail;
+			this.consequenceId = consequenceId;
+			this.consequenceEvent = consequenceEvent;
+			this.customerPerspective = customerPerspective;
+			this.receivedNanos = receivedNanos;
+		}
+
+		void merge(final Map<String, Object> otherDetail) {
+			if (count == 1) {
+				// The first detail is event data owned by the consequence event, so copy it before merging
+				detail = new HashMap<>(detail);
+			}
+			mergeDetail(detail, otherDetail);
+			count++;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the formatted data of Analytics rule consequences by consequence id, so a rule firing
+ * again with the same detail does not format it again.
+ * <p>
+ * A template is only reused if the consequence detail equals the one it was formatted from, as the
+ * rules engine may expand tokens in the detail differently each time a rule fires, and if it was
+ * formatted with the same {@link EdgeBridgeConfiguration} snapshot. Templates are kept per customer
+ * perspective and are cleared when the rules engine is reset. Cached data is
+ * shared between events and must not be modified. Safe to use from concurrent callers.
+ */
+class ConsequenceTemplates {
+
+	private final ConcurrentHashMap<String, Template> templates = new ConcurrentHashMap<>();
+	private final int capacity;
+
+	ConsequenceTemplates() {
+		this(EdgeBridgeConstants.CacheLimits.CONSEQUENCE_TEMPLATES);
+	}
+
+	@VisibleForTesting
+	ConsequenceTemplates(final int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * @param consequenceId the rule consequence id
+	 * @param detail the rule consequence detail
+	 * @param customerPerspective the customer perspective the data is formatted for
+	 * @param configuration the settings snapshot the data is formatted with
+	 * @return the formatted data for the consequence, or null if not cached for these inputs
+	 */
+	@Nullable FormattedData get(
+		@NonNull final String consequenceId,
+		@NonNull final Map<String, Object> detail,
+		@Nullable final String customerPerspective,
+		@NonNull final EdgeBridgeConfiguration configuration
+	) {
+		final Template template = templates.get(consequenceId);
+		if (template == null || !template.matches(detail, configuration)) {
+			return null;
+		}
+		return template.formattedData.get(customerPerspective);
+	}
+
+	/**
+	 * Caches the formatted data for the consequence. A template formatted from a different detail
+	 * or settings snapshot is replaced. Nothing is cached once the capacity is reached, until the templates are cleared.
+	 *
+	 * @param consequenceId the rule consequence id
+	 * @param detail the rule consequence detail the data was formatted from
+	 * @param customerPerspective the customer perspective the data was formatted for
+	 * @param configuration the settings snapshot the data was formatted with
+	 * @param formattedData the formatted data, which must not be modified afterwards
+	 */
+	void put(
+		@NonNull final String consequenceId,
+		@NonNull final Map<String, Object> detail,
+		@Nullable final String customerPerspective,
+		@NonNull final EdgeBridgeConfiguration configuration,
+		@NonNull final FormattedData formattedData
+	) {
+		final Template template = templates.get(consequenceId);
+		if (template == null && templates.size() >= capacity) {
+			return;
+		}
+
+		final Map<String, FormattedData> variants = new HashMap<>();
+		if (template != null && template.matches(detail, configuration)) {
+			variants.putAll(template.formattedData);
+		}
+		variants.put(customerPerspective, formattedData);
+		templates.put(consequenceId, new Template(detail, configuration, variants));
+	}
+
+	/**
+	 * Removes all templates, for example when a new rule set or configuration is loaded.
+	 */
+	void clear() {
+		templates.clear();
+	}
+
+	@VisibleForTesting
+	int size() {
+		return templates.size();
+	}
+
+	/**
+	 * Immutable formatted data variants of a consequence detail, keyed by customer perspective.
+	 */
+	private static final class Template {
+
+		private final Map<String, Object> detail;
+		private final EdgeBridgeConfiguration configuration;
+		private final Map<String, FormattedData> formattedData;
+
+		Template(
+			final Map<String, Object> detail,
+			final EdgeBridgeConfiguration configuration,
+			final Map<String, FormattedData> formattedData
+		) {
+			this.detail = detail;
+			this.configuration = configuration;
+			this.formattedData = formattedData;
+		}
+
+		boolean matches(final Map<String, Object> otherDetail, final EdgeBridgeConfiguration otherConfiguration) {
+			return configuration == otherConfiguration && (detail == otherDetail || detail.equals(otherDetail));
+		}
+	}
+}
@@ -0,0 +1,187 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects track requests and rule consequences repeated within a short time window.
+ * <p>
+ * Requests are identified by a 64-bit fingerprint of their payload and consequence id, so the
+ * memory used does not depend on the payload size and no payload is kept after it is bridged. Equal
+ * payloads always have the same fingerprint, while different payloads share one with negligible
+ * probability. The fingerprints of the most recently bridged requests are kept in a fixed-size ring,
+ * oldest first, together with the time they were bridged. A request is recorded only once it passed
+ * every other check, so requests which were dropped never make a later equal request a duplicate.
+ * When the ring is full, the oldest entry is replaced. Accessed only from the event hub thread.
+ */
+class DuplicateFilter {
+
+	private static final long MAP_SEED = 0x9e3779b97f4a7c15L;
+	private static final long SEQUENCE_SEED = 0xc2b2ae3d27d4eb4fL;
+
+	private final long[] fingerprints;
+	private final long[] bridgedNanos;
+
+	private boolean enabled = EdgeBridgeConstants.Defaults.DEDUP_ENABLED;
+	private long windowNanos = TimeUnit.MILLISECONDS.toNanos(EdgeBridgeConstants.Defaults.DEDUP_WINDOW_MILLISECONDS);
+	private int head;
+	private int size;
+
+	DuplicateFilter() {
+		this(EdgeBridgeConstants.BufferLimits.DEDUP_ENTRIES);
+	}
+
+	@VisibleForTesting
+	DuplicateFilter(final int capacity) {
+		fingerprints = new long[capacity];
+		bridgedNanos = new long[capacity];
+	}
+
+	/**
+	 * Updates the de-duplication settings. Disabling de-duplication forgets all bridged requests.
+	 *
+	 * @param configuration the current {@link EdgeBridgeConfiguration}
+	 */
+	void configure(@NonNull final EdgeBridgeConfiguration configuration) {
+		enabled = configuration.isDedupEnabled();
+		windowNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getDedupWindowMilliseconds());
+
+		if (!enabled) {
+			head = 0;
+			size = 0;
+		}
+	}
+
+	/**
+	 * Computes the fingerprint which identifies a request.
+	 *
+	 * @param payload the track event data or consequence detail
+	 * @param consequenceId the rule consequence id, or null for track requests
+	 * @return the fingerprint, or 0 without reading the payload if de-duplication is disabled
+	 */
+	long fingerprint(@NonNull final Object payload, @Nullable final String consequenceId) {
+		if (!enabled) {
+			return 0L;
+		}
+		return mix(hash(payload) * 31 + (consequenceId == null ? 0 : consequenceId.hashCode()));
+	}
+
+	/**
+	 * Checks whether a request with the same fingerprint was bridged within the window.
+	 *
+	 * @param fingerprint the fingerprint returned by {@link #fingerprint(Object, String)}
+	 * @param receivedNanos the {@link System#nanoTime()} at which the event was received
+	 * @return true if the request is a duplicate and should not be bridged
+	 */
+	boolean isDuplicate(final long fingerprint, final long receivedNanos) {
+		if (!enabled) {
+			return false;
+		}
+
+		// Scan from the newest entry, stopping at the first one outside the window
+		for (int i = 0; i < size; i++) {
+			final int index = (head + size - 1 - i) % fingerprints.length;
+			if (receivedNanos - bridgedNanos[index] > windowNanos) {
+				break;
+			}
+			if (fingerprints[index] == fingerprint) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Remembers a request which is bridged.
+	 *
+	 * @param fingerprint the fingerprint returned by {@link #fingerprint(Object, String)}
+	 * @param receivedNanos the {@link System#nanoTime()} at which the event was received
+	 */
+	void record(final long fingerprint, final long receivedNanos) {
+		if (!enabled) {
+			return;
+		}
+
+		final int capacity = fingerprints.length;
+		final int index;
+		if (size < capacity) {
+			index = (head + size) % capacity;
+			size++;
+		} else {
+			index = head;
+			head = (head + 1) % capacity;
+		}
+		fingerprints[index] = fingerprint;
+		bridgedNanos[index] = receivedNanos;
+	}
+
+	/**
+	 * Hashes a payload value to 64 bits. Map entries are combined independently of their iteration
+	 * order, so equal maps have the same hash.
+	 *
+	 * @param value the payload value
+	 * @return the 64-bit hash
+	 */
+	private static long hash(final Object value) {
+		if (value == null) {
+			return 0L;
+		}
+
+		if (value instanceof Map) {
+			long entriesHash = 0L;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				entriesHash += mix(hash(entry.getKey()) * 31 + hash(entry.getValue()));
+			}
+			return mix(entriesHash + MAP_SEED * ((Map<?, ?>) value).size());
+		}
+
+		if (value instanceof Collection) {
+			long sequenceHash = SEQUENCE_SEED;
+			for (Object element : (Collection<?>) value) {
+				sequenceHash = mix(sequenceHash * 31 + hash(element));
+			}
+			return sequenceHash;
+		}
+
+		if (value.getClass().isArray()) {
+			long sequenceHash = SEQUENCE_SEED;
+			final int length = Array.getLength(value);
+			for (int i = 0; i < length; i++) {
+				sequenceHash = mix(sequenceHash * 31 + hash(Array.get(value, i)));
+			}
+			return sequenceHash;
+		}
+
+		// Strings cache their hash code, so repeated values are only read once
+		if (value instanceof String) {
+			return mix(((long) ((String) value).length() << 32) ^ (value.hashCode() & 0xffffffffL));
+		}
+		return mix(value.hashCode());
+	}
+
+	/**
+	 * The 64-bit finalizer of MurmurHash3, which spreads every input bit over the output.
+	 */
+	private static long mix(final long value) {
+		long mixed = value;
+		mixed = (mixed ^ (mixed >>> 33)) * 0xff51afd7ed558ccdL;
+		mixed = (mixed ^ (mixed >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return mixed ^ (mixed >>> 33);
+	}
+}
@@ -11,9 +11,19 @@
 
 package com.adobe.marketing.mobile.edge.bridge;
 
+import static com.adobe.marketing.mobile.edge.bridge.EdgeBridgeConstants.LOG_TAG;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.AdobeCallback;
+import com.adobe.marketing.mobile.AdobeCallbackWithError;
+import com.adobe.marketing.mobile.AdobeError;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventSource;
 import com.adobe.marketing.mobile.Extension;
 import com.adobe.marketing.mobile.MobileCore;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.util.DataReader;
 import java.util.Map;
 
 /**
@@ -26,6 +36,8 @@ import java.util.Map;
  * and {@link MobileCore#trackAction(String, Map)} calls to the Adobe Edge Network. The configured
  * Data Collection datastream for the mobile application can define a mapping of the track event's
  * {@code contextdata} to an XDM schema using Data Prep for Data Collection.</li>
+ * <li>Sends typed track requests built with {@link TrackRequest.Builder} to the Adobe Edge Network
+ * using {@link #track(TrackRequest)}.</li>
  * </ul>
  */
 public class EdgeBridge {
@@ -42,4 +54,124 @@ public class EdgeBridge {
 	@NonNull public static String extensionVersion() {
 		return EdgeBridgeConstants.EXTENSION_VERSION;
 	}
+
+	/**
+	 * Retrieves the Edge Bridge runtime metrics.
+	 * <p>
+	 * The metrics contain the number of events received per listener ({@code received}), the number of
+	 * events not bridged per reason ({@code dropped}), the number of Edge request events dispatched
+	 * ({@code dispatched}), the number of rule consequences merged into an earlier request
+	 * ({@code coalesced}), the number of events whose data was truncated ({@code truncated}), a histogram
+	 * of the time from receiving an event to dispatching its Edge request event ({@code latency}), and the
+	 * outcomes of the configured traffic limits ({@code limits}). The metrics are not published as shared
+	 * state.
+	 * <p>
+	 * If the callback is an instance of {@link AdobeCallbackWithError}, {@link AdobeCallbackWithError#fail(AdobeError)}
+	 * is called when the request times out or the response is invalid.
+	 *
+	 * @param callback {@link AdobeCallback} of {@code Map<String, Object>} invoked with the metrics snapshot
+	 */
+	public static void getMetrics(@NonNull final AdobeCallback<Map<String, Object>> callback) {
+		if (callback == null) {
+			Log.debug(LOG_TAG, LOG_SOURCE, "Unexpected null callback, provide a callback to retrieve the metrics.");
+			return;
+		}
+
+		final Event event = new Event.Builder(
+			EdgeBridgeConstants.EventNames.GET_METRICS_REQUEST,
+			EdgeBridgeConstants.EventTypes.EDGE_BRIDGE,
+			EventSource.REQUEST_CONTENT
+		)
+			.build();
+
+		final AdobeCallbackWithError<Event> callbackWithError = new AdobeCallbackWithError<Event>() {
+			@Override
+			public void fail(final AdobeError adobeError) {
+				returnError(callback, adobeError);
+				Log.warning(
+					LOG_TAG,
+					LOG_SOURCE,
+					"Failed to dispatch the get metrics request event due to an error: %s",
+					adobeError.getErrorName()
+				);
+			}
+
+			@Override
+			public void call(final Event responseEvent) {
+				final Map<String, Object> metrics = DataReader.optTypedMap(
+					Object.class,
+					responseEvent == null ? null : responseEvent.getEventData(),
+					EdgeBridgeConstants.EventDataKeys.METRICS,
+					null
+				);
+
+				if (metrics == null) {
+					returnError(callback, AdobeError.UNEXPECTED_ERROR);
+					return;
+				}
+
+				callback.call(metrics);
+			}
+		};
+
+		MobileCore.dispatchEventWithResponseCallback(
+			event,
+			EdgeBridgeConstants.API_CALLBACK_TIMEOUT_MILLIS,
+			callbackWithError
+		);
+	}
+
+	/**
+	 * Sends a track request to the Edge Network.
+	 * <p>
+	 * The request is handled like a {@link MobileCore#trackAction(String, Map)} or
+	 * {@link MobileCore#trackState(String, Map)} call with the same action or state name and context
+	 * data, where the Analytics variables are set as {@code &&} prefixed context data keys. The request
+	 * data is carried by the dispatched event, so it is copied by the event hub like the data of a
+	 * track call, and can be inspected and matched by rules. Its values were validated when it was
+	 * built, so unless context data keys are filtered or mapped by the configuration, the Edge Bridge
+	 * extension copies them once into the Edge request without routing each key. Unlike a track call,
+	 * the request is only sent by the Edge Bridge extension; it is not processed by the Analytics
+	 * extension.
+	 *
+	 * @param request the {@link TrackRequest} to send
+	 */
+	public static void track(@NonNull final TrackRequest request) {
+		if (request == null || request.isEmpty()) {
+			Log.debug(LOG_TAG, LOG_SOURCE, "Unexpected null or empty track request, provide an action, state or data.");
+			return;
+		}
+
+		final Event event = new Event.Builder(
+			EdgeBridgeConstants.EventNames.TRACK_REQUEST,
+			EdgeBridgeConstants.EventTypes.EDGE_BRIDGE,
+			EdgeBridgeConstants.EventSources.REQUEST_TRACK
+		)
+			.setEventData(request.toEventData())
+			.build();
+
+		MobileCore.dispatchEvent(event);
+	}
+
+	/**
+	 * Registers a predicate deciding which track calls are bridged to the Edge Network.
+	 * <p>
+	 * The predicate is applied to the track calls selected by the {@code edgebridge.bridgeTrack},
+	 * {@code edgebridge.bridgeRulesEngine}, {@code edgebridge.bridgeActions} and
+	 * {@code edgebridge.bridgeStates} configuration settings. Calls it rejects are not bridged.
+	 *
+	 * @param predicate the {@link BridgePredicate}, or null to bridge all calls selected by the configuration
+	 */
+	public static void setBridgePredicate(@Nullable final BridgePredicate predicate) {
+		BridgeSelector.setRegisteredPredicate(predicate);
+	}
+
+	/**
+	 * Calls {@link AdobeCallbackWithError#fail(AdobeError)} if the callback is an {@link AdobeCallbackWithError}.
+	 */
+	private static void returnError(final AdobeCallback<?> callback, final AdobeError error) {
+		if (callback instanceof AdobeCallbackWithError) {
+			((AdobeCallbackWithError<?>) callback).fail(error);
+		}
+	}
 }
@@ -0,0 +1,347 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.util.DataReader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the Edge Bridge settings read from the Configuration shared state.
+ * <p>
+ * The extension publishes the current snapshot through a single volatile field, so each stage of the
+ * bridging path reads all settings consistently with one volatile read.
+ */
+final class EdgeBridgeConfiguration {
+
+	static final EdgeBridgeConfiguration DEFAULT = new EdgeBridgeConfiguration(
+		EdgeBridgeConstants.Defaults.ENABLED,
+		EdgeBridgeConstants.Defaults.SAMPLE_RATE,
+		PayloadAdmission.UNLIMITED,
+		KeyFilter.EMPTY,
+		KeyFilter.EMPTY,
+		MappingPlan.DEFAULT,
+		BridgeSelector.DEFAULT,
+		EdgeBridgeConstants.Defaults.WORKER_ENABLED,
+		EdgeBridgeConstants.Defaults.WORKER_QUEUE_SIZE,
+		EdgeBridgeWorker.OverflowPolicy.DROP_NEWEST,
+		EdgeBridgeConstants.Defaults.COALESCE_ENABLED,
+		EdgeBridgeConstants.Defaults.COALESCE_WINDOW_MILLISECONDS,
+		EdgeBridgeConstants.Defaults.DEDUP_ENABLED,
+		EdgeBridgeConstants.Defaults.DEDUP_WINDOW_MILLISECONDS,
+		Collections.<String, TrafficLimiter.Limit>emptyMap(),
+		Collections.<String, TrafficLimiter.Limit>emptyMap(),
+		null
+	);
+
+	private final boolean enabled;
+	private final double sampleRate;
+	private final PayloadAdmission payloadAdmission;
+	private final KeyFilter allowedKeys;
+	private final KeyFilter deniedKeys;
+	private final MappingPlan mappingPlan;
+	private final BridgeSelector bridgeSelector;
+	private final boolean workerEnabled;
+	private final int workerQueueSize;
+	private final EdgeBridgeWorker.OverflowPolicy workerOverflowPolicy;
+	private final boolean coalesceEnabled;
+	private final long coalesceWindowMilliseconds;
+	private final boolean dedupEnabled;
+	private final long dedupWindowMilliseconds;
+	private final Map<String, TrafficLimiter.Limit> actionLimits;
+	private final Map<String, TrafficLimiter.Limit> stateLimits;
+	private final TrafficLimiter.Limit rulesEngineLimit;
+
+	private EdgeBridgeConfiguration(
+		final boolean enabled,
+		final double sampleRate,
+		final PayloadAdmission payloadAdmission,
+		final KeyFilter allowedKeys,
+		final KeyFilter deniedKeys,
+		final MappingPlan mappingPlan,
+		final BridgeSelector bridgeSelector,
+		final boolean workerEnabled,
+		final int workerQueueSize,
+		final EdgeBridgeWorker.OverflowPolicy workerOverflowPolicy,
+		final boolean coalesceEnabled,
+		final long coalesceWindowMilliseconds,
+		final boolean dedupEnabled,
+		final long dedupWindowMilliseconds,
+		final Map<String, TrafficLimiter.Limit> actionLimits,
+		final Map<String, TrafficLimiter.Limit> stateLimits,
+		final TrafficLimiter.Limit rulesEngineLimit
+	) {
+		this.enabled = enabled;
+		this.sampleRate = sampleRate;
+		this.payloadAdmission = payloadAdmission;
+		this.allowedKeys = allowedKeys;
+		this.deniedKeys = deniedKeys;
+		this.mappingPlan = mappingPlan;
+		this.bridgeSelector = bridgeSelector;
+		this.workerEnabled = workerEnabled;
+		this.workerQueueSize = workerQueueSize;
+		this.workerOverflowPolicy = workerOverflowPolicy;
+		this.coalesceEnabled = coalesceEnabled;
+		this.coalesceWindowMilliseconds = coalesceWindowMilliseconds;
+		this.dedupEnabled = dedupEnabled;
+		this.dedupWindowMilliseconds = dedupWindowMilliseconds;
+		this.actionLimits = actionLimits;
+		this.stateLimits = stateLimits;
+		this.rulesEngineLimit = rulesEngineLimit;
+	}
+
+	/**
+	 * Creates a snapshot from the Configuration shared state. Missing or invalid settings use their
+	 * default values and numeric settings are clamped to their allowed range.
+	 *
+	 * @param configuration the Configuration shared state value, may be null
+	 * @return the {@link EdgeBridgeConfiguration} snapshot
+	 */
+	@NonNull static EdgeBridgeConfiguration fromConfiguration(@Nullable final Map<String, Object> configuration) {
+		if (configuration == null || configuration.isEmpty()) {
+			return DEFAULT;
+		}
+
+		final boolean enabled = DataReader.optBoolean(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.ENABLED,
+			EdgeBridgeConstants.Defaults.ENABLED
+		);
+		final double sampleRate = DataReader.optDouble(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.SAMPLE_RATE,
+			EdgeBridgeConstants.Defaults.SAMPLE_RATE
+		);
+		final boolean workerEnabled = DataReader.optBoolean(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.WORKER_ENABLED,
+			EdgeBridgeConstants.Defaults.WORKER_ENABLED
+		);
+		final int workerQueueSize = DataReader.optInt(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.WORKER_QUEUE_SIZE,
+			EdgeBridgeConstants.Defaults.WORKER_QUEUE_SIZE
+		);
+		final EdgeBridgeWorker.OverflowPolicy workerOverflowPolicy = EdgeBridgeWorker.OverflowPolicy.fromString(
+			DataReader.optString(configuration, EdgeBridgeConstants.ConfigurationKeys.WORKER_OVERFLOW_POLICY, null)
+		);
+		final boolean coalesceEnabled = DataReader.optBoolean(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.COALESCE_ENABLED,
+			EdgeBridgeConstants.Defaults.COALESCE_ENABLED
+		);
+		final long coalesceWindow = DataReader.optLong(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.COALESCE_WINDOW,
+			EdgeBridgeConstants.Defaults.COALESCE_WINDOW_MILLISECONDS
+		);
+		final boolean dedupEnabled = DataReader.optBoolean(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.DEDUP_ENABLED,
+			EdgeBridgeConstants.Defaults.DEDUP_ENABLED
+		);
+		final long dedupWindow = DataReader.optLong(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.DEDUP_WINDOW,
+			EdgeBridgeConstants.Defaults.DEDUP_WINDOW_MILLISECONDS
+		);
+		final TrafficLimiter.Limit rulesEngineLimit = TrafficLimiter.Limit.fromMap(
+			DataReader.optTypedMap(
+				Object.class,
+				configuration,
+				EdgeBridgeConstants.ConfigurationKeys.RULES_ENGINE_LIMIT,
+				null
+			)
+		);
+
+		return new EdgeBridgeConfiguration(
+			enabled,
+			Math.max(0, Math.min(1, sampleRate)),
+			PayloadAdmission.fromConfiguration(configuration),
+			KeyFilter.compile(
+				DataReader.optTypedList(Object.class, configuration, EdgeBridgeConstants.ConfigurationKeys.ALLOWED_KEYS, null)
+			),
+			KeyFilter.compile(
+				DataReader.optTypedList(Object.class, configuration, EdgeBridgeConstants.ConfigurationKeys.DENIED_KEYS, null)
+			),
+			MappingPlan.compile(
+				DataReader.optTypedListOfMap(
+					Object.class,
+					configuration,
+					EdgeBridgeConstants.ConfigurationKeys.MAPPING_RULES,
+					null
+				)
+			),
+			BridgeSelector.fromConfiguration(configuration),
+			workerEnabled,
+			(int) clamp(workerQueueSize, 1, EdgeBridgeConstants.Defaults.MAX_WORKER_QUEUE_SIZE),
+			workerOverflowPolicy,
+			coalesceEnabled,
+			clamp(coalesceWindow, 0, EdgeBridgeConstants.Defaults.MAX_COALESCE_WINDOW_MILLISECONDS),
+			dedupEnabled,
+			clamp(dedupWindow, 0, EdgeBridgeConstants.Defaults.MAX_DEDUP_WINDOW_MILLISECONDS),
+			readLimits(configuration, EdgeBridgeConstants.ConfigurationKeys.ACTION_LIMITS),
+			readLimits(configuration, EdgeBridgeConstants.ConfigurationKeys.STATE_LIMITS),
+			rulesEngineLimit
+		);
+	}
+
+	/**
+	 * @return false if bridging is switched off remotely, in which case received events are dropped
+	 */
+	boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return the fraction, from 0 to 1, of received events which are bridged
+	 */
+	double getSampleRate() {
+		return sampleRate;
+	}
+
+	/**
+	 * @return the limits on the key count, depth and estimated size of the data of a bridged event
+	 */
+	@NonNull PayloadAdmission getPayloadAdmission() {
+		return payloadAdmission;
+	}
+
+	/**
+	 * @return the patterns of the context data keys which are bridged; if empty, all keys not denied are bridged
+	 */
+	@NonNull KeyFilter getAllowedKeys() {
+		return allowedKeys;
+	}
+
+	/**
+	 * @return the patterns of the context data keys which are never bridged
+	 */
+	@NonNull KeyFilter getDeniedKeys() {
+		return deniedKeys;
+	}
+
+	/**
+	 * @return the context data mapping plan compiled from the configured mapping rules
+	 */
+	@NonNull MappingPlan getMappingPlan() {
+		return mappingPlan;
+	}
+
+	/**
+	 * @return the selection of the track calls which are bridged
+	 */
+	@NonNull BridgeSelector getBridgeSelector() {
+		return bridgeSelector;
+	}
+
+	/**
+	 * @return true if bridged events are formatted on the Edge Bridge worker thread instead of the event hub thread
+	 */
+	boolean isWorkerEnabled() {
+		return workerEnabled;
+	}
+
+	/**
+	 * @return the maximum number of bridged events waiting to be formatted by the worker
+	 */
+	int getWorkerQueueSize() {
+		return workerQueueSize;
+	}
+
+	/**
+	 * @return the policy applied when a bridged event is received while the worker queue is full
+	 */
+	@NonNull EdgeBridgeWorker.OverflowPolicy getWorkerOverflowPolicy() {
+		return workerOverflowPolicy;
+	}
+
+	/**
+	 * @return true if Analytics rule consequences triggered by the same parent event are merged into one request
+	 */
+	boolean isCoalesceEnabled() {
+		return coalesceEnabled;
+	}
+
+	/**
+	 * @return the time, in milliseconds, consequences triggered by the same parent event are collected
+	 */
+	long getCoalesceWindowMilliseconds() {
+		return coalesceWindowMilliseconds;
+	}
+
+	/**
+	 * @return true if track requests and rule consequences repeated within the de-duplication window are dropped
+	 */
+	boolean isDedupEnabled() {
+		return dedupEnabled;
+	}
+
+	/**
+	 * @return the time, in milliseconds, during which a repeated payload is considered a duplicate
+	 */
+	long getDedupWindowMilliseconds() {
+		return dedupWindowMilliseconds;
+	}
+
+	/**
+	 * @return the sampling and rate limits keyed by track action name
+	 */
+	@NonNull Map<String, TrafficLimiter.Limit> getActionLimits() {
+		return actionLimits;
+	}
+
+	/**
+	 * @return the sampling and rate limits keyed by track state name
+	 */
+	@NonNull Map<String, TrafficLimiter.Limit> getStateLimits() {
+		return stateLimits;
+	}
+
+	/**
+	 * @return the sampling and rate limit applied to rules engine events, or null if not limited
+	 */
+	@Nullable TrafficLimiter.Limit getRulesEngineLimit() {
+		return rulesEngineLimit;
+	}
+
+	/**
+	 * Reads a map of names to {@link TrafficLimiter.Limit} configurations, skipping invalid entries.
+	 */
+	private static Map<String, TrafficLimiter.Limit> readLimits(
+		final Map<String, Object> configuration,
+		final String key
+	) {
+		final Map<String, Object> limitsConfiguration = DataReader.optTypedMap(Object.class, configuration, key, null);
+		if (limitsConfiguration == null || limitsConfiguration.isEmpty()) {
+			return Collections.emptyMap();
+		}
+
+		final Map<String, TrafficLimiter.Limit> limits = new HashMap<>();
+		for (Map.Entry<String, Object> entry : limitsConfiguration.entrySet()) {
+			final TrafficLimiter.Limit limit = TrafficLimiter.Limit.fromMap(
+				DataReader.optTypedMap(Object.class, limitsConfiguration, entry.getKey(), null)
+			);
+			if (limit != null) {
+				limits.put(entry.getKey(), limit);
+			}
+		}
+		return Collections.unmodifiableMap(limits);
+	}
+
+	private static long clamp(final long value, final long min, final long max) {
+		return Math.max(min, Math.min(max, value));
+	}
+}
@@ -19,6 +19,42 @@ final class EdgeBridgeConstants {
 	static final String EXTENSION_NAME = "com.adobe.edge.bridge";
 	static final String FRIENDLY_NAME = "Edge Bridge";
 	static final String EXTENSION_VERSION = "3.0.1";
+	static final long API_CALLBACK_TIMEOUT_MILLIS = 5000L;
+
+	final class LifecycleKeys {
+
+		static final String ACTION = "action";
+
+		private LifecycleKeys() {}
+	}
+
+	final class LifecycleValues {
+
+		static final String PAUSE = "pause";
+		static final String START = "start";
+
+		private LifecycleValues() {}
+	}
+
+	final class MetricsKeys {
+
+		static final String ACTIONS = "actions";
+		static final String BUCKETS = "buckets";
+		static final String COALESCED = "coalesced";
+		static final String TRUNCATED = "truncated";
+		static final String COUNT = "count";
+		static final String DISPATCHED = "dispatched";
+		static final String DROPPED = "dropped";
+		static final String LATENCY = "latency";
+		static final String LIMITS = "limits";
+		static final String PASSED = "passed";
+		static final String RECEIVED = "received";
+		static final String RULES_ENGINE = "rulesEngine";
+		static final String STATES = "states";
+		static final String SUM_MICROSECONDS = "sumMicroseconds";
+
+		private MetricsKeys() {}
+	}
 
 	final class MobileCoreKeys {
 
@@ -53,13 +89,176 @@ final class EdgeBridgeConstants {
 		private AnalyticsValues() {}
 	}
 
+	final class ConfigurationKeys {
+
+		static final String ENABLED = "edgebridge.enabled";
+		static final String SAMPLE_RATE = "edgebridge.sampleRate";
+		static final String MAX_PAYLOAD_BYTES = "edgebridge.maxPayloadBytes";
+		static final String MAX_PAYLOAD_KEYS = "edgebridge.maxPayloadKeys";
+		static final String MAX_PAYLOAD_DEPTH = "edgebridge.maxPayloadDepth";
+		static final String OVERSIZE_POLICY = "edgebridge.oversizePolicy";
+		static final String ALLOWED_KEYS = "edgebridge.allowedKeys";
+		static final String DENIED_KEYS = "edgebridge.deniedKeys";
+		static final String MAPPING_RULES = "edgebridge.mappingRules";
+		static final String BRIDGE_TRACK = "edgebridge.bridgeTrack";
+		static final String BRIDGE_RULES_ENGINE = "edgebridge.bridgeRulesEngine";
+		static final String BRIDGE_ACTIONS = "edgebridge.bridgeActions";
+		static final String BRIDGE_STATES = "edgebridge.bridgeStates";
+		static final String WORKER_ENABLED = "edgebridge.workerEnabled";
+		static final String WORKER_QUEUE_SIZE = "edgebridge.workerQueueSize";
+		static final String WORKER_OVERFLOW_POLICY = "edgebridge.workerOverflowPolicy";
+		static final String COALESCE_ENABLED = "edgebridge.coalesceEnabled";
+		static final String COALESCE_WINDOW = "edgebridge.coalesceWindow";
+		static final String DEDUP_ENABLED = "edgebridge.dedupEnabled";
+		static final String DEDUP_WINDOW = "edgebridge.dedupWindow";
+		static final String ACTION_LIMITS = "edgebridge.actionLimits";
+		static final String STATE_LIMITS = "edgebridge.stateLimits";
+		static final String RULES_ENGINE_LIMIT = "edgebridge.rulesEngineLimit";
+
+		private ConfigurationKeys() {}
+	}
+
+	final class MappingKeys {
+
+		static final String KEY = "key";
+		static final String PREFIX = "prefix";
+		static final String TO = "to";
+		static final String AS = "as";
+
+		private MappingKeys() {}
+	}
+
+	final class LimitKeys {
+
+		static final String SAMPLE_RATE = "sampleRate";
+		static final String RATE_PER_SECOND = "ratePerSecond";
+		static final String BURST = "burst";
+
+		private LimitKeys() {}
+	}
+
+	final class Defaults {
+
+		static final boolean ENABLED = true;
+		static final double SAMPLE_RATE = 1.0;
+		static final long MAX_PAYLOAD_BYTES = 0L;
+		static final long MAX_MAX_PAYLOAD_BYTES = 1024 * 1024L;
+		static final int MAX_PAYLOAD_KEYS = 0;
+		static final int MAX_MAX_PAYLOAD_KEYS = 10000;
+		static final int MAX_PAYLOAD_DEPTH = 0;
+		static final int MAX_MAX_PAYLOAD_DEPTH = 64;
+		static final boolean BRIDGE_TRACK = true;
+		static final boolean BRIDGE_RULES_ENGINE = true;
+		static final boolean WORKER_ENABLED = false;
+		static final int WORKER_QUEUE_SIZE = 100;
+		static final int MAX_WORKER_QUEUE_SIZE = 1000;
+		static final boolean COALESCE_ENABLED = false;
+		static final long COALESCE_WINDOW_MILLISECONDS = 50L;
+		static final long MAX_COALESCE_WINDOW_MILLISECONDS = 1000L;
+		static final boolean DEDUP_ENABLED = false;
+		static final long DEDUP_WINDOW_MILLISECONDS = 500L;
+		static final long MAX_DEDUP_WINDOW_MILLISECONDS = 10000L;
+
+		private Defaults() {}
+	}
+
+	final class BufferLimits {
+
+		static final int CAPACITY = 100;
+		static final long MAX_BYTES = 512 * 1024L;
+		static final int COALESCE_GROUPS = 16;
+		static final int DEDUP_ENTRIES = 64;
+
+		private BufferLimits() {}
+	}
+
+	final class CacheLimits {
+
+		static final int CONSEQUENCE_TEMPLATES = 100;
+		static final int INTERNED_KEYS = 256;
+		static final int INTERNED_KEY_LENGTH = 64;
+		static final int INTERNED_VALUES = 256;
+		static final int INTERNED_VALUE_LENGTH = 32;
+		static final int MAX_SIZE_HINT = 64;
+
+		private CacheLimits() {}
+	}
+
+	final class ConsentKeys {
+
+		static final String COLLECT = "collect";
+		static final String CONSENTS = "consents";
+		static final String VALUE = "val";
+
+		private ConsentKeys() {}
+	}
+
+	final class ConsentValues {
+
+		static final String NO = "n";
+
+		private ConsentValues() {}
+	}
+
+	final class EventDataKeys {
+
+		static final String METRICS = "metrics";
+		static final String STATE_OWNER = "stateowner";
+
+		private EventDataKeys() {}
+	}
+
 	final class EventNames {
 
 		static final String EDGE_BRIDGE_REQUEST = "Edge Bridge Request";
+		static final String GET_METRICS_REQUEST = "Edge Bridge Get Metrics Request";
+		static final String METRICS_RESPONSE = "Edge Bridge Metrics Response";
+		static final String TRACK_REQUEST = "Edge Bridge Track Request";
 
 		private EventNames() {}
 	}
 
+	final class SharedState {
+
+		static final String CONFIGURATION = "com.adobe.module.configuration";
+		static final String CONSENT = "com.adobe.edge.consent";
+		static final String EDGE = "com.adobe.edge";
+		static final String EVENT_HUB = "com.adobe.module.eventhub";
+
+		private SharedState() {}
+	}
+
+	final class EventHubKeys {
+
+		static final String EXTENSIONS = "extensions";
+
+		private EventHubKeys() {}
+	}
+
+	final class EventSources {
+
+		static final String REQUEST_TRACK = "com.adobe.eventSource.requestTrack";
+
+		private EventSources() {}
+	}
+
+	final class EventTypes {
+
+		static final String EDGE_BRIDGE = "com.adobe.eventType.edgeBridge";
+
+		private EventTypes() {}
+	}
+
+	final class JsonKeys {
+
+		static final String DATA = "data";
+		static final String EVENT_TYPE = "eventType";
+		static final String TIMESTAMP = "timestamp";
+		static final String XDM = "xdm";
+
+		private JsonKeys() {}
+	}
+
 	final class JsonValues {
 
 		static final String EVENT_TYPE = "analytics.track";
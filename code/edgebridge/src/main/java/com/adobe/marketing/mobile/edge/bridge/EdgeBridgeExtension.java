@@ -21,13 +21,12 @@ import com.adobe.marketing.mobile.EventSource;
 import com.adobe.marketing.mobile.EventType;
 import com.adobe.marketing.mobile.Extension;
 import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.SharedStateResolution;
+import com.adobe.marketing.mobile.SharedStateResult;
+import com.adobe.marketing.mobile.SharedStateStatus;
 import com.adobe.marketing.mobile.services.Log;
-import com.adobe.marketing.mobile.util.CloneFailedException;
 import com.adobe.marketing.mobile.util.DataReader;
-import com.adobe.marketing.mobile.util.EventDataUtils;
 import com.adobe.marketing.mobile.util.StringUtils;
-import com.adobe.marketing.mobile.util.TimeUtils;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,8 +34,34 @@ class EdgeBridgeExtension extends Extension {
 
 	private static final String LOG_SOURCE = "EdgeBridgeExtension";
 
+	// Depth of the pass-through values in the Edge request event data, under the "data" map
+	private static final int PASS_THROUGH_DEPTH = 2;
+
+	private final EdgeBridgeMetrics metrics = new EdgeBridgeMetrics();
+	private final EdgeBridgeWorker edgeBridgeWorker = new EdgeBridgeWorker(metrics);
+	private final EdgeEventBuffer edgeEventBuffer;
+	private final ConsentGate consentGate = new ConsentGate();
+	private final ConsequenceTemplates consequenceTemplates = new ConsequenceTemplates();
+	private final DuplicateFilter duplicateFilter = new DuplicateFilter();
+	private final TrafficLimiter trafficLimiter = new TrafficLimiter(metrics);
+	private final InternTable<String> contextDataValues = new InternTable<>(
+		EdgeBridgeConstants.CacheLimits.INTERNED_VALUES,
+		EdgeBridgeConstants.CacheLimits.INTERNED_VALUE_LENGTH
+	);
+	private final SizeHint analyticsDataSize = new SizeHint(EdgeBridgeConstants.CacheLimits.MAX_SIZE_HINT);
+	private final SizeHint contextDataSize = new SizeHint(EdgeBridgeConstants.CacheLimits.MAX_SIZE_HINT);
+
+	// Current settings snapshot; each stage of the bridging path reads it once
+	private volatile EdgeBridgeConfiguration configuration = EdgeBridgeConfiguration.DEFAULT;
+	private final ConsequenceCoalescer consequenceCoalescer = new ConsequenceCoalescer(
+		this::dispatchTrackRequest,
+		edgeBridgeWorker::executeAfterPending,
+		metrics
+	);
+
 	protected EdgeBridgeExtension(final ExtensionApi extensionApi) {
 		super(extensionApi);
+		edgeEventBuffer = new EdgeEventBuffer(extensionApi, metrics);
 	}
 
 	@NonNull @Override
@@ -63,6 +88,340 @@ class EdgeBridgeExtension extends Extension {
 				EventSource.RESPONSE_CONTENT,
 				this::handleRulesEngineResponse
 			);
+		getApi()
+			.registerEventListener(EventType.RULES_ENGINE, EventSource.REQUEST_RESET, this::handleRulesEngineReset);
+		getApi()
+			.registerEventListener(
+				EventType.GENERIC_LIFECYCLE,
+				EventSource.REQUEST_CONTENT,
+				this::handleLifecycleRequest
+			);
+		getApi()
+			.registerEventListener(
+				EventType.CONFIGURATION,
+				EventSource.RESPONSE_CONTENT,
+				this::handleConfigurationResponse
+			);
+		getApi()
+			.registerEventListener(
+				EdgeBridgeConstants.EventTypes.EDGE_BRIDGE,
+				EventSource.REQUEST_CONTENT,
+				this::handleMetricsRequest
+			);
+		getApi()
+			.registerEventListener(
+				EdgeBridgeConstants.EventTypes.EDGE_BRIDGE,
+				EdgeBridgeConstants.EventSources.REQUEST_TRACK,
+				this::handleTypedTrackRequest
+			);
+		getApi().registerEventListener(EventType.HUB, EventSource.SHARED_STATE, this::handleSharedStateUpdate);
+	}
+
+	@Override
+	protected void onUnregistered() {
+		edgeBridgeWorker.shutdown();
+		consequenceCoalescer.shutdown();
+	}
+
+	/**
+	 * Handles Rules Engine reset events, dispatched when a new rule set is loaded, by clearing the
+	 * cached {@link ConsequenceTemplates}.
+	 * @param event the rules engine reset event
+	 */
+	void handleRulesEngineReset(@NonNull final Event event) {
+		consequenceTemplates.clear();
+	}
+
+	/**
+	 * Handles Configuration response events to update the Edge Bridge settings snapshot.
+	 * @param event the configuration response event
+	 */
+	void handleConfigurationResponse(@NonNull final Event event) {
+		final SharedStateResult configurationState = getApi()
+			.getSharedState(EdgeBridgeConstants.SharedState.CONFIGURATION, event, false, SharedStateResolution.ANY);
+
+		if (configurationState == null || configurationState.getStatus() != SharedStateStatus.SET) {
+			return;
+		}
+
+		final EdgeBridgeConfiguration configuration = EdgeBridgeConfiguration.fromConfiguration(
+			configurationState.getValue()
+		);
+		this.configuration = configuration;
+		// Templates were formatted with the previous key filters
+		consequenceTemplates.clear();
+		edgeBridgeWorker.configure(configuration);
+		consequenceCoalescer.configure(configuration);
+		duplicateFilter.configure(configuration);
+		trafficLimiter.configure(configuration);
+	}
+
+	/**
+	 * Handles shared state updates to detect when the Edge extension is registered and to cache the
+	 * collect consent.
+	 * @param event the hub shared state event
+	 */
+	void handleSharedStateUpdate(@NonNull final Event event) {
+		final String stateOwner = DataReader.optString(
+			event.getEventData(),
+			EdgeBridgeConstants.EventDataKeys.STATE_OWNER,
+			null
+		);
+
+		if (EdgeBridgeConstants.SharedState.EVENT_HUB.equals(stateOwner)) {
+			if (!edgeEventBuffer.isReady()) {
+				updateEdgeReadiness(event);
+			}
+		} else if (EdgeBridgeConstants.SharedState.CONSENT.equals(stateOwner)) {
+			updateConsent(event);
+		}
+	}
+
+	/**
+	 * Reads the collect consent from the Consent shared state.
+	 * @param event the event used to read the Consent shared state
+	 */
+	private void updateConsent(@NonNull final Event event) {
+		final SharedStateResult consentState = getApi()
+			.getXDMSharedState(EdgeBridgeConstants.SharedState.CONSENT, event, false, SharedStateResolution.LAST_SET);
+
+		final boolean consentStateSet = consentState != null && consentState.getStatus() == SharedStateStatus.SET;
+
+		consentGate.update(consentStateSet ? consentState.getValue() : null);
+	}
+
+	/**
+	 * Checks the cached collect consent, reading it on first use, and counts the event as dropped if
+	 * the user denied collect consent.
+	 * @param event the event being handled
+	 * @return true if collect consent is denied and the event should not be bridged
+	 */
+	private boolean isCollectConsentDenied(@NonNull final Event event) {
+		if (!consentGate.isLoaded()) {
+			updateConsent(event);
+		}
+
+		if (!consentGate.isDenied()) {
+			return false;
+		}
+
+		Log.trace(
+			LOG_TAG,
+			LOG_SOURCE,
+			"Ignoring event with id '%s': collect consent is denied.",
+			event.getUniqueIdentifier()
+		);
+		metrics.recordDropped(EdgeBridgeMetrics.DropReason.CONSENT_DENIED);
+		return true;
+	}
+
+	/**
+	 * Checks the {@link DuplicateFilter} and counts the event as dropped if an equal payload was
+	 * bridged within the de-duplication window.
+	 * @param fingerprint the {@link DuplicateFilter#fingerprint(Object, String)} of the request
+	 * @param event the event being handled
+	 * @param receivedNanos the {@link System#nanoTime()} at which the event was received
+	 * @return true if the event is a duplicate and should not be bridged
+	 */
+	private boolean isDuplicateRequest(final long fingerprint, @NonNull final Event event, final long receivedNanos) {
+		if (!duplicateFilter.isDuplicate(fingerprint, receivedNanos)) {
+			return false;
+		}
+
+		Log.trace(
+			LOG_TAG,
+			LOG_SOURCE,
+			"Ignoring event with id '%s': an equal event was bridged within the de-duplication window.",
+			event.getUniqueIdentifier()
+		);
+		metrics.recordDropped(EdgeBridgeMetrics.DropReason.DUPLICATE);
+		return true;
+	}
+
+	/**
+	 * Counts the event as dropped if bridging is switched off in the configuration.
+	 * @param configuration the current settings snapshot
+	 * @param event the event being handled
+	 * @return true if bridging is disabled and the event should not be bridged
+	 */
+	private boolean isBridgingDisabled(
+		@NonNull final EdgeBridgeConfiguration configuration,
+		@NonNull final Event event
+	) {
+		if (configuration.isEnabled()) {
+			return false;
+		}
+
+		Log.trace(
+			LOG_TAG,
+			LOG_SOURCE,
+			"Ignoring event with id '%s': bridging is disabled by configuration.",
+			event.getUniqueIdentifier()
+		);
+		metrics.recordDropped(EdgeBridgeMetrics.DropReason.DISABLED);
+		return true;
+	}
+
+	/**
+	 * Counts the event as dropped if the configuration or the registered {@link BridgePredicate} does
+	 * not select it for bridging.
+	 * @param configuration the current settings snapshot
+	 * @param action the raw track action name, may be null
+	 * @param state the raw track state name, may be null
+	 * @param isRuleConsequence true if the event is a rule consequence
+	 * @param event the event being handled
+	 * @return true if the event should not be bridged
+	 */
+	private boolean isNotSelected(
+		@NonNull final EdgeBridgeConfiguration configuration,
+		final String action,
+		final String state,
+		final boolean isRuleConsequence,
+		@NonNull final Event event
+	) {
+		if (configuration.getBridgeSelector().select(action, state, isRuleConsequence)) {
+			return false;
+		}
+
+		Log.trace(
+			LOG_TAG,
+			LOG_SOURCE,
+			"Ignoring event with id '%s': not selected for bridging.",
+			event.getUniqueIdentifier()
+		);
+		metrics.recordDropped(EdgeBridgeMetrics.DropReason.NOT_SELECTED);
+		return true;
+	}
+
+	/**
+	 * Applies the configured payload limits to the event data before it is copied. Data within the
+	 * limits is admitted unchanged. Oversized data is rejected or truncated according to the
+	 * configured policy, and the outcome is counted.
+	 * @param data the track event data or consequence detail
+	 * @param configuration the current settings snapshot
+	 * @param event the event being handled
+	 * @return the payload to bridge, or null if the data is rejected
+	 */
+	private Map<String, Object> admitPayload(
+		@NonNull final Map<String, Object> data,
+		@NonNull final EdgeBridgeConfiguration configuration,
+		@NonNull final Event event
+	) {
+		final PayloadAdmission payloadAdmission = configuration.getPayloadAdmission();
+		if (payloadAdmission.fits(data)) {
+			return data;
+		}
+
+		final Map<String, Object> payload = payloadAdmission.fit(data);
+		if (payload == null) {
+			Log.debug(
+				LOG_TAG,
+				LOG_SOURCE,
+				"Ignoring event with id '%s': event data exceeds the configured payload limits.",
+				event.getUniqueIdentifier()
+			);
+			metrics.recordDropped(EdgeBridgeMetrics.DropReason.PAYLOAD_TOO_LARGE);
+			return null;
+		}
+
+		Log.debug(
+			LOG_TAG,
+			LOG_SOURCE,
+			"Event with id '%s' exceeds the configured payload limits, truncating its data.",
+			event.getUniqueIdentifier()
+		);
+		metrics.recordTruncated();
+		return payload;
+	}
+
+	/**
+	 * Counts the event as dropped if the {@link TrafficLimiter} suppressed it.
+	 * @param reason the reason returned by the {@link TrafficLimiter}, or null if the event passed
+	 * @param event the event being handled
+	 * @return true if the event is suppressed and should not be bridged
+	 */
+	private boolean isSuppressed(final EdgeBridgeMetrics.DropReason reason, @NonNull final Event event) {
+		if (reason == null) {
+			return false;
+		}
+
+		Log.trace(
+			LOG_TAG,
+			LOG_SOURCE,
+			"Ignoring event with id '%s': suppressed by sampling or rate limit.",
+			event.getUniqueIdentifier()
+		);
+		metrics.recordDropped(reason);
+		return true;
+	}
+
+	/**
+	 * Checks the Event Hub shared state for the Edge extension and, once it is registered, releases
+	 * the events held in the {@link EdgeEventBuffer}.
+	 * @param event the event used to read the Event Hub shared state
+	 */
+	private void updateEdgeReadiness(@NonNull final Event event) {
+		final SharedStateResult eventHubState = getApi()
+			.getSharedState(EdgeBridgeConstants.SharedState.EVENT_HUB, event, false, SharedStateResolution.ANY);
+
+		if (eventHubState == null || eventHubState.getStatus() != SharedStateStatus.SET) {
+			return;
+		}
+
+		final Map<String, Object> extensions = DataReader.optTypedMap(
+			Object.class,
+			eventHubState.getValue(),
+			EdgeBridgeConstants.EventHubKeys.EXTENSIONS,
+			null
+		);
+
+		if (extensions != null && extensions.containsKey(EdgeBridgeConstants.SharedState.EDGE)) {
+			edgeEventBuffer.setReady();
+		}
+	}
+
+	/**
+	 * Handles Edge Bridge metrics requests by dispatching the current metrics in a response event.
+	 * @param event the Edge Bridge metrics request event
+	 */
+	void handleMetricsRequest(@NonNull final Event event) {
+		final Map<String, Object> metricsSnapshot = metrics.snapshot();
+
+		final Map<String, Object> responseData = new HashMap<>();
+		responseData.put(EdgeBridgeConstants.EventDataKeys.METRICS, metricsSnapshot);
+
+		final Event responseEvent = new Event.Builder(
+			EdgeBridgeConstants.EventNames.METRICS_RESPONSE,
+			EdgeBridgeConstants.EventTypes.EDGE_BRIDGE,
+			EventSource.RESPONSE_CONTENT
+		)
+			.setEventData(responseData)
+			.inResponseToEvent(event)
+			.build();
+
+		getApi().dispatch(responseEvent);
+	}
+
+	/**
+	 * Handles Lifecycle start and pause events to cache the customer perspective, which track events
+	 * then use instead of reading the application state.
+	 * @param event the generic lifecycle request event
+	 */
+	void handleLifecycleRequest(@NonNull final Event event) {
+		final String action = DataReader.optString(
+			event.getEventData(),
+			EdgeBridgeConstants.LifecycleKeys.ACTION,
+			null
+		);
+
+		if (EdgeBridgeConstants.LifecycleValues.START.equals(action)) {
+			EdgeBridgeProperties.setCustomerPerspective(EdgeBridgeConstants.AnalyticsValues.APP_STATE_FOREGROUND);
+		} else if (EdgeBridgeConstants.LifecycleValues.PAUSE.equals(action)) {
+			EdgeBridgeProperties.setCustomerPerspective(EdgeBridgeConstants.AnalyticsValues.APP_STATE_BACKGROUND);
+			// Dispatch coalesced events before the application goes to the background, after any
+			// events still waiting for the worker
+			edgeBridgeWorker.executeAfterPending(consequenceCoalescer::flush);
+		}
 	}
 
 	/**
@@ -70,6 +429,14 @@ class EdgeBridgeExtension extends Extension {
 	 * @param event the generic track request event
 	 */
 	void handleTrackRequest(@NonNull final Event event) {
+		final long receivedNanos = System.nanoTime();
+		metrics.recordReceived(EdgeBridgeMetrics.Source.TRACK);
+		final EdgeBridgeConfiguration configuration = this.configuration;
+
+		if (isBridgingDisabled(configuration, event) || isCollectConsentDenied(event)) {
+			return;
+		}
+
 		final Map<String, Object> eventData = event.getEventData();
 
 		if (isNullOrEmpty(eventData)) {
@@ -79,10 +446,102 @@ class EdgeBridgeExtension extends Extension {
 				"Unable to handle track request event with id '%s': event data is missing or empty.",
 				event.getUniqueIdentifier()
 			);
+			metrics.recordDropped(EdgeBridgeMetrics.DropReason.EMPTY_DATA);
+			return;
+		}
+
+		final String action = DataReader.optString(eventData, EdgeBridgeConstants.MobileCoreKeys.ACTION, null);
+		final String state = DataReader.optString(eventData, EdgeBridgeConstants.MobileCoreKeys.STATE, null);
+
+		if (
+			isNotSelected(configuration, action, state, false, event) ||
+			isSuppressed(trafficLimiter.checkTrack(action, state, configuration.getSampleRate(), receivedNanos), event)
+		) {
+			return;
+		}
+
+		final Map<String, Object> payload = admitPayload(eventData, configuration, event);
+		if (payload == null) {
+			return;
+		}
+
+		final long fingerprint = duplicateFilter.fingerprint(eventData, null);
+		if (isDuplicateRequest(fingerprint, event, receivedNanos)) {
+			return;
+		}
+
+		duplicateFilter.record(fingerprint, receivedNanos);
+		submitTrackRequest(payload, null, event, receivedNanos);
+	}
+
+	/**
+	 * Handles track requests sent with {@link EdgeBridge#track(TrackRequest)}. The request is read
+	 * from the event data, which the event hub already copied, without validating or copying it
+	 * again, and goes through the same checks as track events.
+	 * @param event the Edge Bridge track request event
+	 */
+	void handleTypedTrackRequest(@NonNull final Event event) {
+		final long receivedNanos = System.nanoTime();
+		metrics.recordReceived(EdgeBridgeMetrics.Source.TRACK);
+		final EdgeBridgeConfiguration configuration = this.configuration;
+
+		final Map<String, Object> eventData = event.getEventData();
+		final String action = DataReader.optString(eventData, EdgeBridgeConstants.MobileCoreKeys.ACTION, null);
+		final String state = DataReader.optString(eventData, EdgeBridgeConstants.MobileCoreKeys.STATE, null);
+		final Object contextData = eventData != null
+			? eventData.get(EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA)
+			: null;
+
+		if (
+			StringUtils.isNullOrEmpty(action) &&
+			StringUtils.isNullOrEmpty(state) &&
+			!(contextData instanceof Map && !((Map<?, ?>) contextData).isEmpty())
+		) {
+			Log.trace(
+				LOG_TAG,
+				LOG_SOURCE,
+				"Unable to handle track request event with id '%s': the track request is missing or empty.",
+				event.getUniqueIdentifier()
+			);
+			metrics.recordDropped(EdgeBridgeMetrics.DropReason.EMPTY_DATA);
+			return;
+		}
+
+		if (
+			isBridgingDisabled(configuration, event) ||
+			isCollectConsentDenied(event) ||
+			isNotSelected(configuration, action, state, false, event) ||
+			isSuppressed(trafficLimiter.checkTrack(action, state, configuration.getSampleRate(), receivedNanos), event)
+		) {
 			return;
 		}
 
-		dispatchTrackRequest(eventData, event);
+		// Requests exceeding the payload limits are fitted like track event data
+		final PayloadAdmission payloadAdmission = configuration.getPayloadAdmission();
+		Map<String, Object> payload = null;
+		if (!payloadAdmission.isUnlimited() && !payloadAdmission.fits(eventData)) {
+			payload = admitPayload(eventData, configuration, event);
+			if (payload == null) {
+				return;
+			}
+		}
+
+		final long fingerprint = duplicateFilter.fingerprint(eventData, null);
+		if (isDuplicateRequest(fingerprint, event, receivedNanos)) {
+			return;
+		}
+
+		duplicateFilter.record(fingerprint, receivedNanos);
+		if (payload != null) {
+			submitTrackRequest(payload, null, event, receivedNanos);
+			return;
+		}
+
+		if (!edgeEventBuffer.isReady()) {
+			updateEdgeReadiness(event);
+		}
+		final String customerPerspective = EdgeBridgeProperties.getCustomerPerspective();
+		edgeBridgeWorker.execute(() -> dispatchTypedTrackRequest(eventData, event, customerPerspective, receivedNanos));
 	}
 
 	/**
@@ -90,6 +549,14 @@ class EdgeBridgeExtension extends Extension {
 	 * @param event the rules engine response event
 	 */
 	void handleRulesEngineResponse(@NonNull final Event event) {
+		final long receivedNanos = System.nanoTime();
+		metrics.recordReceived(EdgeBridgeMetrics.Source.RULES_ENGINE);
+		final EdgeBridgeConfiguration configuration = this.configuration;
+
+		if (isBridgingDisabled(configuration, event)) {
+			return;
+		}
+
 		final Map<String, Object> eventData = event.getEventData();
 
 		if (isNullOrEmpty(eventData)) {
@@ -99,6 +566,7 @@ class EdgeBridgeExtension extends Extension {
 				"Ignoring Rules Engine response event with id '%s': event data is missing or empty.",
 				event.getUniqueIdentifier()
 			);
+			metrics.recordDropped(EdgeBridgeMetrics.DropReason.EMPTY_DATA);
 			return;
 		}
 
@@ -116,6 +584,7 @@ class EdgeBridgeExtension extends Extension {
 				"Ignoring Rule Engine response event with id '%s': consequence data is invalid or empty.",
 				event.getUniqueIdentifier()
 			);
+			metrics.recordDropped(EdgeBridgeMetrics.DropReason.INVALID_CONSEQUENCE);
 			return;
 		}
 
@@ -123,6 +592,11 @@ class EdgeBridgeExtension extends Extension {
 
 		if (!"an".equals(type)) {
 			// Not an Analytics rules consequence
+			metrics.recordDropped(EdgeBridgeMetrics.DropReason.NOT_ANALYTICS_CONSEQUENCE);
+			return;
+		}
+
+		if (isCollectConsentDenied(event)) {
 			return;
 		}
 
@@ -135,6 +609,7 @@ class EdgeBridgeExtension extends Extension {
 				"Ignoring Rule Engine response event with id '%s': consequence id is invalid or empty.",
 				event.getUniqueIdentifier()
 			);
+			metrics.recordDropped(EdgeBridgeMetrics.DropReason.MISSING_CONSEQUENCE_ID);
 			return;
 		}
 
@@ -147,24 +622,147 @@ class EdgeBridgeExtension extends Extension {
 				"Ignoring Rule Engine response event with id '%s': consequence detail is invalid or empty.",
 				event.getUniqueIdentifier()
 			);
+			metrics.recordDropped(EdgeBridgeMetrics.DropReason.MISSING_CONSEQUENCE_DETAIL);
 			return;
 		}
 
-		dispatchTrackRequest(detail, event);
+		if (
+			isNotSelected(
+				configuration,
+				DataReader.optString(detail, EdgeBridgeConstants.MobileCoreKeys.ACTION, null),
+				DataReader.optString(detail, EdgeBridgeConstants.MobileCoreKeys.STATE, null),
+				true,
+				event
+			) ||
+			isSuppressed(trafficLimiter.checkRulesEngine(configuration.getSampleRate(), receivedNanos), event)
+		) {
+			return;
+		}
+
+		final Map<String, Object> payload = admitPayload(detail, configuration, event);
+		if (payload == null) {
+			return;
+		}
+
+		final long fingerprint = duplicateFilter.fingerprint(detail, id);
+		if (isDuplicateRequest(fingerprint, event, receivedNanos)) {
+			return;
+		}
+
+		duplicateFilter.record(fingerprint, receivedNanos);
+		submitTrackRequest(payload, id, event, receivedNanos);
+	}
+
+	/**
+	 * Hands the track data to the {@link EdgeBridgeWorker}, which formats and dispatches it either on
+	 * the worker thread or on the calling thread, depending on the configuration.
+	 * The customer perspective is captured here so it reflects the Lifecycle events received before
+	 * the parent event.
+	 * While events are still buffered, this also checks whether the Edge extension has registered.
+	 * Rule consequences with a parent event are passed to the {@link ConsequenceCoalescer} when
+	 * coalescing is enabled.
+	 *
+	 * @param data map containing free-form data to send to Edge Network
+	 * @param consequenceId the rule consequence id if the data is a consequence detail, otherwise null
+	 * @param parentEvent the triggering parent event
+	 * @param receivedNanos the {@link System#nanoTime()} at which the parent event was received
+	 */
+	private void submitTrackRequest(
+		final Map<String, Object> data,
+		final String consequenceId,
+		final Event parentEvent,
+		final long receivedNanos
+	) {
+		if (!edgeEventBuffer.isReady()) {
+			updateEdgeReadiness(parentEvent);
+		}
+
+		final String customerPerspective = EdgeBridgeProperties.getCustomerPerspective();
+		final String coalesceParentId = consequenceId != null && consequenceCoalescer.isEnabled()
+			? parentEvent.getParentID()
+			: null;
+		final Runnable request;
+
+		if (coalesceParentId != null) {
+			request =
+				() ->
+					consequenceCoalescer.add(
+						coalesceParentId,
+						data,
+						consequenceId,
+						parentEvent,
+						customerPerspective,
+						receivedNanos
+					);
+		} else {
+			request = () -> dispatchTrackRequest(data, consequenceId, parentEvent, customerPerspective, receivedNanos);
+		}
+
+		edgeBridgeWorker.execute(request);
 	}
 
 	/**
 	 * Helper to create and dispatch an experience event.
 	 *
 	 * Track events will not be dispatched in any of the following cases:
-	 * 1. Deep copy of the event data map fails.
+	 * 1. The pass-through event data cannot be copied into the Edge request event data.
 	 * 2. Event data map does not have any data or valid action/state.
 	 *
 	 * @param data map containing free-form data to send to Edge Network
+	 * @param consequenceId the rule consequence id if the data is a consequence detail, otherwise null
 	 * @param parentEvent the triggering parent event used for event chaining; its timestamp is set as xdm.timestamp
+	 * @param customerPerspective the customer perspective captured when the parent event was received
+	 * @param receivedNanos the {@link System#nanoTime()} at which the parent event was received
 	 */
-	private void dispatchTrackRequest(final Map<String, Object> data, final Event parentEvent) {
-		Map<String, Object> formattedData = formatData(data);
+	private void dispatchTrackRequest(
+		final Map<String, Object> data,
+		final String consequenceId,
+		final Event parentEvent,
+		final String customerPerspective,
+		final long receivedNanos
+	) {
+		final EdgeBridgeConfiguration configuration = this.configuration;
+		dispatchFormattedData(
+			formatTrackData(data, consequenceId, customerPerspective, configuration),
+			parentEvent,
+			receivedNanos
+		);
+	}
+
+	/**
+	 * Helper to create and dispatch an experience event from a typed track request.
+	 *
+	 * @param eventData the track request event data
+	 * @param parentEvent the Edge Bridge track request event used for event chaining
+	 * @param customerPerspective the customer perspective captured when the parent event was received
+	 * @param receivedNanos the {@link System#nanoTime()} at which the parent event was received
+	 */
+	private void dispatchTypedTrackRequest(
+		final Map<String, Object> eventData,
+		final Event parentEvent,
+		final String customerPerspective,
+		final long receivedNanos
+	) {
+		final EdgeBridgeConfiguration configuration = this.configuration;
+		dispatchFormattedData(
+			formatTypedData(eventData, customerPerspective, configuration),
+			parentEvent,
+			receivedNanos
+		);
+	}
+
+	/**
+	 * Creates the experience event for the formatted data and passes it on for dispatch.
+	 *
+	 * @param formattedData the formatted data, or null if there was no mappable data
+	 * @param parentEvent the triggering parent event used for event chaining; its timestamp is set as xdm.timestamp
+	 * @param receivedNanos the {@link System#nanoTime()} at which the parent event was received
+	 */
+	private void dispatchFormattedData(
+		final FormattedData formattedData,
+		final Event parentEvent,
+		final long receivedNanos
+	) {
 		if (formattedData == null) {
 			Log.warning(
 				LOG_TAG,
@@ -176,13 +774,10 @@ class EdgeBridgeExtension extends Extension {
 			return;
 		}
 
-		Map<String, Object> xdmData = new HashMap<>();
-		xdmData.put("eventType", EdgeBridgeConstants.JsonValues.EVENT_TYPE);
-		xdmData.put("timestamp", TimeUtils.getISO8601UTCDateWithMilliseconds(new Date(parentEvent.getTimestamp())));
-
-		Map<String, Object> eventData = new HashMap<>();
-		eventData.put("xdm", xdmData);
-		eventData.put("data", formattedData);
+		final Map<String, Object> eventData = EdgeEnvelope.create(
+			formattedData,
+			TimestampFormatter.format(parentEvent.getTimestamp())
+		);
 
 		final Event event = new Event.Builder(
 			EdgeBridgeConstants.EventNames.EDGE_BRIDGE_REQUEST,
@@ -193,7 +788,129 @@ class EdgeBridgeExtension extends Extension {
 			.setEventData(eventData)
 			.build();
 
-		getApi().dispatch(event);
+		edgeEventBuffer.add(event, receivedNanos);
+	}
+
+	/**
+	 * Formats the track data, reusing the cached template of a rule consequence if it was already
+	 * formatted from the same detail, customer perspective and settings snapshot.
+	 *
+	 * @param data map containing free-form data to send to Edge Network
+	 * @param consequenceId the rule consequence id if the data is a consequence detail, otherwise null
+	 * @param customerPerspective the customer perspective to set as {@code __adobe.analytics.cp}
+	 * @param configuration the settings snapshot to format with
+	 * @return data formatted for the Analytics Edge translator, or {@code null} if there is no data to send;
+	 * the returned data may be shared with other events and must not be modified
+	 */
+	private FormattedData formatTrackData(
+		final Map<String, Object> data,
+		final String consequenceId,
+		final String customerPerspective,
+		final EdgeBridgeConfiguration configuration
+	) {
+		if (consequenceId == null) {
+			return formatData(data, customerPerspective, configuration);
+		}
+
+		final FormattedData template = consequenceTemplates.get(
+			consequenceId,
+			data,
+			customerPerspective,
+			configuration
+		);
+		if (template != null) {
+			return template;
+		}
+
+		final FormattedData formattedData = formatData(data, customerPerspective, configuration);
+		if (formattedData != null) {
+			consequenceTemplates.put(consequenceId, data, customerPerspective, configuration, formattedData);
+		}
+		return formattedData;
+	}
+
+	/**
+	 * Formats a typed track request to the Analytics Edge translator format, as {@link #formatData(Map)}
+	 * formats the equivalent track event data. The request was validated when it was built, so unless
+	 * context data keys are filtered or mapped by the configuration, its context data is copied once
+	 * into the output, splitting the {@code &&} prefixed Analytics variables from the context data,
+	 * without routing each key. Entries which are not strings are skipped.
+	 *
+	 * @param eventData the track request event data, which is only read
+	 * @param customerPerspective the customer perspective to set as {@code __adobe.analytics.cp}
+	 * @param configuration the settings snapshot to format with
+	 * @return data formatted for the Analytics Edge translator, or {@code null} if there is no data to send
+	 */
+	private FormattedData formatTypedData(
+		final Map<String, Object> eventData,
+		final String customerPerspective,
+		final EdgeBridgeConfiguration configuration
+	) {
+		if (
+			!configuration.getAllowedKeys().isEmpty() ||
+			!configuration.getDeniedKeys().isEmpty() ||
+			!configuration.getMappingPlan().isDefault()
+		) {
+			// Filters and mapping rules match the full context data keys, including the && prefix
+			return formatData(eventData, customerPerspective, configuration);
+		}
+
+		final Map<String, Object> analyticsData = new CompactMap(analyticsDataSize.expectedSize());
+		final Object contextData = eventData.get(EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA);
+
+		if (contextData instanceof Map) {
+			final Map<?, ?> contextDataMap = (Map<?, ?>) contextData;
+			final int prefixLength = EdgeBridgeConstants.AnalyticsValues.PREFIX.length();
+			Map<String, Object> formattedContextData = null;
+
+			for (Map.Entry<?, ?> entry : contextDataMap.entrySet()) {
+				if (!(entry.getKey() instanceof String) || !(entry.getValue() instanceof String)) {
+					continue;
+				}
+
+				final String key = (String) entry.getKey();
+				if (key.startsWith(EdgeBridgeConstants.AnalyticsValues.PREFIX)) {
+					if (key.length() > prefixLength) {
+						analyticsData.put(key.substring(prefixLength), entry.getValue());
+					}
+				} else if (!key.isEmpty()) {
+					if (formattedContextData == null) {
+						// Sized for the application identifier added to it
+						formattedContextData = new CompactMap(contextDataMap.size() + 1);
+					}
+					formattedContextData.put(key, entry.getValue());
+				}
+			}
+
+			if (formattedContextData != null) {
+				analyticsData.put(EdgeBridgeConstants.AnalyticsKeys.CONTEXT_DATA, formattedContextData);
+			}
+		}
+
+		final String action = DataReader.optString(eventData, EdgeBridgeConstants.MobileCoreKeys.ACTION, null);
+		if (!StringUtils.isNullOrEmpty(action)) {
+			analyticsData.put(EdgeBridgeConstants.AnalyticsKeys.LINK_NAME, action);
+			analyticsData.put(EdgeBridgeConstants.AnalyticsKeys.LINK_TYPE, EdgeBridgeConstants.AnalyticsValues.OTHER);
+		}
+
+		final String state = DataReader.optString(eventData, EdgeBridgeConstants.MobileCoreKeys.STATE, null);
+		if (!StringUtils.isNullOrEmpty(state)) {
+			analyticsData.put(EdgeBridgeConstants.AnalyticsKeys.PAGE_NAME, state);
+		}
+
+		if (analyticsData.isEmpty()) {
+			metrics.recordDropped(EdgeBridgeMetrics.DropReason.NO_MAPPABLE_DATA);
+			return null;
+		}
+
+		addAnalyticsProperties(analyticsData, customerPerspective);
+		final Map<String, Object> adobeAnalytics = new CompactMap(1);
+		adobeAnalytics.put(EdgeBridgeConstants.AnalyticsKeys.ANALYTICS, analyticsData);
+		final Map<String, Object> data = new CompactMap(1);
+		data.put(EdgeBridgeConstants.AnalyticsKeys.ADOBE, adobeAnalytics);
+
+		analyticsDataSize.record(analyticsData.size());
+		return new FormattedData(data, null);
 	}
 
 	/**
@@ -242,59 +959,110 @@ class EdgeBridgeExtension extends Extension {
 	 */
 	@VisibleForTesting
 	Map<String, Object> formatData(final Map<String, Object> data) {
-		Map<String, Object> mutableData;
-
-		// Create a mutable copy of data - can throw exception if deep copy fails
-		try {
-			mutableData = EventDataUtils.clone(data);
-		} catch (CloneFailedException e) {
-			Log.warning(LOG_TAG, LOG_SOURCE, "Failed to format data due to map clone failure: " + e.getMessage());
-			return null;
-		}
+		final FormattedData formattedData = formatData(data, EdgeBridgeProperties.getCustomerPerspective(), configuration);
+		return formattedData != null ? formattedData.getData() : null;
+	}
 
+	/**
+	 * Formats track event data to the required Analytics Edge translator format.
+	 * See {@link #formatData(Map)} for the mapping logic.
+	 *
+	 * @param data track event data
+	 * @param customerPerspective the customer perspective to set as {@code __adobe.analytics.cp}
+	 * @param configuration the settings snapshot providing the context data key filters and mapping plan
+	 * @return data formatted for the Analytics Edge translator, with any fields moved into the xdm object,
+	 * or {@code null} if there is no data to send
+	 */
+	private FormattedData formatData(
+		final Map<String, Object> data,
+		final String customerPerspective,
+		final EdgeBridgeConfiguration configuration
+	) {
 		// If there is no data to format, early exit and return null
-		if (isNullOrEmpty(mutableData)) {
+		if (isNullOrEmpty(data)) {
+			metrics.recordDropped(EdgeBridgeMetrics.DropReason.NO_MAPPABLE_DATA);
 			return null;
 		}
 
-		// __adobe.analytics data container
-		Map<String, Object> analyticsData = new HashMap<>();
+		// Collect the pass-through entries; action, state and contextdata are remapped below and are
+		// read directly from the source map, so they are never copied as a whole
+		final Map<String, Object> passThroughData = new CompactMap(data.size());
+		for (Map.Entry<String, Object> entry : data.entrySet()) {
+			final String key = entry.getKey();
+			if (
+				!EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA.equals(key) &&
+				!EdgeBridgeConstants.MobileCoreKeys.ACTION.equals(key) &&
+				!EdgeBridgeConstants.MobileCoreKeys.STATE.equals(key)
+			) {
+				passThroughData.put(key, entry.getValue());
+			}
+		}
 
-		// Extract contextData
-		final Map<String, Object> extractedContextData = DataReader.optTypedMap(
-			Object.class,
-			mutableData,
-			EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA,
-			null
-		);
-		mutableData.remove(EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA);
+		// Extract contextData without copying it
+		final Object contextDataValue = data.get(EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA);
+		final Map<?, ?> extractedContextData = contextDataValue instanceof Map ? (Map<?, ?>) contextDataValue : null;
 
 		// Extract action
-		String actionValue = DataReader.optString(mutableData, EdgeBridgeConstants.MobileCoreKeys.ACTION, null);
-		mutableData.remove(EdgeBridgeConstants.MobileCoreKeys.ACTION);
+		String actionValue = DataReader.optString(data, EdgeBridgeConstants.MobileCoreKeys.ACTION, null);
 		// Extract state
-		String stateValue = DataReader.optString(mutableData, EdgeBridgeConstants.MobileCoreKeys.STATE, null);
-		mutableData.remove(EdgeBridgeConstants.MobileCoreKeys.STATE);
+		String stateValue = DataReader.optString(data, EdgeBridgeConstants.MobileCoreKeys.STATE, null);
 
 		boolean actionIsValid = !StringUtils.isNullOrEmpty(actionValue);
 		boolean stateIsValid = !StringUtils.isNullOrEmpty(stateValue);
 
 		// Check for required event payload conditions
-		// `mutableData` check is still required here because there can be properties outside of the
+		// `passThroughData` check is still required here because there can be properties outside of the
 		// remapped ones that would cause this to still be a valid event
-		if (isNullOrEmpty(mutableData) && isNullOrEmpty(extractedContextData) && !actionIsValid && !stateIsValid) {
+		if (
+			passThroughData.isEmpty() &&
+			(extractedContextData == null || extractedContextData.isEmpty()) &&
+			!actionIsValid &&
+			!stateIsValid
+		) {
+			metrics.recordDropped(EdgeBridgeMetrics.DropReason.NO_MAPPABLE_DATA);
 			return null;
 		}
 
-		if (!isNullOrEmpty(extractedContextData)) {
-			final Map<String, String> contextData = cleanContextData(extractedContextData);
-			Map<String, Object> prefixedData = new HashMap<>();
-			Map<String, Object> nonPrefixedData = new HashMap<>();
+		// The pass-through values are placed in the formatted data as-is, as the event builder deep-copies
+		// them into the Edge request, so the payload is copied once per event; check beforehand that the copy
+		// cannot fail, as values under "data" are nested one level deeper than in the source payload
+		for (Object value : passThroughData.values()) {
+			if (!EventDataValidator.canCopy(value, PASS_THROUGH_DEPTH)) {
+				Log.warning(
+					LOG_TAG,
+					LOG_SOURCE,
+					"Failed to format data as it contains values which cannot be copied into event data."
+				);
+				metrics.recordDropped(EdgeBridgeMetrics.DropReason.CLONE_FAILURE);
+				return null;
+			}
+		}
+		final Map<String, Object> mutableData = passThroughData;
+
+		// __adobe.analytics data container, sized from recent events so it does not resize
+		Map<String, Object> analyticsData = new CompactMap(analyticsDataSize.expectedSize());
 
-			for (Map.Entry<String, String> entry : contextData.entrySet()) {
-				String key = entry.getKey();
+		// Fields moved into the xdm object by mapping rules
+		Map<String, Object> xdmData = null;
+
+		if (extractedContextData != null && !extractedContextData.isEmpty()) {
+			Map<String, Object> nonPrefixedData = null;
+			final KeyFilter allowedKeys = configuration.getAllowedKeys();
+			final KeyFilter deniedKeys = configuration.getDeniedKeys();
+			final MappingPlan mappingPlan = configuration.getMappingPlan();
+
+			// Partition contextData in a single pass, routing each entry with the compiled mapping plan:
+			// by default, prefixed entries go directly into analyticsData and non-prefixed entries into contextData
+			for (Map.Entry<?, ?> entry : extractedContextData.entrySet()) {
 				Object value = entry.getValue();
 
+				// Remove entries with values which cannot be converted to String
+				if (!(value instanceof String)) {
+					continue;
+				}
+
+				String key = entry.getKey() instanceof String ? (String) entry.getKey() : null;
+
 				// Filter out invalid keys
 				if (StringUtils.isNullOrEmpty(key)) {
 					Log.debug(
@@ -308,37 +1076,70 @@ class EdgeBridgeExtension extends Extension {
 					);
 					continue;
 				}
-				// Check if the key starts with the specified prefix and add to corresponding map
-				if (key.startsWith(EdgeBridgeConstants.AnalyticsValues.PREFIX)) {
-					String newKey = key.substring(EdgeBridgeConstants.AnalyticsValues.PREFIX.length());
-					// After modifying key by removing prefix, filter out invalid keys
-					if (StringUtils.isNullOrEmpty(newKey)) {
+
+				// Drop keys filtered out by the configuration before they are copied
+				if (
+					(!allowedKeys.isEmpty() && !allowedKeys.matches(key)) ||
+					(!deniedKeys.isEmpty() && deniedKeys.matches(key))
+				) {
+					continue;
+				}
+
+				final MappingPlan.ResolvedKey resolvedKey = mappingPlan.resolve(key);
+
+				if (resolvedKey.getTarget() == MappingPlan.Target.DROP) {
+					continue;
+				}
+
+				// Reuse the canonical instance of common values of accepted keys, so the event's copy can be collected
+				value = internValue((String) value);
+
+				if (resolvedKey.getTarget() == MappingPlan.Target.XDM) {
+					final String[] xdmPath = resolvedKey.getXdmPath();
+					if (xdmPath == null) {
 						Log.debug(
 							LOG_TAG,
 							LOG_SOURCE,
-							"formatData - Dropping Key(" +
-							key +
-							" -> " +
-							newKey +
-							") with Value(" +
-							value +
-							"). Key must be a non-empty String."
+							"formatData - Dropping Key(" + key + ") with Value(" + value + "). XDM path is invalid."
 						);
 						continue;
 					}
-					prefixedData.put(newKey, value);
-				} else {
-					nonPrefixedData.put(key, value);
+					if (xdmData == null) {
+						xdmData = new CompactMap();
+					}
+					putPath(xdmData, xdmPath, value);
+					continue;
+				}
+
+				String newKey = resolvedKey.getOutputKey();
+				// After mapping the key, for example by removing its prefix, filter out invalid keys
+				if (StringUtils.isNullOrEmpty(newKey)) {
+					Log.debug(
+						LOG_TAG,
+						LOG_SOURCE,
+						"formatData - Dropping Key(" +
+						key +
+						" -> " +
+						newKey +
+						") with Value(" +
+						value +
+						"). Key must be a non-empty String."
+					);
+					continue;
 				}
-			}
 
-			// If there are prefixed data entries, add them to analyticsData
-			if (!prefixedData.isEmpty()) {
-				analyticsData.putAll(prefixedData);
+				if (resolvedKey.getTarget() == MappingPlan.Target.ANALYTICS) {
+					analyticsData.put(newKey, value);
+				} else {
+					if (nonPrefixedData == null) {
+						nonPrefixedData = new CompactMap(contextDataSize.expectedSize());
+					}
+					nonPrefixedData.put(newKey, value);
+				}
 			}
 
 			// If there are non-prefixed data entries, add them under the contextData key
-			if (!nonPrefixedData.isEmpty()) {
+			if (nonPrefixedData != null) {
 				analyticsData.put(EdgeBridgeConstants.AnalyticsKeys.CONTEXT_DATA, nonPrefixedData);
 			}
 		}
@@ -356,26 +1157,55 @@ class EdgeBridgeExtension extends Extension {
 
 		// If analyticsData is not empty, add it to mutableData under __adobe.analytics
 		if (!analyticsData.isEmpty()) {
-			addAnalyticsProperties(analyticsData);
-			Map<String, Object> adobeAnalytics = new HashMap<>();
+			addAnalyticsProperties(analyticsData, customerPerspective);
+			Map<String, Object> adobeAnalytics = new CompactMap(1);
 			adobeAnalytics.put(EdgeBridgeConstants.AnalyticsKeys.ANALYTICS, analyticsData);
 			mutableData.put(EdgeBridgeConstants.AnalyticsKeys.ADOBE, adobeAnalytics);
 		}
 
-		return mutableData;
+		analyticsDataSize.record(analyticsData.size());
+		final Object formattedContextData = analyticsData.get(EdgeBridgeConstants.AnalyticsKeys.CONTEXT_DATA);
+		if (formattedContextData instanceof Map) {
+			contextDataSize.record(((Map<?, ?>) formattedContextData).size());
+		}
+
+		return new FormattedData(mutableData, xdmData);
+	}
+
+	/**
+	 * Looks up the canonical instance of a context data value. Only values of keys which are bridged
+	 * are passed in, and values longer than {@link EdgeBridgeConstants.CacheLimits#INTERNED_VALUE_LENGTH}
+	 * are not held, so unique or filtered out values do not churn the table.
+	 *
+	 * @param value a context data value of an accepted key
+	 * @return the canonical instance of the value if it is common, otherwise the value itself
+	 */
+	private String internValue(final String value) {
+		final String canonicalValue = contextDataValues.get(value);
+		return canonicalValue != null ? canonicalValue : contextDataValues.put(value, value);
 	}
 
 	/**
-	 * Remove entries with values which cannot be converted to String.
+	 * Puts a value at the given path in a nested map, creating or replacing intermediate maps as needed.
+	 *
+	 * @param data the map to write to
+	 * @param path the keys of the path, from the outermost map
+	 * @param value the value to put
 	 */
-	private Map<String, String> cleanContextData(final Map<String, Object> eventData) {
-		Map<String, String> cleanedData = new HashMap<>();
-		for (Map.Entry<String, Object> entry : eventData.entrySet()) {
-			if (entry.getValue() instanceof String) {
-				cleanedData.put(entry.getKey(), (String) entry.getValue());
+	@SuppressWarnings("unchecked")
+	private static void putPath(final Map<String, Object> data, final String[] path, final Object value) {
+		Map<String, Object> current = data;
+		for (int i = 0; i < path.length - 1; i++) {
+			final Object child = current.get(path[i]);
+			if (child instanceof Map) {
+				current = (Map<String, Object>) child;
+			} else {
+				final Map<String, Object> childMap = new CompactMap();
+				current.put(path[i], childMap);
+				current = childMap;
 			}
 		}
-		return cleanedData;
+		current.put(path[path.length - 1], value);
 	}
 
 	/**
@@ -390,11 +1220,19 @@ class EdgeBridgeExtension extends Extension {
 	 */
 	@VisibleForTesting
 	void addAnalyticsProperties(final Map<String, Object> analyticsData) {
+		addAnalyticsProperties(analyticsData, EdgeBridgeProperties.getCustomerPerspective());
+	}
+
+	/**
+	 * Adds the Analytics properties to the given data map using the given customer perspective.
+	 * See {@link #addAnalyticsProperties(Map)}.
+	 *
+	 * @param analyticsData the Analytics data mutable map that will have Analytics properties added.
+	 * @param customerPerspective the customer perspective to set as {@code cp}
+	 */
+	private void addAnalyticsProperties(final Map<String, Object> analyticsData, final String customerPerspective) {
 		// Analytics original implementation: Customer perspective defaults to foreground when unknown and is always present
-		analyticsData.put(
-			EdgeBridgeConstants.AnalyticsKeys.CUSTOMER_PERSPECTIVE,
-			EdgeBridgeProperties.getCustomerPerspective()
-		);
+		analyticsData.put(EdgeBridgeConstants.AnalyticsKeys.CUSTOMER_PERSPECTIVE, customerPerspective);
 
 		// Analytics original implementation: AppID is only populated if it passes `StringUtils.isNullOrEmpty`
 		// Note that since AppID is the only property dependent on `contextData`, it being invalid
@@ -409,7 +1247,7 @@ class EdgeBridgeExtension extends Extension {
 			Object.class,
 			analyticsData,
 			EdgeBridgeConstants.AnalyticsKeys.CONTEXT_DATA,
-			new HashMap<>()
+			new CompactMap(1)
 		);
 		if (contextDataMap.isEmpty()) {
 			analyticsData.put(EdgeBridgeConstants.AnalyticsKeys.CONTEXT_DATA, contextDataMap);
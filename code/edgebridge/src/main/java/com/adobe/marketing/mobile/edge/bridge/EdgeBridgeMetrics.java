@@ -0,0 +1,336 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Runtime counters and latency histogram for the Edge Bridge extension.
+ * <p>
+ * All methods are safe to call from any thread. Counters are striped by thread so concurrent
+ * writers do not contend on the same memory location.
+ */
+class EdgeBridgeMetrics {
+
+	/**
+	 * The listener which received a bridged event.
+	 */
+	enum Source {
+		TRACK("track"),
+		RULES_ENGINE("rulesEngine");
+
+		private final String key;
+
+		Source(final String key) {
+			this.key = key;
+		}
+	}
+
+	/**
+	 * The reason a received event was not bridged to the Edge Network.
+	 */
+	enum DropReason {
+		EMPTY_DATA("emptyData"),
+		CLONE_FAILURE("cloneFailure"),
+		INVALID_CONSEQUENCE("invalidConsequence"),
+		NOT_ANALYTICS_CONSEQUENCE("notAnalyticsConsequence"),
+		MISSING_CONSEQUENCE_ID("missingConsequenceId"),
+		MISSING_CONSEQUENCE_DETAIL("missingConsequenceDetail"),
+		NO_MAPPABLE_DATA("noMappableData"),
+		QUEUE_OVERFLOW("queueOverflow"),
+		BUFFER_OVERFLOW("bufferOverflow"),
+		CONSENT_DENIED("consentDenied"),
+		DUPLICATE("duplicate"),
+		SAMPLED("sampled"),
+		RATE_LIMITED("rateLimited"),
+		DISABLED("disabled"),
+		PAYLOAD_TOO_LARGE("payloadTooLarge"),
+		NOT_SELECTED("notSelected");
+
+		private final String key;
+
+		DropReason(final String key) {
+			this.key = key;
+		}
+	}
+
+	/**
+	 * The kind of configured traffic limit applied to an event.
+	 */
+	enum LimitScope {
+		ACTION(EdgeBridgeConstants.MetricsKeys.ACTIONS),
+		STATE(EdgeBridgeConstants.MetricsKeys.STATES),
+		RULES_ENGINE(EdgeBridgeConstants.MetricsKeys.RULES_ENGINE);
+
+		private final String key;
+
+		LimitScope(final String key) {
+			this.key = key;
+		}
+	}
+
+	// Name under which the outcomes of the single rules engine limit are counted
+	private static final String RULES_ENGINE_LIMIT_NAME = "";
+
+	// Upper bounds, in microseconds, of the latency histogram buckets; the last bucket is unbounded
+	private static final long[] LATENCY_BUCKET_BOUNDS_MICROSECONDS = {
+		50,
+		100,
+		250,
+		500,
+		1000,
+		2500,
+		5000,
+		10000,
+		25000,
+		50000,
+		100000,
+		1000000,
+	};
+
+	private final StripedCounter[] received = createCounters(Source.values().length);
+	private final StripedCounter[] dropped = createCounters(DropReason.values().length);
+	private final StripedCounter dispatched = new StripedCounter();
+	private final StripedCounter coalesced = new StripedCounter();
+	private final StripedCounter truncated = new StripedCounter();
+	private final AtomicLongArray latencyBuckets = new AtomicLongArray(LATENCY_BUCKET_BOUNDS_MICROSECONDS.length + 1);
+	private final StripedCounter latencySumMicroseconds = new StripedCounter();
+	private final Map<LimitScope, ConcurrentHashMap<String, LimitCounters>> limits = createLimits();
+
+	/**
+	 * Records an event received by the given listener.
+	 *
+	 * @param source the listener which received the event
+	 */
+	void recordReceived(@NonNull final Source source) {
+		received[source.ordinal()].increment();
+	}
+
+	/**
+	 * Records an event which was not bridged.
+	 *
+	 * @param reason the reason the event was dropped
+	 */
+	void recordDropped(@NonNull final DropReason reason) {
+		dropped[reason.ordinal()].increment();
+	}
+
+	/**
+	 * Records the outcome of an event subject to a configured traffic limit. Counting events per
+	 * limit lets the bridged events be corrected for sampling and rate limiting.
+	 *
+	 * @param scope the kind of limit
+	 * @param name the action or state name of the limit, ignored for {@link LimitScope#RULES_ENGINE}
+	 * @param reason {@link DropReason#SAMPLED} or {@link DropReason#RATE_LIMITED} if the event was
+	 *     suppressed, or null if it passed the limit
+	 */
+	void recordLimited(
+		@NonNull final LimitScope scope,
+		@Nullable final String name,
+		@Nullable final DropReason reason
+	) {
+		final ConcurrentHashMap<String, LimitCounters> scopeCounters = limits.get(scope);
+		final String limitName = scope == LimitScope.RULES_ENGINE || name == null ? RULES_ENGINE_LIMIT_NAME : name;
+
+		LimitCounters counters = scopeCounters.get(limitName);
+		if (counters == null) {
+			final LimitCounters newCounters = new LimitCounters();
+			counters = scopeCounters.putIfAbsent(limitName, newCounters);
+			if (counters == null) {
+				counters = newCounters;
+			}
+		}
+		counters.record(reason);
+	}
+
+	/**
+	 * Records a rule consequence which was merged into the request of an earlier consequence.
+	 */
+	void recordCoalesced() {
+		coalesced.increment();
+	}
+
+	/**
+	 * Records an oversized event whose data was truncated to fit the payload limits.
+	 */
+	void recordTruncated() {
+		truncated.increment();
+	}
+
+	/**
+	 * Records an Edge request event dispatched to the event hub.
+	 *
+	 * @param receivedNanos the {@link System#nanoTime()} at which the triggering event was received
+	 */
+	void recordDispatched(final long receivedNanos) {
+		dispatched.increment();
+
+		final long latencyMicroseconds = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - receivedNanos);
+		latencyBuckets.getAndIncrement(bucketIndex(latencyMicroseconds));
+		latencySumMicroseconds.add(latencyMicroseconds);
+	}
+
+	/**
+	 * Creates a snapshot of the current metrics, in a format which can be used as event data.
+	 *
+	 * @return the metrics snapshot
+	 */
+	@NonNull Map<String, Object> snapshot() {
+		final Map<String, Object> receivedSnapshot = new HashMap<>();
+		for (Source source : Source.values()) {
+			receivedSnapshot.put(source.key, received[source.ordinal()].sum());
+		}
+
+		final Map<String, Object> droppedSnapshot = new HashMap<>();
+		for (DropReason reason : DropReason.values()) {
+			droppedSnapshot.put(reason.key, dropped[reason.ordinal()].sum());
+		}
+
+		final Map<String, Object> bucketsSnapshot = new HashMap<>();
+		long latencyCount = 0;
+		for (int i = 0; i < latencyBuckets.length(); i++) {
+			final long count = latencyBuckets.get(i);
+			latencyCount += count;
+			bucketsSnapshot.put(bucketName(i), count);
+		}
+
+		final Map<String, Object> latencySnapshot = new HashMap<>();
+		latencySnapshot.put(EdgeBridgeConstants.MetricsKeys.COUNT, latencyCount);
+		latencySnapshot.put(EdgeBridgeConstants.MetricsKeys.SUM_MICROSECONDS, latencySumMicroseconds.sum());
+		latencySnapshot.put(EdgeBridgeConstants.MetricsKeys.BUCKETS, bucketsSnapshot);
+
+		final Map<String, Object> snapshot = new HashMap<>();
+		snapshot.put(EdgeBridgeConstants.MetricsKeys.RECEIVED, receivedSnapshot);
+		snapshot.put(EdgeBridgeConstants.MetricsKeys.DROPPED, droppedSnapshot);
+		snapshot.put(EdgeBridgeConstants.MetricsKeys.DISPATCHED, dispatched.sum());
+		snapshot.put(EdgeBridgeConstants.MetricsKeys.COALESCED, coalesced.sum());
+		snapshot.put(EdgeBridgeConstants.MetricsKeys.TRUNCATED, truncated.sum());
+		snapshot.put(EdgeBridgeConstants.MetricsKeys.LATENCY, latencySnapshot);
+		snapshot.put(EdgeBridgeConstants.MetricsKeys.LIMITS, limitsSnapshot());
+		return snapshot;
+	}
+
+	private Map<String, Object> limitsSnapshot() {
+		final Map<String, Object> limitsSnapshot = new HashMap<>();
+		for (LimitScope scope : LimitScope.values()) {
+			final Map<String, Object> scopeSnapshot = new HashMap<>();
+			for (Map.Entry<String, LimitCounters> entry : limits.get(scope).entrySet()) {
+				scopeSnapshot.put(entry.getKey(), entry.getValue().snapshot());
+			}
+
+			if (scope == LimitScope.RULES_ENGINE) {
+				final Object rulesEngineSnapshot = scopeSnapshot.get(RULES_ENGINE_LIMIT_NAME);
+				limitsSnapshot.put(
+					scope.key,
+					rulesEngineSnapshot != null ? rulesEngineSnapshot : new LimitCounters().snapshot()
+				);
+			} else {
+				limitsSnapshot.put(scope.key, scopeSnapshot);
+			}
+		}
+		return limitsSnapshot;
+	}
+
+	private static Map<LimitScope, ConcurrentHashMap<String, LimitCounters>> createLimits() {
+		final Map<LimitScope, ConcurrentHashMap<String, LimitCounters>> limits = new HashMap<>();
+		for (LimitScope scope : LimitScope.values()) {
+			limits.put(scope, new ConcurrentHashMap<String, LimitCounters>());
+		}
+		return limits;
+	}
+
+	private static int bucketIndex(final long latencyMicroseconds) {
+		for (int i = 0; i < LATENCY_BUCKET_BOUNDS_MICROSECONDS.length; i++) {
+			if (latencyMicroseconds <= LATENCY_BUCKET_BOUNDS_MICROSECONDS[i]) {
+				return i;
+			}
+		}
+		return LATENCY_BUCKET_BOUNDS_MICROSECONDS.length;
+	}
+
+	private static String bucketName(final int index) {
+		if (index < LATENCY_BUCKET_BOUNDS_MICROSECONDS.length) {
+			return "le" + LATENCY_BUCKET_BOUNDS_MICROSECONDS[index] + "us";
+		}
+		return "gt" + LATENCY_BUCKET_BOUNDS_MICROSECONDS[LATENCY_BUCKET_BOUNDS_MICROSECONDS.length - 1] + "us";
+	}
+
+	private static StripedCounter[] createCounters(final int count) {
+		final StripedCounter[] counters = new StripedCounter[count];
+		for (int i = 0; i < count; i++) {
+			counters[i] = new StripedCounter();
+		}
+		return counters;
+	}
+
+	/**
+	 * Counts the outcomes of events subject to one traffic limit.
+	 */
+	private static final class LimitCounters {
+
+		private final StripedCounter passed = new StripedCounter();
+		private final StripedCounter sampled = new StripedCounter();
+		private final StripedCounter rateLimited = new StripedCounter();
+
+		void record(@Nullable final DropReason reason) {
+			if (reason == null) {
+				passed.increment();
+			} else if (reason == DropReason.SAMPLED) {
+				sampled.increment();
+			} else {
+				rateLimited.increment();
+			}
+		}
+
+		Map<String, Object> snapshot() {
+			final Map<String, Object> snapshot = new HashMap<>();
+			snapshot.put(EdgeBridgeConstants.MetricsKeys.PASSED, passed.sum());
+			snapshot.put(DropReason.SAMPLED.key, sampled.sum());
+			snapshot.put(DropReason.RATE_LIMITED.key, rateLimited.sum());
+			return snapshot;
+		}
+	}
+
+	/**
+	 * Counter split into cells indexed by thread, padded so that each cell sits on its own cache line.
+	 */
+	static final class StripedCounter {
+
+		private static final int STRIPES = 8;
+		private static final int CELL_PADDING = 8;
+
+		private final AtomicLongArray cells = new AtomicLongArray(STRIPES * CELL_PADDING);
+
+		void increment() {
+			add(1);
+		}
+
+		void add(final long value) {
+			final int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+			cells.getAndAdd(stripe * CELL_PADDING, value);
+		}
+
+		long sum() {
+			long sum = 0;
+			for (int i = 0; i < STRIPES; i++) {
+				sum += cells.get(i * CELL_PADDING);
+			}
+			return sum;
+		}
+	}
+}
@@ -15,6 +15,8 @@ import static com.adobe.marketing.mobile.edge.bridge.EdgeBridgeConstants.LOG_TAG
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.services.AppContextService;
 import com.adobe.marketing.mobile.services.AppState;
 import com.adobe.marketing.mobile.services.DeviceInforming;
 import com.adobe.marketing.mobile.services.Log;
@@ -25,15 +27,30 @@ class EdgeBridgeProperties {
 
 	private static final String LOG_SOURCE = "EdgeBridgeProperties";
 
+	private static final Object applicationIdentifierMutex = new Object();
+	private static volatile String applicationIdentifier;
+	private static volatile String customerPerspective;
+
 	/**
 	 * Provides the current customer perspective based on the application's state.
+	 * <p>
+	 * The perspective cached by {@link #setCustomerPerspective(String)} from the most recent Lifecycle
+	 * start or pause event is returned when available, so the common path reads a single field. The
+	 * application state is only read from the {@code AppContextService} until the first Lifecycle
+	 * start or pause event is received.
 	 *
 	 * @return A {@link String} representing the customer perspective, either {@link EdgeBridgeConstants.AnalyticsValues#APP_STATE_FOREGROUND}
 	 * for foreground or {@link EdgeBridgeConstants.AnalyticsValues#APP_STATE_BACKGROUND} for background,
 	 * defaulting to foreground if the state cannot be determined.
 	 */
 	@NonNull static String getCustomerPerspective() {
-		if (ServiceProvider.getInstance().getAppContextService() == null) {
+		final String cachedPerspective = customerPerspective;
+		if (cachedPerspective != null) {
+			return cachedPerspective;
+		}
+
+		final AppContextService appContextService = ServiceProvider.getInstance().getAppContextService();
+		if (appContextService == null) {
 			Log.trace(
 				LOG_TAG,
 				LOG_SOURCE,
@@ -42,32 +59,89 @@ class EdgeBridgeProperties {
 			return EdgeBridgeConstants.AnalyticsValues.APP_STATE_FOREGROUND;
 		}
 
-		AppState appState = ServiceProvider.getInstance().getAppContextService().getAppState();
-		if (appState == AppState.BACKGROUND) {
-			return EdgeBridgeConstants.AnalyticsValues.APP_STATE_BACKGROUND;
-		}
-		return EdgeBridgeConstants.AnalyticsValues.APP_STATE_FOREGROUND;
+		return appContextService.getAppState() == AppState.BACKGROUND
+			? EdgeBridgeConstants.AnalyticsValues.APP_STATE_BACKGROUND
+			: EdgeBridgeConstants.AnalyticsValues.APP_STATE_FOREGROUND;
+	}
+
+	/**
+	 * Caches the customer perspective after a Lifecycle start or pause event, which is then used
+	 * instead of the application state.
+	 *
+	 * @param perspective either {@link EdgeBridgeConstants.AnalyticsValues#APP_STATE_FOREGROUND}
+	 * or {@link EdgeBridgeConstants.AnalyticsValues#APP_STATE_BACKGROUND}
+	 */
+	static void setCustomerPerspective(@NonNull final String perspective) {
+		customerPerspective = perspective;
 	}
 
 	/**
-	 * Generates the Application ID string from Application name, version and version code
+	 * Clears the cached customer perspective.
+	 */
+	@VisibleForTesting
+	static void resetCustomerPerspective() {
+		customerPerspective = null;
+	}
+
+	/**
+	 * Provides the Application ID string from Application name, version and version code.
+	 * <p>
+	 * The Application ID is computed on first use and cached in memory for the lifetime of the process.
 	 *
 	 * @return string representation of the Application ID
 	 */
 	@Nullable static String getApplicationIdentifier() {
-		DeviceInforming deviceInfoService = ServiceProvider.getInstance().getDeviceInfoService();
-		if (deviceInfoService == null) {
-			return null;
+		final String cachedApplicationIdentifier = applicationIdentifier;
+		if (cachedApplicationIdentifier != null) {
+			return cachedApplicationIdentifier;
 		}
 
-		final String applicationName = deviceInfoService.getApplicationName();
-		final String applicationVersion = deviceInfoService.getApplicationVersion();
-		final String applicationVersionCode = deviceInfoService.getApplicationVersionCode();
-		return String.format(
-			"%s%s%s",
-			applicationName,
-			!StringUtils.isNullOrEmpty(applicationVersion) ? String.format(" %s", applicationVersion) : "",
-			!StringUtils.isNullOrEmpty(applicationVersionCode) ? String.format(" (%s)", applicationVersionCode) : ""
-		);
+		synchronized (applicationIdentifierMutex) {
+			if (applicationIdentifier != null) {
+				return applicationIdentifier;
+			}
+
+			DeviceInforming deviceInfoService = ServiceProvider.getInstance().getDeviceInfoService();
+			if (deviceInfoService == null) {
+				return null;
+			}
+
+			applicationIdentifier =
+				buildApplicationIdentifier(
+					deviceInfoService.getApplicationName(),
+					deviceInfoService.getApplicationVersion(),
+					deviceInfoService.getApplicationVersionCode()
+				);
+			return applicationIdentifier;
+		}
+	}
+
+	/**
+	 * Clears the in-memory Application ID cache.
+	 */
+	@VisibleForTesting
+	static void resetApplicationIdentifier() {
+		synchronized (applicationIdentifierMutex) {
+			applicationIdentifier = null;
+		}
+	}
+
+	/**
+	 * Generates the Application ID string in the format "name version (versionCode)", where version and
+	 * version code are omitted if they are null or empty.
+	 */
+	private static String buildApplicationIdentifier(
+		final String applicationName,
+		final String applicationVersion,
+		final String applicationVersionCode
+	) {
+		final StringBuilder builder = new StringBuilder().append(applicationName);
+		if (!StringUtils.isNullOrEmpty(applicationVersion)) {
+			builder.append(' ').append(applicationVersion);
+		}
+		if (!StringUtils.isNullOrEmpty(applicationVersionCode)) {
+			builder.append(" (").append(applicationVersionCode).append(')');
+		}
+		return builder.toString();
 	}
 }
@@ -0,0 +1,237 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import static com.adobe.marketing.mobile.edge.bridge.EdgeBridgeConstants.LOG_TAG;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the formatting and dispatch of bridged events off the event hub thread.
+ * <p>
+ * When the worker is disabled, tasks run on the calling thread. When enabled, tasks are added to a
+ * bounded queue and run on a dedicated thread in the order they were added. If the queue is full,
+ * the configured {@link OverflowPolicy} decides which task is dropped.
+ */
+class EdgeBridgeWorker {
+
+	private static final String LOG_SOURCE = "EdgeBridgeWorker";
+
+	/**
+	 * Policy applied when a task is added while the worker queue is full.
+	 */
+	enum OverflowPolicy {
+		/** Drops the task being added. */
+		DROP_NEWEST("dropNewest"),
+		/** Drops the oldest queued task to make room for the task being added. */
+		DROP_OLDEST("dropOldest");
+
+		private final String value;
+
+		OverflowPolicy(final String value) {
+			this.value = value;
+		}
+
+		/**
+		 * @param value the configured policy name
+		 * @return the matching {@link OverflowPolicy}, or {@link #DROP_NEWEST} if the value is not recognized
+		 */
+		@NonNull static OverflowPolicy fromString(@Nullable final String value) {
+			for (OverflowPolicy policy : values()) {
+				if (policy.value.equals(value)) {
+					return policy;
+				}
+			}
+			return DROP_NEWEST;
+		}
+	}
+
+	private final EdgeBridgeMetrics metrics;
+	// Held while a task runs so tasks run one at a time and in queue order, on either thread
+	private final Object executionLock = new Object();
+	private final ArrayDeque<QueuedTask> queue = new ArrayDeque<>();
+
+	private boolean enabled = EdgeBridgeConstants.Defaults.WORKER_ENABLED;
+	private int queueSize = EdgeBridgeConstants.Defaults.WORKER_QUEUE_SIZE;
+	private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+	private ExecutorService executor;
+	private boolean drainScheduled;
+
+	EdgeBridgeWorker(@NonNull final EdgeBridgeMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Updates the worker settings. Tasks queued before the worker is disabled still run before any
+	 * task added afterwards.
+	 *
+	 * @param configuration the current {@link EdgeBridgeConfiguration}
+	 */
+	synchronized void configure(@NonNull final EdgeBridgeConfiguration configuration) {
+		enabled = configuration.isWorkerEnabled();
+		queueSize = configuration.getWorkerQueueSize();
+		overflowPolicy = configuration.getWorkerOverflowPolicy();
+	}
+
+	/**
+	 * Runs the given task on the worker thread, or on the calling thread if the worker is disabled.
+	 * The task may be dropped if the worker queue is full.
+	 *
+	 * @param task the task to run
+	 */
+	void execute(@NonNull final Runnable task) {
+		enqueue(task, true);
+	}
+
+	/**
+	 * Runs the given task after all tasks added before it. Unlike {@link #execute(Runnable)}, the
+	 * task is never dropped.
+	 *
+	 * @param task the task to run
+	 */
+	void executeAfterPending(@NonNull final Runnable task) {
+		enqueue(task, false);
+	}
+
+	/**
+	 * Runs all queued tasks on the calling thread and stops the worker thread.
+	 */
+	void shutdown() {
+		synchronized (this) {
+			enabled = false;
+		}
+
+		synchronized (executionLock) {
+			runPending();
+		}
+
+		synchronized (this) {
+			if (executor != null) {
+				executor.shutdown();
+				executor = null;
+			}
+			drainScheduled = false;
+		}
+	}
+
+	private void enqueue(final Runnable task, final boolean droppable) {
+		synchronized (this) {
+			if (enabled) {
+				if (droppable && queue.size() >= queueSize && !makeRoom()) {
+					Log.debug(LOG_TAG, LOG_SOURCE, "Worker queue is full (%d), dropping the newest task.", queueSize);
+					metrics.recordDropped(EdgeBridgeMetrics.DropReason.QUEUE_OVERFLOW);
+					return;
+				}
+
+				queue.add(new QueuedTask(task, droppable));
+				scheduleDrain();
+				return;
+			}
+		}
+
+		// Worker is disabled; run on the calling thread after any tasks queued while it was enabled
+		synchronized (executionLock) {
+			runPending();
+			runTask(task);
+		}
+	}
+
+	/**
+	 * Applies the overflow policy to a full queue. Must be called while holding this object's lock.
+	 *
+	 * @return true if a queued task was dropped to make room for a new one
+	 */
+	private boolean makeRoom() {
+		if (overflowPolicy != OverflowPolicy.DROP_OLDEST) {
+			return false;
+		}
+
+		final Iterator<QueuedTask> iterator = queue.iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().droppable) {
+				iterator.remove();
+				Log.debug(LOG_TAG, LOG_SOURCE, "Worker queue is full (%d), dropping the oldest task.", queueSize);
+				metrics.recordDropped(EdgeBridgeMetrics.DropReason.QUEUE_OVERFLOW);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void scheduleDrain() {
+		if (drainScheduled) {
+			return;
+		}
+
+		if (executor == null) {
+			executor = Executors.newSingleThreadExecutor();
+		}
+		drainScheduled = true;
+		executor.execute(this::drain);
+	}
+
+	private void drain() {
+		while (true) {
+			synchronized (executionLock) {
+				final Runnable task;
+				synchronized (this) {
+					task = poll();
+					if (task == null) {
+						drainScheduled = false;
+						return;
+					}
+				}
+				runTask(task);
+			}
+		}
+	}
+
+	/**
+	 * Runs all queued tasks. Must be called while holding {@link #executionLock}.
+	 */
+	private void runPending() {
+		Runnable task;
+		while ((task = poll()) != null) {
+			runTask(task);
+		}
+	}
+
+	private synchronized Runnable poll() {
+		final QueuedTask queuedTask = queue.poll();
+		return queuedTask != null ? queuedTask.task : null;
+	}
+
+	private void runTask(final Runnable task) {
+		try {
+			task.run();
+		} catch (Exception e) {
+			Log.error(LOG_TAG, LOG_SOURCE, "Failed to process bridged event: " + e.getMessage());
+		}
+	}
+
+	private static final class QueuedTask {
+
+		private final Runnable task;
+		private final boolean droppable;
+
+		QueuedTask(final Runnable task, final boolean droppable) {
+			this.task = task;
+			this.droppable = droppable;
+		}
+	}
+}
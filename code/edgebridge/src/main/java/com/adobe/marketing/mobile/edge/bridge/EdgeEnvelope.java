@@ -0,0 +1,155 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Builds the event data of the Edge request events dispatched by the Edge Bridge:
+ * <pre>
+ * {
+ *   "xdm": {
+ *     "eventType": "analytics.track",
+ *     "timestamp": ...
+ *   },
+ *   "data": ...
+ * }
+ * </pre>
+ * The envelope has a fixed shape, so its keys and the event type are
+ * precomputed once and shared by all events. Each envelope only holds the values which vary per
+ * event, the timestamp and data, in a read-only map over the shared keys. The event builder copies
+ * event data by iterating its entries, so the envelope is never built as a mutable map of its own.
+ * Envelopes must not be modified.
+ */
+final class EdgeEnvelope {
+
+	private static final String[] XDM_KEYS = {
+		EdgeBridgeConstants.JsonKeys.EVENT_TYPE,
+		EdgeBridgeConstants.JsonKeys.TIMESTAMP,
+	};
+	private static final String[] EVENT_DATA_KEYS = {
+		EdgeBridgeConstants.JsonKeys.XDM,
+		EdgeBridgeConstants.JsonKeys.DATA,
+	};
+
+	private EdgeEnvelope() {}
+
+	/**
+	 * Creates the event data of an Edge request.
+	 *
+	 * @param formattedData the formatted data to send, whose XDM fields, if any, are added to the {@code xdm} object
+	 * @param timestamp the formatted timestamp to set as {@code xdm.timestamp}
+	 * @return the read-only event data
+	 */
+	@NonNull static Map<String, Object> create(
+		@NonNull final FormattedData formattedData,
+		@NonNull final String timestamp
+	) {
+		final Map<String, Object> xdmFields = formattedData.getXdm();
+		final Map<String, Object> xdm;
+		if (xdmFields == null || xdmFields.isEmpty()) {
+			xdm = new FixedShapeMap(XDM_KEYS, new Object[] { EdgeBridgeConstants.JsonValues.EVENT_TYPE, timestamp });
+		} else {
+			// Mapped XDM fields vary per event, so the xdm object cannot use the fixed shape
+			final Map<String, Object> mergedXdm = new CompactMap(XDM_KEYS.length + xdmFields.size());
+			mergedXdm.putAll(xdmFields);
+			mergedXdm.put(EdgeBridgeConstants.JsonKeys.EVENT_TYPE, EdgeBridgeConstants.JsonValues.EVENT_TYPE);
+			mergedXdm.put(EdgeBridgeConstants.JsonKeys.TIMESTAMP, timestamp);
+			xdm = mergedXdm;
+		}
+
+		return new FixedShapeMap(EVENT_DATA_KEYS, new Object[] { xdm, formattedData.getData() });
+	}
+
+	/**
+	 * Read-only map of shared keys to the values of one envelope, iterated in key order.
+	 */
+	private static final class FixedShapeMap extends AbstractMap<String, Object> {
+
+		private final String[] keys;
+		private final Object[] values;
+		private Set<Map.Entry<String, Object>> entrySet;
+
+		FixedShapeMap(final String[] keys, final Object[] values) {
+			this.keys = keys;
+			this.values = values;
+		}
+
+		@Override
+		public int size() {
+			return keys.length;
+		}
+
+		@Override
+		public boolean containsKey(final Object key) {
+			return indexOf(key) >= 0;
+		}
+
+		@Override
+		public Object get(final Object key) {
+			final int index = indexOf(key);
+			return index >= 0 ? values[index] : null;
+		}
+
+		@NonNull @Override
+		public Set<Map.Entry<String, Object>> entrySet() {
+			if (entrySet == null) {
+				entrySet = new EntrySet();
+			}
+			return entrySet;
+		}
+
+		private int indexOf(final Object key) {
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i].equals(key)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+			@Override
+			public int size() {
+				return keys.length;
+			}
+
+			@NonNull @Override
+			public Iterator<Map.Entry<String, Object>> iterator() {
+				return new Iterator<Map.Entry<String, Object>>() {
+					private int next;
+
+					@Override
+					public boolean hasNext() {
+						return next < keys.length;
+					}
+
+					@Override
+					public Map.Entry<String, Object> next() {
+						if (next >= keys.length) {
+							throw new NoSuchElementException();
+						}
+						final int index = next++;
+						return new AbstractMap.SimpleImmutableEntry<>(keys[index], values[index]);
+					}
+				};
+			}
+		}
+	}
+}
@@ -0,0 +1,207 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import static com.adobe.marketing.mobile.edge.bridge.EdgeBridgeConstants.LOG_TAG;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Holds formatted Edge request events until the Edge extension is registered, then dispatches them
+ * in one burst.
+ * <p>
+ * The buffer is a fixed-size ring which also caps the estimated memory used by the held events.
+ * When either limit is reached the oldest events are dropped. Held events never expire, so events
+ * tracked long before the Edge extension registers are still sent. Once ready, events pass straight
+ * through.
+ */
+class EdgeEventBuffer {
+
+	private static final String LOG_SOURCE = "EdgeEventBuffer";
+
+	// Rough per-object overhead used when estimating the memory held by an event
+	private static final int OBJECT_OVERHEAD_BYTES = 16;
+	private static final int ENTRY_OVERHEAD_BYTES = 32;
+
+	private final ExtensionApi extensionApi;
+	private final EdgeBridgeMetrics metrics;
+	private final BufferedEvent[] ring;
+	private final long maxBytes;
+
+	// Set only after the buffer is drained, so events passing straight through never overtake held events
+	private volatile boolean ready;
+	private int head;
+	private int size;
+	private long bufferedBytes;
+
+	EdgeEventBuffer(@NonNull final ExtensionApi extensionApi, @NonNull final EdgeBridgeMetrics metrics) {
+		this(
+			extensionApi,
+			metrics,
+			EdgeBridgeConstants.BufferLimits.CAPACITY,
+			EdgeBridgeConstants.BufferLimits.MAX_BYTES
+		);
+	}
+
+	@VisibleForTesting
+	EdgeEventBuffer(
+		@NonNull final ExtensionApi extensionApi,
+		@NonNull final EdgeBridgeMetrics metrics,
+		final int capacity,
+		final long maxBytes
+	) {
+		this.extensionApi = extensionApi;
+		this.metrics = metrics;
+		this.ring = new BufferedEvent[capacity];
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * @return true if the Edge extension is registered and events are no longer buffered
+	 */
+	boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Dispatches the event, or holds it if the buffer is not ready yet.
+	 *
+	 * @param event the Edge request event
+	 * @param receivedNanos the {@link System#nanoTime()} at which the triggering event was received
+	 */
+	void add(@NonNull final Event event, final long receivedNanos) {
+		if (ready) {
+			dispatch(event, receivedNanos);
+			return;
+		}
+
+		synchronized (this) {
+			if (ready) {
+				dispatch(event, receivedNanos);
+				return;
+			}
+
+			final long eventBytes = estimateSize(event.getEventData());
+			if (eventBytes > maxBytes) {
+				Log.debug(
+					LOG_TAG,
+					LOG_SOURCE,
+					"Event '%s' exceeds the buffer memory limit, dropping it.",
+					event.getUniqueIdentifier()
+				);
+				metrics.recordDropped(EdgeBridgeMetrics.DropReason.BUFFER_OVERFLOW);
+				return;
+			}
+
+			while (size == ring.length || bufferedBytes + eventBytes > maxBytes) {
+				final BufferedEvent dropped = removeOldest();
+				Log.debug(
+					LOG_TAG,
+					LOG_SOURCE,
+					"Buffer is full, dropping the oldest event '%s'.",
+					dropped.event.getUniqueIdentifier()
+				);
+				metrics.recordDropped(EdgeBridgeMetrics.DropReason.BUFFER_OVERFLOW);
+			}
+
+			ring[(head + size) % ring.length] = new BufferedEvent(event, receivedNanos, eventBytes);
+			size++;
+			bufferedBytes += eventBytes;
+		}
+	}
+
+	/**
+	 * Marks the buffer as ready and dispatches all held events, in the order they were added.
+	 */
+	synchronized void setReady() {
+		if (ready) {
+			return;
+		}
+
+		int drained = 0;
+		while (size > 0) {
+			final BufferedEvent bufferedEvent = removeOldest();
+			dispatch(bufferedEvent.event, bufferedEvent.receivedNanos);
+			drained++;
+		}
+
+		if (drained > 0) {
+			Log.trace(LOG_TAG, LOG_SOURCE, "Edge extension is registered, dispatched %d buffered events.", drained);
+		}
+		ready = true;
+	}
+
+	private void dispatch(final Event event, final long receivedNanos) {
+		extensionApi.dispatch(event);
+		metrics.recordDispatched(receivedNanos);
+	}
+
+	private BufferedEvent removeOldest() {
+		final BufferedEvent oldest = ring[head];
+		ring[head] = null;
+		head = (head + 1) % ring.length;
+		size--;
+		bufferedBytes -= oldest.estimatedBytes;
+		return oldest;
+	}
+
+	/**
+	 * Estimates the memory held by the given event data value. The estimate only needs to be
+	 * consistent between events so the memory cap is predictable, not exact.
+	 *
+	 * @param value the event data value
+	 * @return the estimated size in bytes
+	 */
+	@VisibleForTesting
+	static long estimateSize(final Object value) {
+		if (value instanceof String) {
+			return OBJECT_OVERHEAD_BYTES + 2L * ((String) value).length();
+		}
+
+		if (value instanceof Map) {
+			long bytes = OBJECT_OVERHEAD_BYTES;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				bytes += ENTRY_OVERHEAD_BYTES + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+			}
+			return bytes;
+		}
+
+		if (value instanceof Collection) {
+			long bytes = OBJECT_OVERHEAD_BYTES;
+			for (Object element : (Collection<?>) value) {
+				bytes += estimateSize(element);
+			}
+			return bytes;
+		}
+
+		return OBJECT_OVERHEAD_BYTES;
+	}
+
+	private static final class BufferedEvent {
+
+		private final Event event;
+		private final long receivedNanos;
+		private final long estimatedBytes;
+
+		BufferedEvent(final Event event, final long receivedNanos, final long estimatedBytes) {
+			this.event = event;
+			this.receivedNanos = receivedNanos;
+			this.estimatedBytes = estimatedBytes;
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.Nullable;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Checks that values can be copied into event data, without copying them.
+ * <p>
+ * The event builder deep-copies the event data it is given, and sets no data if the copy fails. The
+ * bridge places values from the source payload in the Edge request as-is, so that they are copied
+ * only once, by the event builder, and checks them beforehand with the same rules: values must be
+ * null, strings, boxed primitives, big numbers or UUIDs, or maps, collections or arrays of such
+ * values, nested at most {@link #MAX_DEPTH} levels deep in the event data.
+ */
+final class EventDataValidator {
+
+	/**
+	 * The maximum depth of values in event data, as allowed by the event builder's copy.
+	 */
+	static final int MAX_DEPTH = 256;
+
+	private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(
+		Arrays.<Class<?>>asList(
+			String.class,
+			Boolean.class,
+			Byte.class,
+			Short.class,
+			Integer.class,
+			Long.class,
+			Float.class,
+			Double.class,
+			Character.class,
+			BigDecimal.class,
+			BigInteger.class,
+			UUID.class
+		)
+	);
+
+	private EventDataValidator() {}
+
+	/**
+	 * @param value the value to check
+	 * @param depth the depth of the value in the event data, where values of the top-level map are at depth 1
+	 * @return true if the value, and every value nested in it, can be copied into event data
+	 */
+	static boolean canCopy(@Nullable final Object value, final int depth) {
+		if (value == null) {
+			return true;
+		}
+		if (depth > MAX_DEPTH) {
+			return false;
+		}
+		if (IMMUTABLE_TYPES.contains(value.getClass())) {
+			return true;
+		}
+
+		if (value instanceof Map) {
+			for (Object nestedValue : ((Map<?, ?>) value).values()) {
+				if (!canCopy(nestedValue, depth + 1)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		if (value instanceof Collection) {
+			for (Object nestedValue : (Collection<?>) value) {
+				if (!canCopy(nestedValue, depth + 1)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		if (value.getClass().isArray()) {
+			final int length = Array.getLength(value);
+			for (int i = 0; i < length; i++) {
+				if (!canCopy(Array.get(value, i), depth + 1)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		return false;
+	}
+}
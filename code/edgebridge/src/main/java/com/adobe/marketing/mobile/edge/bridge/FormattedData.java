@@ -0,0 +1,46 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * The result of formatting track data: the {@code data} object of the Edge request, and the fields
+ * which mapping rules moved into the {@code xdm} object. May be shared between events once created,
+ * so neither map may be modified.
+ */
+final class FormattedData {
+
+	private final Map<String, Object> data;
+	private final Map<String, Object> xdm;
+
+	FormattedData(@NonNull final Map<String, Object> data, @Nullable final Map<String, Object> xdm) {
+		this.data = data;
+		this.xdm = xdm;
+	}
+
+	/**
+	 * @return the formatted {@code data} object
+	 */
+	@NonNull Map<String, Object> getData() {
+		return data;
+	}
+
+	/**
+	 * @return the fields to add to the {@code xdm} object, or null if none
+	 */
+	@Nullable Map<String, Object> getXdm() {
+		return xdm;
+	}
+}
@@ -0,0 +1,118 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded table of canonical values for frequently seen strings, such as context data keys and
+ * their routed output keys.
+ * <p>
+ * The table holds at most {@code maxEntries} entries and ignores strings longer than
+ * {@code maxKeyLength}, so its memory use is capped. Each entry counts its hits. Once the table is
+ * full, every {@code maxEntries} misses trigger a sweep which removes the entries not hit since the
+ * previous sweep and halves the hit counts of the others, so the table adapts to the keys in current
+ * use. Safe to use from concurrent callers.
+ *
+ * @param <V> the type of the canonical values
+ */
+final class InternTable<V> {
+
+	private final ConcurrentHashMap<String, Slot<V>> slots = new ConcurrentHashMap<>();
+	private final AtomicInteger missesSinceSweep = new AtomicInteger();
+	private final int maxEntries;
+	private final int maxKeyLength;
+
+	InternTable(final int maxEntries, final int maxKeyLength) {
+		this.maxEntries = maxEntries;
+		this.maxKeyLength = maxKeyLength;
+	}
+
+	/**
+	 * @param key the string to look up
+	 * @return the canonical value of the string, or null if it is not in the table
+	 */
+	@Nullable V get(@NonNull final String key) {
+		if (key.length() > maxKeyLength) {
+			return null;
+		}
+
+		final Slot<V> slot = slots.get(key);
+		if (slot == null) {
+			return null;
+		}
+		slot.hits.incrementAndGet();
+		return slot.value;
+	}
+
+	/**
+	 * Adds the value for the string if the table has room for it.
+	 *
+	 * @param key the string missed by {@link #get(String)}
+	 * @param value the value computed for the string
+	 * @return the canonical value of the string, which is {@code value} unless another caller added
+	 * a value first
+	 */
+	@NonNull V put(@NonNull final String key, @NonNull final V value) {
+		if (key.length() > maxKeyLength) {
+			return value;
+		}
+
+		if (slots.size() >= maxEntries) {
+			if (missesSinceSweep.incrementAndGet() < maxEntries) {
+				return value;
+			}
+			sweep();
+			if (slots.size() >= maxEntries) {
+				return value;
+			}
+		}
+
+		final Slot<V> existingSlot = slots.putIfAbsent(key, new Slot<>(value));
+		return existingSlot != null ? existingSlot.value : value;
+	}
+
+	@VisibleForTesting
+	int size() {
+		return slots.size();
+	}
+
+	private synchronized void sweep() {
+		missesSinceSweep.set(0);
+		final Iterator<Slot<V>> iterator = slots.values().iterator();
+		while (iterator.hasNext()) {
+			final Slot<V> slot = iterator.next();
+			final int hits = slot.hits.get();
+			if (hits == 0) {
+				iterator.remove();
+			} else {
+				// Subtract rather than set the halved count, so hits during the sweep are kept
+				slot.hits.addAndGet(-(hits - (hits >> 1)));
+			}
+		}
+	}
+
+	private static final class Slot<V> {
+
+		private final V value;
+		private final AtomicInteger hits = new AtomicInteger();
+
+		Slot(final V value) {
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,172 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches context data keys against a compiled list of key patterns.
+ * <p>
+ * A pattern without wildcards matches the exact key. A pattern whose only wildcard is a trailing
+ * {@code *} matches keys starting with the rest of the pattern. Any other pattern is a glob, where
+ * {@code *} matches any sequence of characters and {@code ?} matches a single character. Exact keys
+ * are kept in a hash set and prefixes in a {@link PrefixTrie}, so most keys are matched without
+ * evaluating globs. Filters are immutable and compiled once per configuration.
+ */
+final class KeyFilter {
+
+	static final KeyFilter EMPTY = new KeyFilter(
+		Collections.<String>emptySet(),
+		PrefixTrie.build(Collections.<String, Boolean>emptyMap()),
+		Collections.<String>emptyList()
+	);
+
+	private static final char ANY_SEQUENCE = '*';
+	private static final char ANY_CHARACTER = '?';
+
+	private final Set<String> exactKeys;
+	private final PrefixTrie<Boolean> prefixes;
+	private final List<String> globs;
+
+	private KeyFilter(final Set<String> exactKeys, final PrefixTrie<Boolean> prefixes, final List<String> globs) {
+		this.exactKeys = exactKeys;
+		this.prefixes = prefixes;
+		this.globs = globs;
+	}
+
+	/**
+	 * Compiles the key patterns. Values which are not non-empty strings are skipped.
+	 *
+	 * @param patterns the configured key patterns, may be null
+	 * @return the compiled {@link KeyFilter}, or {@link #EMPTY} if there are no valid patterns
+	 */
+	@NonNull static KeyFilter compile(@Nullable final List<Object> patterns) {
+		if (patterns == null || patterns.isEmpty()) {
+			return EMPTY;
+		}
+
+		final Set<String> exactKeys = new HashSet<>();
+		final Map<String, Boolean> prefixes = new HashMap<>();
+		final List<String> globs = new ArrayList<>();
+
+		for (Object value : patterns) {
+			if (!(value instanceof String) || ((String) value).isEmpty()) {
+				continue;
+			}
+
+			final String pattern = (String) value;
+			final int lastIndex = pattern.length() - 1;
+			final int firstWildcard = indexOfWildcard(pattern);
+
+			if (firstWildcard < 0) {
+				exactKeys.add(pattern);
+			} else if (firstWildcard == lastIndex && pattern.charAt(lastIndex) == ANY_SEQUENCE) {
+				prefixes.put(pattern.substring(0, lastIndex), Boolean.TRUE);
+			} else {
+				globs.add(pattern);
+			}
+		}
+
+		if (exactKeys.isEmpty() && prefixes.isEmpty() && globs.isEmpty()) {
+			return EMPTY;
+		}
+
+		return new KeyFilter(
+			exactKeys.isEmpty() ? Collections.<String>emptySet() : exactKeys,
+			PrefixTrie.build(prefixes),
+			globs.isEmpty() ? Collections.<String>emptyList() : globs
+		);
+	}
+
+	/**
+	 * @return true if the filter has no patterns
+	 */
+	boolean isEmpty() {
+		return this == EMPTY;
+	}
+
+	/**
+	 * @param key the context data key
+	 * @return true if any pattern matches the key
+	 */
+	boolean matches(@NonNull final String key) {
+		if (exactKeys.contains(key) || prefixes.longestMatch(key) != null) {
+			return true;
+		}
+
+		for (int i = 0; i < globs.size(); i++) {
+			if (matchesGlob(globs.get(i), key)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int indexOfWildcard(final String pattern) {
+		for (int i = 0; i < pattern.length(); i++) {
+			final char c = pattern.charAt(i);
+			if (c == ANY_SEQUENCE || c == ANY_CHARACTER) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Matches a glob pattern by backtracking only to the most recent {@code *}, so earlier stars are
+	 * never revisited. This avoids the exponential worst case of recursive matching, but a mismatch
+	 * after a star restarts the match one key character further, so the worst case is
+	 * O(key length * pattern length), for example {@code *a*a*b} against a long key of {@code a}s.
+	 * Patterns and keys are short in practice, where this is close to linear.
+	 */
+	private static boolean matchesGlob(final String pattern, final String key) {
+		int patternIndex = 0;
+		int keyIndex = 0;
+		int starIndex = -1;
+		int starKeyIndex = 0;
+
+		while (keyIndex < key.length()) {
+			if (patternIndex < pattern.length()) {
+				final char c = pattern.charAt(patternIndex);
+				if (c == ANY_SEQUENCE) {
+					starIndex = patternIndex++;
+					starKeyIndex = keyIndex;
+					continue;
+				}
+				if (c == ANY_CHARACTER || c == key.charAt(keyIndex)) {
+					patternIndex++;
+					keyIndex++;
+					continue;
+				}
+			}
+
+			if (starIndex < 0) {
+				return false;
+			}
+			patternIndex = starIndex + 1;
+			keyIndex = ++starKeyIndex;
+		}
+
+		while (patternIndex < pattern.length() && pattern.charAt(patternIndex) == ANY_SEQUENCE) {
+			patternIndex++;
+		}
+		return patternIndex == pattern.length();
+	}
+}
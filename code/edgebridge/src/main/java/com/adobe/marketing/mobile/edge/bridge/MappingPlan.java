@@ -0,0 +1,319 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import static com.adobe.marketing.mobile.edge.bridge.EdgeBridgeConstants.LOG_TAG;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.util.DataReader;
+import com.adobe.marketing.mobile.util.StringUtils;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routing of context data keys compiled from the configured mapping rules.
+ * <p>
+ * Each rule matches either an exact key or a key prefix, and routes matching keys to the Analytics
+ * data, the Analytics context data, a path in the XDM object, or drops them. Exact keys are looked up
+ * in a hash table and prefixes in a prefix trie, where the longest matching prefix wins. An exact key
+ * rule takes precedence over any prefix rule. Keys matched by a prefix have the prefix removed, or
+ * replaced by the rule's output name. Keys not matched by any rule are routed to the Analytics context
+ * data unchanged.
+ * <p>
+ * The built-in rule routes keys with the {@code &&} prefix to the Analytics data; a configured rule
+ * for the same prefix replaces it. Plans are immutable and compiled once per configuration.
+ */
+final class MappingPlan {
+
+	private static final String LOG_SOURCE = "MappingPlan";
+
+	/**
+	 * Where a context data key is routed.
+	 */
+	enum Target {
+		ANALYTICS("analytics"),
+		CONTEXT_DATA("contextData"),
+		XDM("xdm"),
+		DROP("drop");
+
+		private final String value;
+
+		Target(final String value) {
+			this.value = value;
+		}
+
+		static Target fromString(final String value) {
+			for (Target target : values()) {
+				if (target.value.equals(value)) {
+					return target;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * The compiled action of a mapping rule.
+	 */
+	static final class Route {
+
+		private final Target target;
+		private final boolean exact;
+		private final String outputName;
+		private final String[] xdmPath;
+		private final int prefixLength;
+
+		private Route(
+			final Target target,
+			final boolean exact,
+			final String outputName,
+			final String[] xdmPath,
+			final int prefixLength
+		) {
+			this.target = target;
+			this.exact = exact;
+			this.outputName = outputName;
+			this.xdmPath = xdmPath;
+			this.prefixLength = prefixLength;
+		}
+
+		@NonNull Target getTarget() {
+			return target;
+		}
+
+		/**
+		 * @param key the matched context data key
+		 * @return the key to write: the configured name for an exact key rule, otherwise the key with
+		 * its matched prefix replaced by the configured name, or removed if no name is configured
+		 */
+		@NonNull String getOutputKey(@NonNull final String key) {
+			if (exact) {
+				return outputName;
+			}
+			final String suffix = key.substring(prefixLength);
+			return outputName != null ? outputName + suffix : suffix;
+		}
+
+		/**
+		 * @param key the matched context data key
+		 * @return the path to write in the XDM object, or null if the path is empty or invalid
+		 */
+		@Nullable String[] getXdmPath(@NonNull final String key) {
+			if (exact) {
+				return xdmPath;
+			}
+
+			final String[] suffixPath = splitPath(key.substring(prefixLength));
+			if (suffixPath == null || xdmPath == null) {
+				return suffixPath;
+			}
+
+			final String[] path = new String[xdmPath.length + suffixPath.length];
+			System.arraycopy(xdmPath, 0, path, 0, xdmPath.length);
+			System.arraycopy(suffixPath, 0, path, xdmPath.length, suffixPath.length);
+			return path;
+		}
+	}
+
+	/**
+	 * The route of a specific context data key, with its output key or XDM path computed once.
+	 */
+	static final class ResolvedKey {
+
+		private final Target target;
+		private final String outputKey;
+		private final String[] xdmPath;
+
+		private ResolvedKey(final Target target, final String outputKey, final String[] xdmPath) {
+			this.target = target;
+			this.outputKey = outputKey;
+			this.xdmPath = xdmPath;
+		}
+
+		@NonNull Target getTarget() {
+			return target;
+		}
+
+		/**
+		 * @return the key to write, see {@link Route#getOutputKey(String)}, or null for the XDM and drop targets
+		 */
+		@Nullable String getOutputKey() {
+			return outputKey;
+		}
+
+		/**
+		 * @return the path to write in the XDM object, see {@link Route#getXdmPath(String)}, or null
+		 * for other targets; shared and must not be modified
+		 */
+		@Nullable String[] getXdmPath() {
+			return xdmPath;
+		}
+	}
+
+	private static final Route DEFAULT_ROUTE = new Route(Target.CONTEXT_DATA, false, null, null, 0);
+
+	static final MappingPlan DEFAULT = compile(null);
+
+	private final Map<String, Route> exactRoutes;
+	private final PrefixTrie<Route> prefixRoutes;
+	private final boolean isDefault;
+	private final InternTable<ResolvedKey> resolvedKeys = new InternTable<>(
+		EdgeBridgeConstants.CacheLimits.INTERNED_KEYS,
+		EdgeBridgeConstants.CacheLimits.INTERNED_KEY_LENGTH
+	);
+
+	private MappingPlan(
+		final Map<String, Route> exactRoutes,
+		final PrefixTrie<Route> prefixRoutes,
+		final boolean isDefault
+	) {
+		this.exactRoutes = exactRoutes;
+		this.prefixRoutes = prefixRoutes;
+		this.isDefault = isDefault;
+	}
+
+	/**
+	 * @return true if no mapping rules are configured, so only the built-in rule applies
+	 */
+	boolean isDefault() {
+		return isDefault;
+	}
+
+	/**
+	 * Resolves the route of a context data key. Frequently seen keys are kept in a bounded table, so
+	 * they are routed, and their output key is created, only once per plan.
+	 *
+	 * @param key the context data key
+	 * @return the {@link ResolvedKey}
+	 */
+	@NonNull ResolvedKey resolve(@NonNull final String key) {
+		final ResolvedKey resolvedKey = resolvedKeys.get(key);
+		if (resolvedKey != null) {
+			return resolvedKey;
+		}
+
+		final Route keyRoute = route(key);
+		final Target target = keyRoute.getTarget();
+		return resolvedKeys.put(
+			key,
+			new ResolvedKey(
+				target,
+				target == Target.ANALYTICS || target == Target.CONTEXT_DATA ? keyRoute.getOutputKey(key) : null,
+				target == Target.XDM ? keyRoute.getXdmPath(key) : null
+			)
+		);
+	}
+
+	/**
+	 * Finds the route of a context data key.
+	 *
+	 * @param key the context data key
+	 * @return the {@link Route} of the exact key rule, else of the longest matching prefix rule, else
+	 * the default route to the Analytics context data
+	 */
+	@NonNull Route route(@NonNull final String key) {
+		if (!exactRoutes.isEmpty()) {
+			final Route exactRoute = exactRoutes.get(key);
+			if (exactRoute != null) {
+				return exactRoute;
+			}
+		}
+
+		final Route prefixRoute = prefixRoutes.longestMatch(key);
+		return prefixRoute != null ? prefixRoute : DEFAULT_ROUTE;
+	}
+
+	/**
+	 * Compiles the mapping rules from the configuration. Each rule is a map with either a {@code key}
+	 * or a {@code prefix}, a {@code to} target of {@code analytics}, {@code contextData}, {@code xdm}
+	 * or {@code drop}, and an optional {@code as} output name, or dot-separated path for {@code xdm}.
+	 * Invalid rules are skipped.
+	 *
+	 * @param rules the configured mapping rules, may be null
+	 * @return the compiled {@link MappingPlan}
+	 */
+	@NonNull static MappingPlan compile(@Nullable final List<Map<String, Object>> rules) {
+		final Map<String, Route> exactRoutes = new HashMap<>();
+		final Map<String, Route> prefixes = new HashMap<>();
+		final Route analyticsRoute = new Route(
+			Target.ANALYTICS,
+			false,
+			null,
+			null,
+			EdgeBridgeConstants.AnalyticsValues.PREFIX.length()
+		);
+		prefixes.put(EdgeBridgeConstants.AnalyticsValues.PREFIX, analyticsRoute);
+
+		if (rules != null) {
+			for (Map<String, Object> rule : rules) {
+				compileRule(rule, exactRoutes, prefixes);
+			}
+		}
+
+		return new MappingPlan(
+			exactRoutes.isEmpty() ? Collections.<String, Route>emptyMap() : exactRoutes,
+			PrefixTrie.build(prefixes),
+			exactRoutes.isEmpty() &&
+			prefixes.size() == 1 &&
+			prefixes.get(EdgeBridgeConstants.AnalyticsValues.PREFIX) == analyticsRoute
+		);
+	}
+
+	private static void compileRule(
+		final Map<String, Object> rule,
+		final Map<String, Route> exactRoutes,
+		final Map<String, Route> prefixes
+	) {
+		final String key = DataReader.optString(rule, EdgeBridgeConstants.MappingKeys.KEY, null);
+		final String prefix = DataReader.optString(rule, EdgeBridgeConstants.MappingKeys.PREFIX, null);
+		final Target target = Target.fromString(
+			DataReader.optString(rule, EdgeBridgeConstants.MappingKeys.TO, null)
+		);
+		final String outputName = DataReader.optString(rule, EdgeBridgeConstants.MappingKeys.AS, null);
+
+		if (target == null || StringUtils.isNullOrEmpty(key) == StringUtils.isNullOrEmpty(prefix)) {
+			Log.debug(LOG_TAG, LOG_SOURCE, "Skipping invalid mapping rule %s.", rule);
+			return;
+		}
+
+		final String name = StringUtils.isNullOrEmpty(outputName) ? null : outputName;
+
+		if (!StringUtils.isNullOrEmpty(key)) {
+			final String exactName = name != null ? name : key;
+			final String[] xdmPath = target == Target.XDM ? splitPath(exactName) : null;
+			exactRoutes.put(key, new Route(target, true, exactName, xdmPath, 0));
+		} else {
+			// For prefix rules the name replaces the matched prefix, or prefixes the XDM path
+			final String[] xdmPath = target == Target.XDM ? splitPath(name) : null;
+			final String prefixName = target == Target.XDM ? null : name;
+			prefixes.put(prefix, new Route(target, false, prefixName, xdmPath, prefix.length()));
+		}
+	}
+
+	private static String[] splitPath(final String path) {
+		if (StringUtils.isNullOrEmpty(path)) {
+			return null;
+		}
+
+		final String[] segments = path.split("\\.");
+		for (String segment : segments) {
+			if (segment.isEmpty()) {
+				return null;
+			}
+		}
+		return segments;
+	}
+}
@@ -0,0 +1,338 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.util.DataReader;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounds the size of track event data and rule consequence details before they are copied.
+ * <p>
+ * A pre-scan walks the payload once, counting map entries at all levels, tracking the nesting depth
+ * and estimating the serialized JSON size, and stops as soon as a configured limit is exceeded. A
+ * payload within the limits is admitted unchanged. An oversized payload is handled by the configured
+ * {@link Policy}: rejected, or truncated to the entries which fit. When truncating, the action and
+ * state are always kept, context data entries are kept in iteration order while they fit, and other
+ * entries are kept if they fit whole. Context data entries which are not strings are left out, as
+ * they are not bridged. Oversized payloads are never split into several requests, as Analytics
+ * would count each part as a separate page view or link.
+ */
+final class PayloadAdmission {
+
+	/**
+	 * How payloads exceeding a limit are handled.
+	 */
+	enum Policy {
+		REJECT("reject"),
+		TRUNCATE("truncate");
+
+		private final String value;
+
+		Policy(final String value) {
+			this.value = value;
+		}
+
+		static Policy fromString(final String value) {
+			for (Policy policy : values()) {
+				if (policy.value.equals(value)) {
+					return policy;
+				}
+			}
+			return REJECT;
+		}
+	}
+
+	static final PayloadAdmission UNLIMITED = new PayloadAdmission(0, 0, 0L, Policy.REJECT);
+
+	// Estimated serialized size of a number, boolean or null value
+	private static final int SCALAR_BYTES = 8;
+
+	private static final String[] BASE_KEYS = {
+		EdgeBridgeConstants.MobileCoreKeys.ACTION,
+		EdgeBridgeConstants.MobileCoreKeys.STATE,
+	};
+
+	private final int maxKeys;
+	private final int maxDepth;
+	private final long maxBytes;
+	private final Policy policy;
+
+	private PayloadAdmission(final int maxKeys, final int maxDepth, final long maxBytes, final Policy policy) {
+		this.maxKeys = maxKeys;
+		this.maxDepth = maxDepth;
+		this.maxBytes = maxBytes;
+		this.policy = policy;
+	}
+
+	/**
+	 * Reads the payload limits from the configuration. Missing or non-positive limits are not applied.
+	 *
+	 * @param configuration the Configuration shared state
+	 * @return the {@link PayloadAdmission}, or {@link #UNLIMITED} if no limit is configured
+	 */
+	@NonNull static PayloadAdmission fromConfiguration(@Nullable final Map<String, Object> configuration) {
+		final int maxKeys = DataReader.optInt(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.MAX_PAYLOAD_KEYS,
+			EdgeBridgeConstants.Defaults.MAX_PAYLOAD_KEYS
+		);
+		final int maxDepth = DataReader.optInt(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.MAX_PAYLOAD_DEPTH,
+			EdgeBridgeConstants.Defaults.MAX_PAYLOAD_DEPTH
+		);
+		final long maxBytes = DataReader.optLong(
+			configuration,
+			EdgeBridgeConstants.ConfigurationKeys.MAX_PAYLOAD_BYTES,
+			EdgeBridgeConstants.Defaults.MAX_PAYLOAD_BYTES
+		);
+		final Policy policy = Policy.fromString(
+			DataReader.optString(configuration, EdgeBridgeConstants.ConfigurationKeys.OVERSIZE_POLICY, null)
+		);
+
+		if (maxKeys <= 0 && maxDepth <= 0 && maxBytes <= 0) {
+			return UNLIMITED;
+		}
+
+		return new PayloadAdmission(
+			Math.max(0, Math.min(maxKeys, EdgeBridgeConstants.Defaults.MAX_MAX_PAYLOAD_KEYS)),
+			Math.max(0, Math.min(maxDepth, EdgeBridgeConstants.Defaults.MAX_MAX_PAYLOAD_DEPTH)),
+			Math.max(0, Math.min(maxBytes, EdgeBridgeConstants.Defaults.MAX_MAX_PAYLOAD_BYTES)),
+			policy
+		);
+	}
+
+	/**
+	 * @return true if no limit is configured, so payloads are not scanned
+	 */
+	boolean isUnlimited() {
+		return this == UNLIMITED;
+	}
+
+	/**
+	 * @return the policy for payloads exceeding a limit
+	 */
+	@NonNull Policy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Scans the payload, stopping at the first exceeded limit.
+	 *
+	 * @param payload the track event data or consequence detail
+	 * @return true if the payload is within all limits
+	 */
+	boolean fits(@NonNull final Map<String, Object> payload) {
+		return isUnlimited() || scan(payload, 1, new Budget(this));
+	}
+
+	/**
+	 * Fits the payload within the limits according to the policy. The payload should not fit, as
+	 * checked by {@link #fits(Map)}.
+	 *
+	 * @param payload the oversized track event data or consequence detail
+	 * @return the truncated payload, or null if the policy is {@link Policy#REJECT} or the action and
+	 * state alone do not fit
+	 */
+	@Nullable Map<String, Object> fit(@NonNull final Map<String, Object> payload) {
+		return policy == Policy.TRUNCATE ? truncate(payload) : null;
+	}
+
+	/**
+	 * Truncates the payload to the entries which fit within the limits.
+	 */
+	private Map<String, Object> truncate(final Map<String, Object> payload) {
+		Budget budget = new Budget(this);
+		// Braces of the top-level object
+		budget.bytes -= 2;
+
+		// The action and state make Analytics count the track call, so they are always kept
+		final Map<String, Object> truncated = new HashMap<>();
+		for (String key : BASE_KEYS) {
+			final Object value = payload.get(key);
+			if (value == null) {
+				continue;
+			}
+			if (!addEntry(key, value, 2, budget)) {
+				return null;
+			}
+			truncated.put(key, value);
+		}
+
+		// Other entries are kept whole
+		for (Map.Entry<String, Object> entry : payload.entrySet()) {
+			final String key = entry.getKey();
+			if (
+				EdgeBridgeConstants.MobileCoreKeys.ACTION.equals(key) ||
+				EdgeBridgeConstants.MobileCoreKeys.STATE.equals(key) ||
+				EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA.equals(key)
+			) {
+				continue;
+			}
+
+			final Budget entryBudget = budget.copy();
+			if (addEntry(key, entry.getValue(), 2, entryBudget)) {
+				truncated.put(key, entry.getValue());
+				budget = entryBudget;
+			}
+		}
+
+		final Object contextData = payload.get(EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA);
+		if (contextData instanceof Map) {
+			final Map<String, Object> truncatedContextData = new HashMap<>();
+			final Budget contextDataBudget = reserveContextData(budget);
+
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) contextData).entrySet()) {
+				if (entry.getKey() instanceof String && entry.getValue() instanceof String) {
+					addContextDataEntry(
+						(String) entry.getKey(),
+						entry.getValue(),
+						truncatedContextData,
+						contextDataBudget
+					);
+				}
+			}
+
+			if (!truncatedContextData.isEmpty()) {
+				truncated.put(EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA, truncatedContextData);
+			}
+		}
+
+		return truncated;
+	}
+
+	/**
+	 * @return a copy of the budget with the context data key and object accounted for, or null if they do not fit
+	 */
+	private Budget reserveContextData(final Budget budget) {
+		final Budget contextDataBudget = budget.copy();
+		return addEntry(EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA, Collections.emptyMap(), 2, contextDataBudget)
+			? contextDataBudget
+			: null;
+	}
+
+	/**
+	 * Adds a context data entry to the truncated context data if it fits within the budget, which is
+	 * then updated.
+	 *
+	 * @return true if the entry was added
+	 */
+	private boolean addContextDataEntry(
+		final String key,
+		final Object value,
+		final Map<String, Object> truncatedContextData,
+		final Budget budget
+	) {
+		if (budget == null) {
+			return false;
+		}
+
+		final Budget entryBudget = budget.copy();
+		if (!addEntry(key, value, 3, entryBudget)) {
+			return false;
+		}
+
+		truncatedContextData.put(key, value);
+		budget.keys = entryBudget.keys;
+		budget.bytes = entryBudget.bytes;
+		return true;
+	}
+
+	/**
+	 * Accounts for a map entry, including its value at the given depth, against the budget.
+	 *
+	 * @return true if the entry fits within the remaining budget
+	 */
+	private boolean addEntry(final String key, final Object value, final int depth, final Budget budget) {
+		budget.keys--;
+		// Quotes, colon and separator around the key
+		budget.bytes -= key.length() + 4;
+		return budget.isValid() && scan(value, depth, budget);
+	}
+
+	/**
+	 * Scans a value against the remaining budget; maps and collections at the given depth count
+	 * against the maximum depth, where the payload itself is at depth 1.
+	 *
+	 * @return false as soon as a limit is exceeded
+	 */
+	private boolean scan(final Object value, final int depth, final Budget budget) {
+		if (value instanceof String) {
+			budget.bytes -= ((String) value).length() + 2;
+			return budget.isValid();
+		}
+
+		if (value instanceof Map) {
+			if (maxDepth > 0 && depth > maxDepth) {
+				return false;
+			}
+			budget.bytes -= 2;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!addEntry(String.valueOf(entry.getKey()), entry.getValue(), depth + 1, budget)) {
+					return false;
+				}
+			}
+			return budget.isValid();
+		}
+
+		if (value instanceof Collection) {
+			if (maxDepth > 0 && depth > maxDepth) {
+				return false;
+			}
+			budget.bytes -= 2;
+			for (Object element : (Collection<?>) value) {
+				budget.bytes -= 1;
+				if (!scan(element, depth + 1, budget)) {
+					return false;
+				}
+			}
+			return budget.isValid();
+		}
+
+		budget.bytes -= SCALAR_BYTES;
+		return budget.isValid();
+	}
+
+	/**
+	 * The remaining number of keys and bytes; unlimited values are kept at {@link Long#MAX_VALUE}.
+	 */
+	private static final class Budget {
+
+		private long keys;
+		private long bytes;
+
+		Budget(final PayloadAdmission admission) {
+			this(
+				admission.maxKeys > 0 ? admission.maxKeys : Long.MAX_VALUE,
+				admission.maxBytes > 0 ? admission.maxBytes : Long.MAX_VALUE
+			);
+		}
+
+		private Budget(final long keys, final long bytes) {
+			this.keys = keys;
+			this.bytes = bytes;
+		}
+
+		boolean isValid() {
+			return keys >= 0 && bytes >= 0;
+		}
+
+		Budget copy() {
+			return new Budget(keys, bytes);
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie mapping string prefixes to values.
+ * <p>
+ * Children are kept in parallel arrays, which are scanned linearly as prefixes share few distinct
+ * characters at each position. Lookups walk the key once and allocate nothing.
+ *
+ * @param <V> the type of the values
+ */
+final class PrefixTrie<V> {
+
+	private final Node<V> root;
+
+	private PrefixTrie(final Node<V> root) {
+		this.root = root;
+	}
+
+	/**
+	 * Builds a trie of the given prefixes.
+	 *
+	 * @param prefixes the prefixes and their values
+	 * @param <V> the type of the values
+	 * @return the {@link PrefixTrie}
+	 */
+	@NonNull static <V> PrefixTrie<V> build(@NonNull final Map<String, V> prefixes) {
+		final PendingNode<V> pendingRoot = new PendingNode<>();
+		for (Map.Entry<String, V> entry : prefixes.entrySet()) {
+			pendingRoot.insert(entry.getKey(), entry.getValue());
+		}
+		return new PrefixTrie<>(pendingRoot.freeze());
+	}
+
+	/**
+	 * @return true if the trie has no prefixes
+	 */
+	boolean isEmpty() {
+		return root.value == null && root.keys.length == 0;
+	}
+
+	/**
+	 * @param key the key to match
+	 * @return the value of the longest prefix of {@code key} in the trie, or null if none
+	 */
+	@Nullable V longestMatch(@NonNull final String key) {
+		V match = root.value;
+		Node<V> node = root;
+		for (int i = 0; i < key.length() && node != null; i++) {
+			node = node.child(key.charAt(i));
+			if (node != null && node.value != null) {
+				match = node.value;
+			}
+		}
+		return match;
+	}
+
+	private static final class Node<V> {
+
+		private final char[] keys;
+		private final Node<V>[] children;
+		private final V value;
+
+		Node(final char[] keys, final Node<V>[] children, final V value) {
+			this.keys = keys;
+			this.children = children;
+			this.value = value;
+		}
+
+		Node<V> child(final char c) {
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] == c) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+	}
+
+	private static final class PendingNode<V> {
+
+		private final Map<Character, PendingNode<V>> children = new TreeMap<>();
+		private V value;
+
+		void insert(final String prefix, final V prefixValue) {
+			PendingNode<V> node = this;
+			for (int i = 0; i < prefix.length(); i++) {
+				PendingNode<V> child = node.children.get(prefix.charAt(i));
+				if (child == null) {
+					child = new PendingNode<>();
+					node.children.put(prefix.charAt(i), child);
+				}
+				node = child;
+			}
+			node.value = prefixValue;
+		}
+
+		@SuppressWarnings("unchecked")
+		Node<V> freeze() {
+			final char[] keys = new char[children.size()];
+			final Node<V>[] frozenChildren = new Node[children.size()];
+			int i = 0;
+			for (Map.Entry<Character, PendingNode<V>> entry : children.entrySet()) {
+				keys[i] = entry.getKey();
+				frozenChildren[i] = entry.getValue().freeze();
+				i++;
+			}
+			return new Node<>(keys, frozenChildren, value);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+/**
+ * Tracks the recent number of entries of a map built for every event, so the next map can be
+ * created with enough capacity to never resize.
+ * <p>
+ * The hint follows increases immediately and decays by an eighth on each smaller observation, so a
+ * single large event does not keep later maps oversized. Safe to use from concurrent callers; the
+ * hint is approximate.
+ */
+final class SizeHint {
+
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private final int maxSize;
+	private volatile int size;
+
+	/**
+	 * @param maxSize the largest size hinted, so a pathological event does not inflate later maps
+	 */
+	SizeHint(final int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * @param observedSize the number of entries of the map built for the latest event
+	 */
+	void record(final int observedSize) {
+		final int currentSize = size;
+		final int boundedSize = Math.min(observedSize, maxSize);
+		if (boundedSize >= currentSize) {
+			size = boundedSize;
+		} else {
+			size = currentSize - Math.max(1, currentSize >> 3);
+		}
+	}
+
+	/**
+	 * @return the hinted number of entries
+	 */
+	int expectedSize() {
+		return size;
+	}
+
+	/**
+	 * @return the initial {@link java.util.HashMap} capacity for the hinted number of entries
+	 */
+	int capacity() {
+		return (int) (size / LOAD_FACTOR) + 1;
+	}
+}
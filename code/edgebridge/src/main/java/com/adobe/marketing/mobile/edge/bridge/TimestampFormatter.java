@@ -0,0 +1,124 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import com.adobe.marketing.mobile.util.TimeUtils;
+import java.util.Date;
+
+/**
+ * Formats timestamps as ISO-8601 UTC date strings with millisecond precision, for example
+ * {@code 2024-05-01T12:34:56.789Z}, matching {@link TimeUtils#getISO8601UTCDateWithMilliseconds(Date)}.
+ * <p>
+ * The rendered date and time up to the second is cached, so timestamps within the same second only
+ * append the milliseconds. Safe to use from concurrent callers.
+ */
+final class TimestampFormatter {
+
+	private static final long MILLIS_PER_SECOND = 1000L;
+	private static final long SECONDS_PER_DAY = 86400L;
+	// First millisecond of year 10000; later timestamps do not fit the 4 digit year format
+	private static final long MAX_FORMATTED_TIMESTAMP = 253402300800000L;
+	// Length of "yyyy-MM-ddTHH:mm:ss"
+	private static final int PREFIX_LENGTH = 19;
+	// Length of "yyyy-MM-ddTHH:mm:ss.SSSZ"
+	private static final int TIMESTAMP_LENGTH = PREFIX_LENGTH + 5;
+
+	private static volatile CachedSecond cachedSecond;
+
+	private TimestampFormatter() {}
+
+	/**
+	 * Formats the given timestamp as an ISO-8601 UTC date string with milliseconds.
+	 *
+	 * @param timestampMillis the timestamp in milliseconds since the Unix epoch
+	 * @return the formatted date string
+	 */
+	@NonNull static String format(final long timestampMillis) {
+		if (timestampMillis < 0 || timestampMillis >= MAX_FORMATTED_TIMESTAMP) {
+			return TimeUtils.getISO8601UTCDateWithMilliseconds(new Date(timestampMillis));
+		}
+
+		final long epochSecond = timestampMillis / MILLIS_PER_SECOND;
+		final int millis = (int) (timestampMillis % MILLIS_PER_SECOND);
+
+		CachedSecond cached = cachedSecond;
+		if (cached == null || cached.epochSecond != epochSecond) {
+			cached = new CachedSecond(epochSecond, renderPrefix(epochSecond));
+			cachedSecond = cached;
+		}
+
+		final char[] chars = new char[TIMESTAMP_LENGTH];
+		System.arraycopy(cached.prefix, 0, chars, 0, PREFIX_LENGTH);
+		chars[PREFIX_LENGTH] = '.';
+		chars[PREFIX_LENGTH + 1] = (char) ('0' + millis / 100);
+		chars[PREFIX_LENGTH + 2] = (char) ('0' + (millis / 10) % 10);
+		chars[PREFIX_LENGTH + 3] = (char) ('0' + millis % 10);
+		chars[PREFIX_LENGTH + 4] = 'Z';
+		return new String(chars);
+	}
+
+	/**
+	 * Renders "yyyy-MM-ddTHH:mm:ss" for a non-negative epoch second, using the proleptic Gregorian
+	 * calendar (civil from days algorithm).
+	 */
+	private static char[] renderPrefix(final long epochSecond) {
+		final long days = epochSecond / SECONDS_PER_DAY;
+		final int secondOfDay = (int) (epochSecond % SECONDS_PER_DAY);
+
+		final long shiftedDays = days + 719468; // days from 0000-03-01 to 1970-01-01
+		final long era = shiftedDays / 146097;
+		final long dayOfEra = shiftedDays - era * 146097;
+		final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		final long shiftedMonth = (5 * dayOfYear + 2) / 153;
+		final int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+		final int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+		final int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+		final char[] prefix = new char[PREFIX_LENGTH];
+		writeDigits(prefix, 0, year, 4);
+		prefix[4] = '-';
+		writeDigits(prefix, 5, month, 2);
+		prefix[7] = '-';
+		writeDigits(prefix, 8, day, 2);
+		prefix[10] = 'T';
+		writeDigits(prefix, 11, secondOfDay / 3600, 2);
+		prefix[13] = ':';
+		writeDigits(prefix, 14, (secondOfDay / 60) % 60, 2);
+		prefix[16] = ':';
+		writeDigits(prefix, 17, secondOfDay % 60, 2);
+		return prefix;
+	}
+
+	private static void writeDigits(final char[] chars, final int offset, final int value, final int width) {
+		int remaining = value;
+		for (int i = offset + width - 1; i >= offset; i--) {
+			chars[i] = (char) ('0' + remaining % 10);
+			remaining /= 10;
+		}
+	}
+
+	/**
+	 * Immutable pairing of an epoch second and its rendered prefix, published through a volatile field.
+	 */
+	private static final class CachedSecond {
+
+		private final long epochSecond;
+		private final char[] prefix;
+
+		CachedSecond(final long epochSecond, final char[] prefix) {
+			this.epochSecond = epochSecond;
+			this.prefix = prefix;
+		}
+	}
+}
@@ -0,0 +1,265 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import static com.adobe.marketing.mobile.edge.bridge.EdgeBridgeConstants.LOG_TAG;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.util.StringUtils;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A track request sent to the Edge Network with {@link EdgeBridge#track(TrackRequest)}.
+ * <p>
+ * The request holds the track action or state name, the context data, and the Analytics variables
+ * which would be set as {@code &&} prefixed context data keys in a track call. The values are
+ * validated once when the request is built, and the request is sent in its track event data form,
+ * which the Edge Bridge extension formats without routing each context data key. Requests are
+ * immutable.
+ */
+public final class TrackRequest {
+
+	private static final String LOG_SOURCE = "TrackRequest";
+
+	private final String action;
+	private final String state;
+	private final Map<String, String> contextData;
+	private final Map<String, String> analyticsData;
+	private final Map<String, Object> eventData;
+
+	private TrackRequest(
+		final String action,
+		final String state,
+		final Map<String, String> contextData,
+		final Map<String, String> analyticsData
+	) {
+		this.action = action;
+		this.state = state;
+		this.contextData = contextData;
+		this.analyticsData = analyticsData;
+		this.eventData = createEventData(action, state, contextData, analyticsData);
+	}
+
+	/**
+	 * @return the track action name, or null if not set
+	 */
+	@Nullable public String getAction() {
+		return action;
+	}
+
+	/**
+	 * @return the track state name, or null if not set
+	 */
+	@Nullable public String getState() {
+		return state;
+	}
+
+	/**
+	 * @return the read-only context data
+	 */
+	@NonNull public Map<String, String> getContextData() {
+		return contextData;
+	}
+
+	/**
+	 * @return the read-only Analytics variables, keyed by variable name without the {@code &&} prefix
+	 */
+	@NonNull public Map<String, String> getAnalyticsData() {
+		return analyticsData;
+	}
+
+	/**
+	 * @return true if the request has no action, state, context data or Analytics variables to send
+	 */
+	boolean isEmpty() {
+		return action == null && state == null && contextData.isEmpty() && analyticsData.isEmpty();
+	}
+
+	/**
+	 * Returns the request as track event data, with the Analytics variables as {@code &&} prefixed
+	 * context data keys. This is the data of the event dispatched by {@link EdgeBridge#track(TrackRequest)},
+	 * and is also used for the settings which apply to the generic event data, such as payload limits
+	 * and mapping rules.
+	 *
+	 * @return the read-only track event data
+	 */
+	@NonNull Map<String, Object> toEventData() {
+		return eventData;
+	}
+
+	private static Map<String, Object> createEventData(
+		final String action,
+		final String state,
+		final Map<String, String> contextData,
+		final Map<String, String> analyticsData
+	) {
+		final Map<String, Object> data = new HashMap<>();
+		if (action != null) {
+			data.put(EdgeBridgeConstants.MobileCoreKeys.ACTION, action);
+		}
+		if (state != null) {
+			data.put(EdgeBridgeConstants.MobileCoreKeys.STATE, state);
+		}
+		if (!contextData.isEmpty() || !analyticsData.isEmpty()) {
+			final Map<String, Object> allContextData = new HashMap<>(contextData);
+			for (Map.Entry<String, String> entry : analyticsData.entrySet()) {
+				allContextData.put(EdgeBridgeConstants.AnalyticsValues.PREFIX + entry.getKey(), entry.getValue());
+			}
+			data.put(EdgeBridgeConstants.MobileCoreKeys.CONTEXT_DATA, Collections.unmodifiableMap(allContextData));
+		}
+		return Collections.unmodifiableMap(data);
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof TrackRequest)) {
+			return false;
+		}
+
+		final TrackRequest otherRequest = (TrackRequest) other;
+		return (
+			(action == null ? otherRequest.action == null : action.equals(otherRequest.action)) &&
+			(state == null ? otherRequest.state == null : state.equals(otherRequest.state)) &&
+			contextData.equals(otherRequest.contextData) &&
+			analyticsData.equals(otherRequest.analyticsData)
+		);
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = action == null ? 0 : action.hashCode();
+		hash = 31 * hash + (state == null ? 0 : state.hashCode());
+		hash = 31 * hash + contextData.hashCode();
+		return 31 * hash + analyticsData.hashCode();
+	}
+
+	/**
+	 * Builds a {@link TrackRequest}.
+	 */
+	public static final class Builder {
+
+		private String action;
+		private String state;
+		private Map<String, String> contextData;
+		private Map<String, String> analyticsData;
+
+		/**
+		 * Sets the track action name, sent as the Analytics link name.
+		 *
+		 * @param action the action name
+		 * @return this {@link Builder}
+		 */
+		@NonNull public Builder setAction(@Nullable final String action) {
+			this.action = action;
+			return this;
+		}
+
+		/**
+		 * Sets the track state name, sent as the Analytics page name.
+		 *
+		 * @param state the state name
+		 * @return this {@link Builder}
+		 */
+		@NonNull public Builder setState(@Nullable final String state) {
+			this.state = state;
+			return this;
+		}
+
+		/**
+		 * Sets the context data, sent as Analytics context data. Keys with the {@code &&} prefix are
+		 * treated as Analytics variables, see {@link #setAnalyticsData(Map)}.
+		 *
+		 * @param contextData the context data
+		 * @return this {@link Builder}
+		 */
+		@NonNull public Builder setContextData(@Nullable final Map<String, String> contextData) {
+			this.contextData = contextData;
+			return this;
+		}
+
+		/**
+		 * Sets the Analytics variables, such as {@code events}, {@code products} or {@code eVar1},
+		 * keyed by variable name without the {@code &&} prefix.
+		 *
+		 * @param analyticsData the Analytics variables
+		 * @return this {@link Builder}
+		 */
+		@NonNull public Builder setAnalyticsData(@Nullable final Map<String, String> analyticsData) {
+			this.analyticsData = analyticsData;
+			return this;
+		}
+
+		/**
+		 * Builds the request. Empty action and state names, and entries with an empty key or a null
+		 * value, are dropped. The builder may be reused afterwards.
+		 *
+		 * @return the {@link TrackRequest}
+		 */
+		@NonNull public TrackRequest build() {
+			final Map<String, String> validContextData = new HashMap<>();
+			final Map<String, String> validAnalyticsData = new HashMap<>();
+
+			if (analyticsData != null) {
+				for (Map.Entry<String, String> entry : analyticsData.entrySet()) {
+					putValid(validAnalyticsData, entry.getKey(), entry.getValue());
+				}
+			}
+
+			if (contextData != null) {
+				for (Map.Entry<String, String> entry : contextData.entrySet()) {
+					final String key = entry.getKey();
+					if (key != null && key.startsWith(EdgeBridgeConstants.AnalyticsValues.PREFIX)) {
+						putValid(
+							validAnalyticsData,
+							key.substring(EdgeBridgeConstants.AnalyticsValues.PREFIX.length()),
+							entry.getValue()
+						);
+					} else {
+						putValid(validContextData, key, entry.getValue());
+					}
+				}
+			}
+
+			return new TrackRequest(
+				StringUtils.isNullOrEmpty(action) ? null : action,
+				StringUtils.isNullOrEmpty(state) ? null : state,
+				validContextData.isEmpty()
+					? Collections.<String, String>emptyMap()
+					: Collections.unmodifiableMap(validContextData),
+				validAnalyticsData.isEmpty()
+					? Collections.<String, String>emptyMap()
+					: Collections.unmodifiableMap(validAnalyticsData)
+			);
+		}
+
+		private static void putValid(final Map<String, String> data, final String key, final String value) {
+			if (StringUtils.isNullOrEmpty(key) || value == null) {
+				Log.debug(
+					LOG_TAG,
+					LOG_SOURCE,
+					"Dropping Key(%s) with Value(%s). Key must be a non-empty String and Value must not be null.",
+					key,
+					value
+				);
+				return;
+			}
+			data.put(key, value);
+		}
+	}
+}
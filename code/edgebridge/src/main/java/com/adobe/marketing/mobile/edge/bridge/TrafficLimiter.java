@@ -0,0 +1,253 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.util.DataReader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the configured sampling rates and token-bucket rate limits to bridged events.
+ * <p>
+ * Limits are configured per action name, per state name, and for all rules engine events, in
+ * addition to the sample rate which applies to all bridged events. An event is first sampled with
+ * every applicable rate, and only sampled-in events take a token from the buckets, so sampling does
+ * not consume the rate limits. A track event with both an action and a state must pass both limits,
+ * and the action token is returned if the state limit rejects the event. The outcome of every event
+ * subject to a configured limit is counted per action name, state name or for rules engine events
+ * in the {@link EdgeBridgeMetrics}, so the share of bridged events can be corrected for. Token
+ * buckets start full and are reset when the configuration changes. Accessed only from the event hub
+ * thread.
+ */
+class TrafficLimiter {
+
+	/**
+	 * Immutable sampling rate and rate limit settings.
+	 */
+	static final class Limit {
+
+		private final double sampleRate;
+		private final double ratePerSecond;
+		private final int burst;
+
+		@VisibleForTesting
+		Limit(final double sampleRate, final double ratePerSecond, final int burst) {
+			this.sampleRate = sampleRate;
+			this.ratePerSecond = ratePerSecond;
+			this.burst = burst;
+		}
+
+		/**
+		 * Creates a limit from its configuration map. A missing or invalid sample rate defaults to
+		 * 1 (no sampling), a missing or non-positive rate disables the rate limit, and the burst
+		 * defaults to one second of tokens.
+		 *
+		 * @param limit the limit configuration map
+		 * @return the {@link Limit}, or null if the map is null or sets no sampling or rate limit
+		 */
+		@Nullable static Limit fromMap(@Nullable final Map<String, Object> limit) {
+			if (limit == null) {
+				return null;
+			}
+
+			final double sampleRate = Math.max(
+				0,
+				Math.min(1, DataReader.optDouble(limit, EdgeBridgeConstants.LimitKeys.SAMPLE_RATE, 1))
+			);
+			final double ratePerSecond = Math.max(
+				0,
+				DataReader.optDouble(limit, EdgeBridgeConstants.LimitKeys.RATE_PER_SECOND, 0)
+			);
+			final int burst = Math.max(
+				1,
+				DataReader.optInt(limit, EdgeBridgeConstants.LimitKeys.BURST, (int) Math.ceil(ratePerSecond))
+			);
+
+			if (sampleRate >= 1 && ratePerSecond <= 0) {
+				return null;
+			}
+			return new Limit(sampleRate, ratePerSecond, burst);
+		}
+	}
+
+	private final EdgeBridgeMetrics metrics;
+	private final Random random;
+
+	private Map<String, Bucket> actionBuckets = Collections.emptyMap();
+	private Map<String, Bucket> stateBuckets = Collections.emptyMap();
+	private Bucket rulesEngineBucket;
+
+	TrafficLimiter(@NonNull final EdgeBridgeMetrics metrics) {
+		this(metrics, new Random());
+	}
+
+	@VisibleForTesting
+	TrafficLimiter(@NonNull final EdgeBridgeMetrics metrics, @NonNull final Random random) {
+		this.metrics = metrics;
+		this.random = random;
+	}
+
+	/**
+	 * Replaces the limits with those from the configuration and resets all token buckets.
+	 *
+	 * @param configuration the current {@link EdgeBridgeConfiguration}
+	 */
+	void configure(@NonNull final EdgeBridgeConfiguration configuration) {
+		actionBuckets = createBuckets(configuration.getActionLimits());
+		stateBuckets = createBuckets(configuration.getStateLimits());
+		rulesEngineBucket =
+			configuration.getRulesEngineLimit() != null ? new Bucket(configuration.getRulesEngineLimit()) : null;
+	}
+
+	/**
+	 * Applies the sample rate and the limits of the track event's action and state.
+	 *
+	 * @param action the track action name, may be null
+	 * @param state the track state name, may be null
+	 * @param sampleRate the fraction, from 0 to 1, of all bridged events to keep
+	 * @param receivedNanos the {@link System#nanoTime()} at which the event was received
+	 * @return the reason the event is suppressed, or null if it should be bridged
+	 */
+	@Nullable EdgeBridgeMetrics.DropReason checkTrack(
+		@Nullable final String action,
+		@Nullable final String state,
+		final double sampleRate,
+		final long receivedNanos
+	) {
+		final Bucket actionBucket = action != null ? actionBuckets.get(action) : null;
+		final Bucket stateBucket = state != null ? stateBuckets.get(state) : null;
+
+		final EdgeBridgeMetrics.DropReason reason = check(actionBucket, stateBucket, sampleRate, receivedNanos);
+		if (actionBucket != null) {
+			metrics.recordLimited(EdgeBridgeMetrics.LimitScope.ACTION, action, reason);
+		}
+		if (stateBucket != null) {
+			metrics.recordLimited(EdgeBridgeMetrics.LimitScope.STATE, state, reason);
+		}
+		return reason;
+	}
+
+	/**
+	 * Applies the sample rate and the rules engine limit.
+	 *
+	 * @param sampleRate the fraction, from 0 to 1, of all bridged events to keep
+	 * @param receivedNanos the {@link System#nanoTime()} at which the event was received
+	 * @return the reason the event is suppressed, or null if it should be bridged
+	 */
+	@Nullable EdgeBridgeMetrics.DropReason checkRulesEngine(final double sampleRate, final long receivedNanos) {
+		final Bucket bucket = rulesEngineBucket;
+		final EdgeBridgeMetrics.DropReason reason = check(bucket, null, sampleRate, receivedNanos);
+		if (bucket != null) {
+			metrics.recordLimited(EdgeBridgeMetrics.LimitScope.RULES_ENGINE, null, reason);
+		}
+		return reason;
+	}
+
+	private EdgeBridgeMetrics.DropReason check(
+		final Bucket bucket,
+		final Bucket otherBucket,
+		final double sampleRate,
+		final long receivedNanos
+	) {
+		if (
+			isSampledOut(sampleRate) ||
+			(bucket != null && isSampledOut(bucket.limit.sampleRate)) ||
+			(otherBucket != null && isSampledOut(otherBucket.limit.sampleRate))
+		) {
+			return EdgeBridgeMetrics.DropReason.SAMPLED;
+		}
+
+		if (bucket != null && !bucket.acquire(receivedNanos)) {
+			return EdgeBridgeMetrics.DropReason.RATE_LIMITED;
+		}
+		if (otherBucket != null && !otherBucket.acquire(receivedNanos)) {
+			if (bucket != null) {
+				// The event is not bridged, so it does not count against the first limit
+				bucket.release();
+			}
+			return EdgeBridgeMetrics.DropReason.RATE_LIMITED;
+		}
+		return null;
+	}
+
+	private boolean isSampledOut(final double sampleRate) {
+		return sampleRate < 1 && random.nextDouble() >= sampleRate;
+	}
+
+	private static Map<String, Bucket> createBuckets(final Map<String, Limit> limits) {
+		if (limits.isEmpty()) {
+			return Collections.emptyMap();
+		}
+
+		final Map<String, Bucket> buckets = new HashMap<>();
+		for (Map.Entry<String, Limit> entry : limits.entrySet()) {
+			buckets.put(entry.getKey(), new Bucket(entry.getValue()));
+		}
+		return buckets;
+	}
+
+	/**
+	 * Sampling and token-bucket state of one {@link Limit}.
+	 */
+	private static final class Bucket {
+
+		private final Limit limit;
+		private double tokens;
+		private long lastRefillNanos;
+		private boolean started;
+
+		Bucket(final Limit limit) {
+			this.limit = limit;
+			this.tokens = limit.burst;
+		}
+
+		/**
+		 * Takes a token from the bucket, if the limit sets a rate.
+		 *
+		 * @param nowNanos the {@link System#nanoTime()} at which the event was received
+		 * @return true if a token was taken or the limit sets no rate, false if the bucket is empty
+		 */
+		boolean acquire(final long nowNanos) {
+			if (limit.ratePerSecond <= 0) {
+				return true;
+			}
+
+			if (started) {
+				final double elapsedSeconds = (nowNanos - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+				tokens = Math.min(limit.burst, tokens + elapsedSeconds * limit.ratePerSecond);
+			}
+			started = true;
+			lastRefillNanos = nowNanos;
+
+			if (tokens < 1) {
+				return false;
+			}
+			tokens -= 1;
+			return true;
+		}
+
+		/**
+		 * Returns a token taken by {@link #acquire(long)}.
+		 */
+		void release() {
+			if (limit.ratePerSecond > 0) {
+				tokens = Math.min(limit.burst, tokens + 1);
+			}
+		}
+	}
+}
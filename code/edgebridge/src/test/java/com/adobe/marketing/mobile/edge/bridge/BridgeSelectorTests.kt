@@ -0,0 +1,108 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.After
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class BridgeSelectorTests {
+
+    @After
+    fun teardown() {
+        BridgeSelector.setRegisteredPredicate(null)
+    }
+
+    @Test
+    fun testFromConfiguration_noSettings_returnsDefault() {
+        assertSame(BridgeSelector.DEFAULT, BridgeSelector.fromConfiguration(null))
+        assertSame(BridgeSelector.DEFAULT, BridgeSelector.fromConfiguration(mapOf("edgebridge.bridgeActions" to emptyList<String>())))
+    }
+
+    @Test
+    fun testSelect_default_selectsAllCalls() {
+        assertTrue(BridgeSelector.DEFAULT.select("action", null, false))
+        assertTrue(BridgeSelector.DEFAULT.select(null, "state", true))
+        assertTrue(BridgeSelector.DEFAULT.select(null, null, false))
+    }
+
+    @Test
+    fun testSelect_bridgeTrackFalse_selectsOnlyRuleConsequences() {
+        val selector = BridgeSelector.fromConfiguration(mapOf("edgebridge.bridgeTrack" to false))
+
+        assertFalse(selector.select("action", null, false))
+        assertTrue(selector.select("action", null, true))
+    }
+
+    @Test
+    fun testSelect_bridgeRulesEngineFalse_selectsOnlyTrackRequests() {
+        val selector = BridgeSelector.fromConfiguration(mapOf("edgebridge.bridgeRulesEngine" to false))
+
+        assertTrue(selector.select("action", null, false))
+        assertFalse(selector.select("action", null, true))
+    }
+
+    @Test
+    fun testSelect_actionList_selectsMatchingActions() {
+        val selector = BridgeSelector.fromConfiguration(mapOf("edgebridge.bridgeActions" to listOf("purchase", "cart.*")))
+
+        assertTrue(selector.select("purchase", null, false))
+        assertTrue(selector.select("cart.add", null, false))
+        assertFalse(selector.select("scroll", null, false))
+        assertTrue(selector.select(null, "home", false))
+    }
+
+    @Test
+    fun testSelect_statePattern_selectsMatchingStates() {
+        val selector = BridgeSelector.fromConfiguration(mapOf("edgebridge.bridgeStates" to listOf("checkout*", "*:migrated")))
+
+        assertTrue(selector.select(null, "checkout", false))
+        assertTrue(selector.select(null, "checkout:payment", false))
+        assertTrue(selector.select(null, "home:migrated", false))
+        assertFalse(selector.select(null, "home", false))
+        assertTrue(selector.select("action", null, false))
+    }
+
+    @Test
+    fun testSelect_registeredPredicate_isCalledWithRawStrings() {
+        var arguments: Triple<String?, String?, Boolean>? = null
+        BridgeSelector.setRegisteredPredicate { action, state, isRuleConsequence ->
+            arguments = Triple(action, state, isRuleConsequence)
+            false
+        }
+
+        assertFalse(BridgeSelector.DEFAULT.select("action", "state", true))
+        assertTrue(arguments == Triple("action", "state", true))
+    }
+
+    @Test
+    fun testSelect_callNotSelectedByConfiguration_doesNotCallPredicate() {
+        var called = false
+        BridgeSelector.setRegisteredPredicate { _, _, _ ->
+            called = true
+            true
+        }
+        val selector = BridgeSelector.fromConfiguration(mapOf("edgebridge.bridgeTrack" to false))
+
+        assertFalse(selector.select("action", null, false))
+        assertFalse(called)
+    }
+
+    @Test
+    fun testSelect_predicateThrows_selectsCall() {
+        BridgeSelector.setRegisteredPredicate { _, _, _ -> throw IllegalStateException("test") }
+
+        assertTrue(BridgeSelector.DEFAULT.select("action", null, false))
+    }
+}
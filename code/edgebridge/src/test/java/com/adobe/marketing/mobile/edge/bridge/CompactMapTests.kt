@@ -0,0 +1,149 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class CompactMapTests {
+
+    @Test
+    fun testPutAndGet_smallMap() {
+        val map = CompactMap()
+
+        assertNull(map.put("key1", "value1"))
+        assertNull(map.put("key2", 2))
+        assertEquals("value1", map.put("key1", "newValue1"))
+
+        assertEquals(2, map.size)
+        assertEquals("newValue1", map["key1"])
+        assertEquals(2, map["key2"])
+        assertTrue(map.containsKey("key2"))
+        assertFalse(map.containsKey("key3"))
+        assertNull(map["key3"])
+    }
+
+    @Test
+    fun testPut_nullValue_isStored() {
+        val map = CompactMap()
+
+        map["key"] = null
+
+        assertTrue(map.containsKey("key"))
+        assertNull(map["key"])
+    }
+
+    @Test
+    fun testIteration_smallMap_followsInsertionOrder() {
+        val map = CompactMap(2)
+        for (i in 1..5) {
+            map["key$i"] = "value$i"
+        }
+
+        assertEquals(listOf("key1", "key2", "key3", "key4", "key5"), map.keys.toList())
+        assertEquals(listOf("value1", "value2", "value3", "value4", "value5"), map.values.toList())
+    }
+
+    @Test
+    fun testPut_beyondArrayEntries_movesToHashMap() {
+        val map = CompactMap()
+        val expected = HashMap<String, Any?>()
+        for (i in 1..CompactMap.MAX_ARRAY_ENTRIES + 5) {
+            map["key$i"] = "value$i"
+            expected["key$i"] = "value$i"
+        }
+
+        assertEquals(expected, map)
+        assertEquals(expected.size, map.size)
+        assertEquals("value9", map["key9"])
+        assertEquals("value1", map.remove("key1"))
+        assertFalse(map.containsKey("key1"))
+    }
+
+    @Test
+    fun testConstructor_largeExpectedSize_behavesLikeMap() {
+        val map = CompactMap(100)
+        for (i in 1..100) {
+            map["key$i"] = i
+        }
+
+        assertEquals(100, map.size)
+        assertEquals(50, map["key50"])
+    }
+
+    @Test
+    fun testRemove_smallMap_keepsOrderOfOtherEntries() {
+        val map = CompactMap()
+        map["key1"] = "value1"
+        map["key2"] = "value2"
+        map["key3"] = "value3"
+
+        assertEquals("value2", map.remove("key2"))
+        assertNull(map.remove("key4"))
+
+        assertEquals(mapOf("key1" to "value1", "key3" to "value3"), map)
+        assertEquals(listOf("key1", "key3"), map.keys.toList())
+    }
+
+    @Test
+    fun testIteratorRemove_smallMap_removesEntries() {
+        val map = CompactMap()
+        map["key1"] = "value1"
+        map["key2"] = "value2"
+        map["key3"] = "value3"
+
+        val iterator = map.entries.iterator()
+        while (iterator.hasNext()) {
+            if (iterator.next().key != "key2") {
+                iterator.remove()
+            }
+        }
+
+        assertEquals(mapOf("key2" to "value2"), map)
+    }
+
+    @Test
+    fun testEntrySetValue_updatesMap() {
+        val map = CompactMap()
+        map["key"] = "value"
+
+        map.entries.first().setValue("newValue")
+
+        assertEquals("newValue", map["key"])
+    }
+
+    @Test
+    fun testEqualsAndHashCode_matchHashMap() {
+        val map = CompactMap()
+        map["key1"] = "value1"
+        map["key2"] = mapOf("nested" to true)
+        val hashMap = hashMapOf<String, Any?>("key1" to "value1", "key2" to mapOf("nested" to true))
+
+        assertEquals(hashMap, map)
+        assertEquals(map, hashMap)
+        assertEquals(hashMap.hashCode(), map.hashCode())
+    }
+
+    @Test
+    fun testClear_removesAllEntries() {
+        val map = CompactMap()
+        map["key1"] = "value1"
+
+        map.clear()
+
+        assertTrue(map.isEmpty())
+        assertNull(map["key1"])
+    }
+}
@@ -0,0 +1,68 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+class ConsentGateTests {
+    private lateinit var consentGate: ConsentGate
+
+    @Before
+    fun setup() {
+        consentGate = ConsentGate()
+    }
+
+    @Test
+    fun testUpdate_notLoaded_allowsEvents() {
+        assertFalse(consentGate.isLoaded)
+        assertFalse(consentGate.isDenied)
+    }
+
+    @Test
+    fun testUpdate_collectNo_isDenied() {
+        consentGate.update(createConsentState("n"))
+
+        assertTrue(consentGate.isLoaded)
+        assertTrue(consentGate.isDenied)
+    }
+
+    @Test
+    fun testUpdate_collectPending_allowsEvents() {
+        consentGate.update(createConsentState("p"))
+
+        assertTrue(consentGate.isLoaded)
+        assertFalse(consentGate.isDenied)
+    }
+
+    @Test
+    fun testUpdate_missingConsentState_allowsEvents() {
+        consentGate.update(null)
+
+        assertTrue(consentGate.isLoaded)
+        assertFalse(consentGate.isDenied)
+    }
+
+    @Test
+    fun testUpdate_noToYes_allowsEvents() {
+        consentGate.update(createConsentState("n"))
+        consentGate.update(createConsentState("y"))
+
+        assertFalse(consentGate.isDenied)
+    }
+
+    private fun createConsentState(collect: String): Map<String, Any> {
+        return mapOf("consents" to mapOf("collect" to mapOf("val" to collect)))
+    }
+}
@@ -0,0 +1,300 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.EventSource
+import com.adobe.marketing.mobile.EventType
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+
+class ConsequenceCoalescerTests {
+    private lateinit var metrics: EdgeBridgeMetrics
+    private lateinit var coalescer: ConsequenceCoalescer
+    private val coalesced = mutableListOf<CoalescedRequest>()
+    private val dispatchLatch = CountDownLatch(1)
+
+    @Before
+    fun setup() {
+        metrics = EdgeBridgeMetrics()
+        coalescer = createCoalescer()
+    }
+
+    @After
+    fun teardown() {
+        coalescer.shutdown()
+    }
+
+    @Test
+    fun testAdd_disabled_passesConsequenceThrough() {
+        val event = createEvent()
+
+        coalescer.add("parent", mapOf("action" to "Test Action"), "id", event, "foreground", 1L)
+
+        assertEquals(1, coalesced.size)
+        assertEquals("id", coalesced[0].consequenceId)
+        assertSame(event, coalesced[0].parentEvent)
+    }
+
+    @Test
+    fun testAdd_enabled_holdsConsequenceUntilFlush() {
+        configure(window = 10000)
+
+        coalescer.add("parent", mapOf("action" to "Test Action"), "id", createEvent(), "foreground", 1L)
+
+        assertTrue(coalesced.isEmpty())
+        coalescer.flush()
+        assertEquals(1, coalesced.size)
+        assertEquals("id", coalesced[0].consequenceId)
+    }
+
+    @Test
+    fun testAdd_sameParent_mergesDetails() {
+        configure(window = 10000)
+        val firstEvent = createEvent()
+
+        coalescer.add("parent", mapOf("action" to "Test Action", "contextdata" to mapOf("key1" to "value1")), "id1", firstEvent, "foreground", 1L)
+        coalescer.add("parent", mapOf("action" to "Test Action", "contextdata" to mapOf("key2" to "value2")), "id2", createEvent(), "background", 2L)
+        coalescer.flush("parent")
+
+        assertEquals(1, coalesced.size)
+        assertEquals(
+            mapOf("action" to "Test Action", "contextdata" to mapOf("key1" to "value1", "key2" to "value2")),
+            coalesced[0].detail
+        )
+        assertNull(coalesced[0].consequenceId)
+        assertSame(firstEvent, coalesced[0].parentEvent)
+        assertEquals("foreground", coalesced[0].customerPerspective)
+        assertEquals(1L, coalesced[0].receivedNanos)
+        assertEquals(1L, metrics.snapshot()["coalesced"])
+    }
+
+    @Test
+    fun testAdd_sameParent_differentAction_dispatchesSeparately() {
+        configure(window = 10000)
+
+        coalescer.add("parent", mapOf("action" to "First Action"), "id1", createEvent(), "foreground", 1L)
+        coalescer.add("parent", mapOf("action" to "Second Action"), "id2", createEvent(), "foreground", 2L)
+
+        assertEquals(1, coalesced.size)
+        assertEquals(mapOf("action" to "First Action"), coalesced[0].detail)
+        assertEquals("id1", coalesced[0].consequenceId)
+
+        coalescer.flush("parent")
+        assertEquals(2, coalesced.size)
+        assertEquals(mapOf("action" to "Second Action"), coalesced[1].detail)
+        assertEquals("id2", coalesced[1].consequenceId)
+        assertEquals(0L, metrics.snapshot()["coalesced"])
+    }
+
+    @Test
+    fun testAdd_sameParent_actionAndState_dispatchesSeparately() {
+        configure(window = 10000)
+
+        coalescer.add("parent", mapOf("action" to "Test Action"), "id1", createEvent(), "foreground", 1L)
+        coalescer.add("parent", mapOf("state" to "Page Name"), "id2", createEvent(), "foreground", 2L)
+        coalescer.flush()
+
+        assertEquals(2, coalesced.size)
+        assertEquals(mapOf("action" to "Test Action"), coalesced[0].detail)
+        assertEquals(mapOf("state" to "Page Name"), coalesced[1].detail)
+    }
+
+    @Test
+    fun testAdd_sameParent_conflictingContextData_dispatchesSeparately() {
+        configure(window = 10000)
+
+        coalescer.add("parent", mapOf("action" to "Test Action", "contextdata" to mapOf("key" to "first")), "id1", createEvent(), "foreground", 1L)
+        coalescer.add("parent", mapOf("action" to "Test Action", "contextdata" to mapOf("key" to "second")), "id2", createEvent(), "foreground", 2L)
+        coalescer.flush()
+
+        assertEquals(2, coalesced.size)
+        assertEquals(mapOf("key" to "first"), coalesced[0].detail["contextdata"])
+        assertEquals(mapOf("key" to "second"), coalesced[1].detail["contextdata"])
+    }
+
+    @Test
+    fun testAdd_maxGroupsReached_flushesOldestGroup() {
+        coalescer = createCoalescer(maxGroups = 1)
+        configure(window = 10000)
+
+        coalescer.add("parent1", mapOf("action" to "First Action"), "id1", createEvent(), "foreground", 1L)
+        coalescer.add("parent2", mapOf("action" to "Second Action"), "id2", createEvent(), "foreground", 2L)
+
+        assertEquals(1, coalesced.size)
+        assertEquals("id1", coalesced[0].consequenceId)
+    }
+
+    @Test
+    fun testAdd_windowElapsed_flushesGroup() {
+        configure(window = 10)
+
+        coalescer.add("parent", mapOf("action" to "Test Action"), "id", createEvent(), "foreground", 1L)
+
+        assertTrue(dispatchLatch.await(1, TimeUnit.SECONDS))
+        assertEquals(1, coalesced.size)
+    }
+
+    @Test
+    fun testConfigure_disabled_flushesOpenGroups() {
+        configure(window = 10000)
+        coalescer.add("parent", mapOf("action" to "Test Action"), "id", createEvent(), "foreground", 1L)
+
+        coalescer.configure(EdgeBridgeConfiguration.fromConfiguration(mapOf("edgebridge.coalesceEnabled" to false)))
+
+        assertEquals(1, coalesced.size)
+    }
+
+    @Test
+    fun testConfigure_disabledWhileWindowExpires_doesNotDeadlock() {
+        // Flush executor holding its own lock while it runs a task, like the worker's execution lock
+        val executionLock = Object()
+        val testThread = Thread.currentThread()
+        val windowTaskHoldsLock = CountDownLatch(1)
+        val flushExecutor = Executor { task ->
+            synchronized(executionLock) {
+                if (Thread.currentThread() !== testThread && windowTaskHoldsLock.count > 0) {
+                    windowTaskHoldsLock.countDown()
+                    // Give the configuration update time to start while the window task holds the lock
+                    Thread.sleep(200)
+                }
+                task.run()
+            }
+        }
+        coalescer = ConsequenceCoalescer(
+            { detail, consequenceId, parentEvent, customerPerspective, receivedNanos ->
+                synchronized(coalesced) {
+                    coalesced.add(CoalescedRequest(detail, consequenceId, parentEvent, customerPerspective, receivedNanos))
+                }
+            },
+            flushExecutor,
+            metrics,
+            16
+        )
+        configure(window = 10)
+        coalescer.add("parent", mapOf("action" to "Test Action"), "id", createEvent(), "foreground", 1L)
+        assertTrue(windowTaskHoldsLock.await(1, TimeUnit.SECONDS))
+
+        val configureThread = Thread {
+            coalescer.configure(EdgeBridgeConfiguration.fromConfiguration(mapOf("edgebridge.coalesceEnabled" to false)))
+        }
+        configureThread.start()
+        configureThread.join(2000)
+
+        assertFalse(configureThread.isAlive)
+        assertEquals(1, synchronized(coalesced) { coalesced.size })
+    }
+
+    @Test
+    fun testShutdown_discardsOpenGroups() {
+        configure(window = 10000)
+        coalescer.add("parent", mapOf("action" to "Test Action"), "id", createEvent(), "foreground", 1L)
+
+        coalescer.shutdown()
+
+        assertTrue(coalesced.isEmpty())
+    }
+
+    @Test
+    fun testMergeDetail_contextData_mergesEntries() {
+        val target = mutableMapOf<String, Any?>(
+            "action" to "Test Action",
+            "contextdata" to mapOf("key1" to "value1", "shared" to "same")
+        )
+
+        ConsequenceCoalescer.mergeDetail(
+            target,
+            mapOf("action" to "Test Action", "events" to "event1", "contextdata" to mapOf("key2" to "value2", "shared" to "same"))
+        )
+
+        assertEquals(
+            mapOf(
+                "action" to "Test Action",
+                "events" to "event1",
+                "contextdata" to mapOf("key1" to "value1", "key2" to "value2", "shared" to "same")
+            ),
+            target
+        )
+    }
+
+    @Test
+    fun testCanMerge_sameActionAndStateWithoutConflicts_returnsTrue() {
+        assertTrue(
+            ConsequenceCoalescer.canMerge(
+                mapOf("action" to "Test Action", "contextdata" to mapOf("key1" to "value1", "shared" to "same")),
+                mapOf("action" to "Test Action", "contextdata" to mapOf("key2" to "value2", "shared" to "same"))
+            )
+        )
+    }
+
+    @Test
+    fun testCanMerge_differentActionOrState_returnsFalse() {
+        assertFalse(ConsequenceCoalescer.canMerge(mapOf("action" to "First Action"), mapOf("action" to "Second Action")))
+        assertFalse(ConsequenceCoalescer.canMerge(mapOf("action" to "Test Action"), mapOf("contextdata" to mapOf("key" to "value"))))
+        assertFalse(ConsequenceCoalescer.canMerge(mapOf("state" to "Page Name"), mapOf("state" to "Page Name", "action" to "Test Action")))
+    }
+
+    @Test
+    fun testCanMerge_conflictingValues_returnsFalse() {
+        assertFalse(
+            ConsequenceCoalescer.canMerge(
+                mapOf("action" to "Test Action", "events" to "event1"),
+                mapOf("action" to "Test Action", "events" to "event2")
+            )
+        )
+        assertFalse(
+            ConsequenceCoalescer.canMerge(
+                mapOf("action" to "Test Action", "contextdata" to mapOf("key" to "first")),
+                mapOf("action" to "Test Action", "contextdata" to mapOf("key" to "second"))
+            )
+        )
+    }
+
+    private fun createCoalescer(maxGroups: Int = 16): ConsequenceCoalescer {
+        val callback = ConsequenceCoalescer.Callback { detail, consequenceId, parentEvent, customerPerspective, receivedNanos ->
+            synchronized(coalesced) {
+                coalesced.add(CoalescedRequest(detail, consequenceId, parentEvent, customerPerspective, receivedNanos))
+            }
+            dispatchLatch.countDown()
+        }
+        return ConsequenceCoalescer(callback, Executor { it.run() }, metrics, maxGroups)
+    }
+
+    private fun configure(window: Long) {
+        coalescer.configure(
+            EdgeBridgeConfiguration.fromConfiguration(
+                mapOf("edgebridge.coalesceEnabled" to true, "edgebridge.coalesceWindow" to window)
+            )
+        )
+    }
+
+    private fun createEvent(): Event {
+        return Event.Builder("Test Rules Engine Event", EventType.RULES_ENGINE, EventSource.RESPONSE_CONTENT).build()
+    }
+
+    private data class CoalescedRequest(
+        val detail: Map<String, Any?>,
+        val consequenceId: String?,
+        val parentEvent: Event,
+        val customerPerspective: String?,
+        val receivedNanos: Long
+    )
+}
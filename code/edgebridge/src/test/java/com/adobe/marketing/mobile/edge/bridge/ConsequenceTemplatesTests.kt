@@ -0,0 +1,109 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class ConsequenceTemplatesTests {
+    private val detail = mapOf<String, Any>("action" to "Test Action")
+    private val configuration = EdgeBridgeConfiguration.DEFAULT
+    private val formattedData =
+        FormattedData(mapOf<String, Any>("__adobe" to mapOf("analytics" to mapOf("linkName" to "Test Action"))), null)
+
+    @Test
+    fun testGet_notCached_returnsNull() {
+        val templates = ConsequenceTemplates()
+
+        assertNull(templates.get("id", detail, "foreground", configuration))
+    }
+
+    @Test
+    fun testGet_equalDetail_returnsCachedData() {
+        val templates = ConsequenceTemplates()
+        templates.put("id", detail, "foreground", configuration, formattedData)
+
+        assertSame(formattedData, templates.get("id", HashMap(detail), "foreground", configuration))
+    }
+
+    @Test
+    fun testGet_differentDetail_returnsNull() {
+        val templates = ConsequenceTemplates()
+        templates.put("id", detail, "foreground", configuration, formattedData)
+
+        assertNull(templates.get("id", mapOf("action" to "Other Action"), "foreground", configuration))
+    }
+
+    @Test
+    fun testGet_otherConfiguration_returnsNull() {
+        val templates = ConsequenceTemplates()
+        templates.put("id", detail, "foreground", configuration, formattedData)
+
+        val otherConfiguration = EdgeBridgeConfiguration.fromConfiguration(mapOf("edgebridge.deniedKeys" to listOf("key")))
+        assertNull(templates.get("id", detail, "foreground", otherConfiguration))
+    }
+
+    @Test
+    fun testGet_otherPerspective_returnsNull() {
+        val templates = ConsequenceTemplates()
+        templates.put("id", detail, "foreground", configuration, formattedData)
+
+        assertNull(templates.get("id", detail, "background", configuration))
+    }
+
+    @Test
+    fun testPut_bothPerspectives_keepsBothVariants() {
+        val templates = ConsequenceTemplates()
+        val backgroundData = FormattedData(mapOf<String, Any>("cp" to "background"), null)
+        templates.put("id", detail, "foreground", configuration, formattedData)
+        templates.put("id", detail, "background", configuration, backgroundData)
+
+        assertSame(formattedData, templates.get("id", detail, "foreground", configuration))
+        assertSame(backgroundData, templates.get("id", detail, "background", configuration))
+    }
+
+    @Test
+    fun testPut_differentDetail_replacesTemplate() {
+        val templates = ConsequenceTemplates()
+        val otherDetail = mapOf<String, Any>("action" to "Other Action")
+        val otherData = FormattedData(mapOf<String, Any>("linkName" to "Other Action"), null)
+        templates.put("id", detail, "foreground", configuration, formattedData)
+        templates.put("id", otherDetail, "background", configuration, otherData)
+
+        assertNull(templates.get("id", detail, "foreground", configuration))
+        assertSame(otherData, templates.get("id", otherDetail, "background", configuration))
+        assertEquals(1, templates.size())
+    }
+
+    @Test
+    fun testPut_capacityReached_doesNotCacheNewIds() {
+        val templates = ConsequenceTemplates(1)
+        templates.put("id1", detail, "foreground", configuration, formattedData)
+        templates.put("id2", detail, "foreground", configuration, formattedData)
+
+        assertNull(templates.get("id2", detail, "foreground", configuration))
+        assertSame(formattedData, templates.get("id1", detail, "foreground", configuration))
+    }
+
+    @Test
+    fun testClear_removesAllTemplates() {
+        val templates = ConsequenceTemplates()
+        templates.put("id", detail, "foreground", configuration, formattedData)
+
+        templates.clear()
+
+        assertNull(templates.get("id", detail, "foreground", configuration))
+        assertEquals(0, templates.size())
+    }
+}
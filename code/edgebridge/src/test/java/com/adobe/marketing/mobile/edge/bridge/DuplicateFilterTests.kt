@@ -0,0 +1,133 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.TimeUnit
+
+class DuplicateFilterTests {
+    private val payload = mapOf<String, Any>("action" to "Test Action", "contextdata" to mapOf("key" to "value"))
+
+    @Test
+    fun testIsDuplicate_disabled_returnsFalse() {
+        val filter = DuplicateFilter()
+
+        assertFalse(bridge(filter, payload, null, 0L))
+        assertFalse(bridge(filter, payload, null, 1L))
+        assertEquals(0L, filter.fingerprint(payload, null))
+    }
+
+    @Test
+    fun testIsDuplicate_equalPayloadWithinWindow_returnsTrue() {
+        val filter = createFilter(windowMilliseconds = 100)
+
+        assertFalse(bridge(filter, payload, null, 0L))
+        assertTrue(bridge(filter, HashMap(payload), null, TimeUnit.MILLISECONDS.toNanos(50)))
+    }
+
+    @Test
+    fun testIsDuplicate_equalPayloadAfterWindow_returnsFalse() {
+        val filter = createFilter(windowMilliseconds = 100)
+
+        assertFalse(bridge(filter, payload, null, 0L))
+        assertFalse(bridge(filter, payload, null, TimeUnit.MILLISECONDS.toNanos(150)))
+    }
+
+    @Test
+    fun testIsDuplicate_differentPayload_returnsFalse() {
+        val filter = createFilter(windowMilliseconds = 100)
+
+        assertFalse(bridge(filter, payload, null, 0L))
+        assertFalse(bridge(filter, mapOf("action" to "Other Action"), null, 1L))
+        assertFalse(bridge(filter, mapOf("action" to "Test Action", "contextdata" to mapOf("key" to "other")), null, 2L))
+    }
+
+    @Test
+    fun testIsDuplicate_differentConsequenceId_returnsFalse() {
+        val filter = createFilter(windowMilliseconds = 100)
+
+        assertFalse(bridge(filter, payload, "id1", 0L))
+        assertFalse(bridge(filter, payload, "id2", 1L))
+        assertFalse(bridge(filter, payload, null, 2L))
+        assertTrue(bridge(filter, payload, "id1", 3L))
+    }
+
+    @Test
+    fun testIsDuplicate_notRecorded_returnsFalse() {
+        val filter = createFilter(windowMilliseconds = 100)
+        val fingerprint = filter.fingerprint(payload, null)
+
+        assertFalse(filter.isDuplicate(fingerprint, 0L))
+        assertFalse(filter.isDuplicate(fingerprint, 1L))
+    }
+
+    @Test
+    fun testIsDuplicate_capacityReached_evictsOldestEntry() {
+        val filter = createFilter(windowMilliseconds = 100, capacity = 2)
+
+        assertFalse(bridge(filter, mapOf("action" to "1"), null, 0L))
+        assertFalse(bridge(filter, mapOf("action" to "2"), null, 1L))
+        assertFalse(bridge(filter, mapOf("action" to "3"), null, 2L))
+
+        assertFalse(bridge(filter, mapOf("action" to "1"), null, 3L))
+        assertTrue(bridge(filter, mapOf("action" to "3"), null, 4L))
+    }
+
+    @Test
+    fun testFingerprint_equalPayloads_areEqual() {
+        val filter = createFilter(windowMilliseconds = 100)
+        val reordered = linkedMapOf<String, Any>("contextdata" to linkedMapOf("key" to "value"), "action" to "Test Action")
+
+        assertEquals(filter.fingerprint(payload, "id"), filter.fingerprint(reordered, "id"))
+        assertNotEquals(filter.fingerprint(payload, "id"), filter.fingerprint(payload, null))
+        assertNotEquals(
+            filter.fingerprint(mapOf("list" to listOf("a", "b")), null),
+            filter.fingerprint(mapOf("list" to listOf("b", "a")), null)
+        )
+    }
+
+    @Test
+    fun testConfigure_disabled_forgetsBridgedRequests() {
+        val filter = createFilter(windowMilliseconds = 100)
+        bridge(filter, payload, null, 0L)
+
+        filter.configure(EdgeBridgeConfiguration.fromConfiguration(mapOf("edgebridge.dedupEnabled" to false)))
+        filter.configure(
+            EdgeBridgeConfiguration.fromConfiguration(mapOf("edgebridge.dedupEnabled" to true, "edgebridge.dedupWindow" to 100))
+        )
+
+        assertFalse(bridge(filter, payload, null, 1L))
+    }
+
+    private fun bridge(filter: DuplicateFilter, payload: Any, consequenceId: String?, receivedNanos: Long): Boolean {
+        val fingerprint = filter.fingerprint(payload, consequenceId)
+        if (filter.isDuplicate(fingerprint, receivedNanos)) {
+            return true
+        }
+        filter.record(fingerprint, receivedNanos)
+        return false
+    }
+
+    private fun createFilter(windowMilliseconds: Long, capacity: Int = 64): DuplicateFilter {
+        val filter = DuplicateFilter(capacity)
+        filter.configure(
+            EdgeBridgeConfiguration.fromConfiguration(
+                mapOf("edgebridge.dedupEnabled" to true, "edgebridge.dedupWindow" to windowMilliseconds)
+            )
+        )
+        return filter
+    }
+}
@@ -16,21 +16,34 @@ import com.adobe.marketing.mobile.EventSource
 import com.adobe.marketing.mobile.EventType
 import com.adobe.marketing.mobile.ExtensionApi
 import com.adobe.marketing.mobile.ExtensionEventListener
+import com.adobe.marketing.mobile.SharedStateResolution
+import com.adobe.marketing.mobile.SharedStateResult
+import com.adobe.marketing.mobile.SharedStateStatus
+import com.adobe.marketing.mobile.util.EventDataUtils
 import com.adobe.marketing.mobile.util.TimeUtils
+import org.junit.After
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNotSame
 import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.mockito.ArgumentCaptor
 import org.mockito.Mock
+import org.mockito.Mockito
+import org.mockito.Mockito.lenient
 import org.mockito.junit.MockitoJUnitRunner
 import org.mockito.kotlin.any
+import org.mockito.kotlin.atLeastOnce
+import org.mockito.kotlin.eq
 import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.timeout
 import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
 import java.util.Date
 
 @RunWith(MockitoJUnitRunner::class)
@@ -43,12 +56,23 @@ class EdgeBridgeExtensionTests {
     // Performs pre-test setup before each test case
     // Resets the mocked ExtensionApi instance mockExtensionApi (handles event dispatch)
     // Creates a new instance of the EdgeBridgeExtension using the ExtensionApi mock
+    // Reports the Edge extension as registered so track events are not held in the buffer
     @Before
     fun setup() {
         reset(mockExtensionApi)
+        lenient().`when`(mockExtensionApi.getSharedState(eq("com.adobe.module.eventhub"), any(), eq(false), eq(SharedStateResolution.ANY)))
+            .thenReturn(createEventHubState(edgeRegistered = true))
+        EdgeBridgeProperties.resetApplicationIdentifier()
+        EdgeBridgeProperties.resetCustomerPerspective()
         extension = EdgeBridgeExtension(mockExtensionApi)
     }
 
+    @After
+    fun teardown() {
+        extension.onUnregistered()
+        BridgeSelector.setRegisteredPredicate(null)
+    }
+
     // ========================================================================================
     // constructor
     // ========================================================================================
@@ -60,8 +84,8 @@ class EdgeBridgeExtensionTests {
         val extensionEventListenerArgumentCaptor = ArgumentCaptor.forClass(
             ExtensionEventListener::class.java
         )
-        // Verify: 2 event listeners registered; capture values from registration
-        verify(mockExtensionApi, times(2))
+        // Verify: 8 event listeners registered; capture values from registration
+        verify(mockExtensionApi, times(8))
             .registerEventListener(
                 eventTypeCaptor.capture(),
                 eventSourceCaptor.capture(),
@@ -82,6 +106,36 @@ class EdgeBridgeExtensionTests {
         assertEquals(EventType.RULES_ENGINE, eventTypes[1])
         assertEquals(EventSource.RESPONSE_CONTENT, eventSources[1])
         assertNotNull(extensionEventListenerList[1])
+
+        // Verify: 3rd Edge Bridge event listener
+        assertEquals(EventType.RULES_ENGINE, eventTypes[2])
+        assertEquals(EventSource.REQUEST_RESET, eventSources[2])
+        assertNotNull(extensionEventListenerList[2])
+
+        // Verify: 4th Edge Bridge event listener
+        assertEquals(EventType.GENERIC_LIFECYCLE, eventTypes[3])
+        assertEquals(EventSource.REQUEST_CONTENT, eventSources[3])
+        assertNotNull(extensionEventListenerList[3])
+
+        // Verify: 5th Edge Bridge event listener
+        assertEquals(EventType.CONFIGURATION, eventTypes[4])
+        assertEquals(EventSource.RESPONSE_CONTENT, eventSources[4])
+        assertNotNull(extensionEventListenerList[4])
+
+        // Verify: 6th Edge Bridge event listener
+        assertEquals("com.adobe.eventType.edgeBridge", eventTypes[5])
+        assertEquals(EventSource.REQUEST_CONTENT, eventSources[5])
+        assertNotNull(extensionEventListenerList[5])
+
+        // Verify: 7th Edge Bridge event listener
+        assertEquals("com.adobe.eventType.edgeBridge", eventTypes[6])
+        assertEquals("com.adobe.eventSource.requestTrack", eventSources[6])
+        assertNotNull(extensionEventListenerList[6])
+
+        // Verify: 8th Edge Bridge event listener
+        assertEquals(EventType.HUB, eventTypes[7])
+        assertEquals(EventSource.SHARED_STATE, eventSources[7])
+        assertNotNull(extensionEventListenerList[7])
     }
 
     // ========================================================================================
@@ -991,6 +1045,779 @@ class EdgeBridgeExtensionTests {
         verify(mockExtensionApi, never()).dispatch(any())
     }
 
+    // ========================================================================================
+    // handleLifecycleRequest
+    // ========================================================================================
+
+    @Test
+    fun testHandleLifecycleRequest_pause_setsBackgroundCustomerPerspective() {
+        extension.handleLifecycleRequest(createLifecycleEvent("pause"))
+
+        val event = Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+            .setEventData(mapOf("action" to "action name"))
+            .build()
+
+        extension.handleTrackRequest(event)
+
+        val responseEvent = captureAndAssertDispatchedEvent()
+        assertEquals("background", getAnalyticsData(responseEvent)["cp"])
+    }
+
+    @Test
+    fun testHandleLifecycleRequest_pause_doesNotCreateSharedState() {
+        extension.handleLifecycleRequest(createLifecycleEvent("pause"))
+
+        verify(mockExtensionApi, never()).createSharedState(any(), any())
+    }
+
+    @Test
+    fun testHandleLifecycleRequest_pauseThenStart_setsForegroundCustomerPerspective() {
+        extension.handleLifecycleRequest(createLifecycleEvent("pause"))
+        extension.handleLifecycleRequest(createLifecycleEvent("start"))
+
+        val event = Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+            .setEventData(mapOf("action" to "action name"))
+            .build()
+
+        extension.handleTrackRequest(event)
+
+        val responseEvent = captureAndAssertDispatchedEvent()
+        assertEquals("foreground", getAnalyticsData(responseEvent)["cp"])
+    }
+
+    @Test
+    fun testHandleLifecycleRequest_unknownAction_doesNotChangeCustomerPerspective() {
+        extension.handleLifecycleRequest(createLifecycleEvent("pause"))
+        extension.handleLifecycleRequest(createLifecycleEvent("unknown"))
+
+        val event = Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+            .setEventData(mapOf("action" to "action name"))
+            .build()
+
+        extension.handleTrackRequest(event)
+
+        val responseEvent = captureAndAssertDispatchedEvent()
+        assertEquals("background", getAnalyticsData(responseEvent)["cp"])
+    }
+
+    // ========================================================================================
+    // handleMetricsRequest
+    // ========================================================================================
+
+    @Suppress("UNCHECKED_CAST")
+    @Test
+    fun testHandleMetricsRequest_dispatchesResponse() {
+        extension.handleTrackRequest(createTrackActionEvent())
+        extension.handleTrackRequest(
+            Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT).build()
+        )
+        extension.handleRulesEngineResponse(
+            Event.Builder("Test Rules Engine Event", EventType.RULES_ENGINE, EventSource.RESPONSE_CONTENT)
+                .setEventData(mapOf("triggeredconsequence" to mapOf("type" to "md", "id" to "id", "detail" to mapOf("k" to "v"))))
+                .build()
+        )
+        reset(mockExtensionApi)
+
+        val requestEvent = Event.Builder("Edge Bridge Get Metrics Request", "com.adobe.eventType.edgeBridge", EventSource.REQUEST_CONTENT)
+            .build()
+        extension.handleMetricsRequest(requestEvent)
+
+        val responseEvent = captureAndAssertDispatchedEvent(
+            expectedType = "com.adobe.eventType.edgeBridge",
+            expectedSource = EventSource.RESPONSE_CONTENT,
+            expectedName = "Edge Bridge Metrics Response"
+        )
+        assertEquals(requestEvent.uniqueIdentifier, responseEvent.responseID)
+
+        val metrics = responseEvent.eventData["metrics"] as Map<String, Any>
+        assertEquals(mapOf("track" to 2L, "rulesEngine" to 1L), metrics["received"])
+        assertEquals(1L, metrics["dispatched"])
+        val dropped = metrics["dropped"] as Map<String, Any>
+        assertEquals(1L, dropped["emptyData"])
+        assertEquals(1L, dropped["notAnalyticsConsequence"])
+
+        verify(mockExtensionApi, never()).createSharedState(any(), any())
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    @Test
+    fun testHandleTrackRequest_noMappableData_countsDrop() {
+        extension.handleTrackRequest(
+            Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+                .setEventData(mapOf("state" to "", "action" to ""))
+                .build()
+        )
+
+        extension.handleMetricsRequest(
+            Event.Builder("Edge Bridge Get Metrics Request", "com.adobe.eventType.edgeBridge", EventSource.REQUEST_CONTENT)
+                .build()
+        )
+
+        val responseEvent = captureAndAssertDispatchedEvent(
+            expectedType = "com.adobe.eventType.edgeBridge",
+            expectedSource = EventSource.RESPONSE_CONTENT,
+            expectedName = "Edge Bridge Metrics Response"
+        )
+        val metrics = responseEvent.eventData["metrics"] as Map<String, Any>
+        val dropped = metrics["dropped"] as Map<String, Any>
+        assertEquals(1L, dropped["noMappableData"])
+        assertEquals(0L, metrics["dispatched"])
+    }
+
+    // ========================================================================================
+    // handleConfigurationResponse
+    // ========================================================================================
+
+    @Test
+    fun testHandleConfigurationResponse_workerEnabled_dispatchesTrackEventsInOrder() {
+        configureWorker()
+        val events = (0 until 5).map { i ->
+            Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+                .setEventData(mapOf("action" to "action$i"))
+                .build()
+        }
+
+        events.forEach { extension.handleTrackRequest(it) }
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, timeout(2000).times(5)).dispatch(eventCaptor.capture())
+        assertEquals(events.map { it.uniqueIdentifier }, eventCaptor.allValues.map { it.parentID })
+    }
+
+    @Test
+    fun testHandleConfigurationResponse_pendingConfiguration_keepsWorkerDisabled() {
+        whenever(mockExtensionApi.getSharedState(eq("com.adobe.module.configuration"), any(), eq(false), eq(SharedStateResolution.ANY)))
+            .thenReturn(SharedStateResult(SharedStateStatus.PENDING, null))
+        extension.handleConfigurationResponse(createConfigurationEvent())
+
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, times(1)).dispatch(any())
+    }
+
+    @Test
+    fun testHandleRulesEngineResponse_coalesceEnabled_mergesConsequencesWithSameParent() {
+        configureCoalescing()
+        val triggeringEvent = createTrackActionEvent()
+        val firstEvent = createRulesEngineEvent(
+            "consequence1",
+            mapOf("action" to "Test Action", "contextdata" to mapOf("key1" to "value1", "shared" to "same")),
+            triggeringEvent
+        )
+        val secondEvent = createRulesEngineEvent(
+            "consequence2",
+            mapOf("action" to "Test Action", "contextdata" to mapOf("key2" to "value2", "shared" to "same")),
+            triggeringEvent
+        )
+
+        extension.handleRulesEngineResponse(firstEvent)
+        extension.handleRulesEngineResponse(secondEvent)
+        verify(mockExtensionApi, never()).dispatch(any())
+        extension.handleLifecycleRequest(createLifecycleEvent("pause"))
+
+        val responseEvent = captureAndAssertDispatchedEvent()
+        assertEquals(firstEvent.uniqueIdentifier, responseEvent.parentID)
+        val analyticsData = getAnalyticsData(responseEvent)
+        assertEquals("Test Action", analyticsData["linkName"])
+        assertEquals(
+            mapOf("key1" to "value1", "key2" to "value2", "shared" to "same", "a.AppID" to "null"),
+            analyticsData["contextData"]
+        )
+        assertEquals(1L, getMetrics()["coalesced"])
+    }
+
+    @Test
+    fun testHandleRulesEngineResponse_coalesceEnabled_dispatchesAfterWindow() {
+        configureCoalescing(window = 10)
+        val triggeringEvent = createTrackActionEvent()
+
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequence1", mapOf("action" to "Test Action"), triggeringEvent))
+        extension.handleRulesEngineResponse(
+            createRulesEngineEvent("consequence2", mapOf("action" to "Test Action", "contextdata" to mapOf("key" to "value")), triggeringEvent)
+        )
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, timeout(1000).times(1)).dispatch(eventCaptor.capture())
+        assertEquals("Test Action", getAnalyticsData(eventCaptor.value)["linkName"])
+    }
+
+    @Test
+    fun testHandleRulesEngineResponse_coalesceEnabled_differentActionsSameParent_dispatchesSeparately() {
+        configureCoalescing()
+        val triggeringEvent = createTrackActionEvent()
+
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequence1", mapOf("action" to "First Action"), triggeringEvent))
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequence2", mapOf("action" to "Second Action"), triggeringEvent))
+        extension.handleLifecycleRequest(createLifecycleEvent("pause"))
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, times(2)).dispatch(eventCaptor.capture())
+        assertEquals("First Action", getAnalyticsData(eventCaptor.allValues[0])["linkName"])
+        assertEquals("Second Action", getAnalyticsData(eventCaptor.allValues[1])["linkName"])
+        assertEquals(0L, getMetrics()["coalesced"])
+    }
+
+    @Test
+    fun testHandleRulesEngineResponse_coalesceEnabled_differentParents_dispatchesSeparately() {
+        configureCoalescing()
+
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequence1", mapOf("action" to "First Action"), createTrackActionEvent()))
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequence2", mapOf("action" to "Second Action"), createTrackActionEvent()))
+        extension.handleLifecycleRequest(createLifecycleEvent("pause"))
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, times(2)).dispatch(eventCaptor.capture())
+        assertEquals("First Action", getAnalyticsData(eventCaptor.allValues[0])["linkName"])
+        assertEquals("Second Action", getAnalyticsData(eventCaptor.allValues[1])["linkName"])
+    }
+
+    @Test
+    fun testHandleRulesEngineResponse_coalesceEnabled_noParent_dispatchesImmediately() {
+        configureCoalescing()
+
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequence1", mapOf("action" to "Test Action")))
+
+        captureAndAssertDispatchedEvent()
+    }
+
+    @Test
+    fun testHandleTrackRequest_dedupEnabled_dropsRepeatedEvent() {
+        configureDedup()
+
+        extension.handleTrackRequest(createTrackActionEvent())
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        captureAndAssertDispatchedEvent()
+        assertEquals(1L, getDroppedMetrics()["duplicate"])
+    }
+
+    @Test
+    fun testHandleRulesEngineResponse_dedupEnabled_dropsRepeatedConsequence() {
+        configureDedup()
+
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequenceId", mapOf("action" to "Test Action")))
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequenceId", mapOf("action" to "Test Action")))
+        extension.handleRulesEngineResponse(createRulesEngineEvent("otherConsequenceId", mapOf("action" to "Test Action")))
+
+        verify(mockExtensionApi, times(2)).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["duplicate"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_dedupEnabled_droppedEventIsNotRecorded() {
+        configureLimits(
+            mapOf(
+                "edgebridge.dedupEnabled" to true,
+                "edgebridge.dedupWindow" to 10000,
+                "edgebridge.actionLimits" to mapOf("action name" to mapOf("sampleRate" to 0.0))
+            )
+        )
+
+        extension.handleTrackRequest(createTrackActionEvent())
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, never()).dispatch(any())
+        val dropped = getDroppedMetrics()
+        assertEquals(2L, dropped["sampled"])
+        assertEquals(0L, dropped["duplicate"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_dedupDisabled_dispatchesRepeatedEvent() {
+        extension.handleTrackRequest(createTrackActionEvent())
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, times(2)).dispatch(any())
+    }
+
+    @Test
+    fun testHandleTrackRequest_actionSampledOut_dropsEvent() {
+        configureLimits(mapOf("edgebridge.actionLimits" to mapOf("action name" to mapOf("sampleRate" to 0.0))))
+
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, never()).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["sampled"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_actionSampledOut_countsActionLimitOutcome() {
+        configureLimits(mapOf("edgebridge.actionLimits" to mapOf("action name" to mapOf("sampleRate" to 0.0))))
+
+        extension.handleTrackRequest(createTrackActionEvent())
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        val limits = getMetrics()["limits"] as Map<*, *>
+        assertEquals(
+            mapOf("action name" to mapOf("passed" to 0L, "sampled" to 2L, "rateLimited" to 0L)),
+            limits["actions"]
+        )
+    }
+
+    @Test
+    fun testHandleRulesEngineResponse_rateLimited_dropsEvent() {
+        configureLimits(mapOf("edgebridge.rulesEngineLimit" to mapOf("ratePerSecond" to 1)))
+
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequenceId", mapOf("action" to "First Action")))
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequenceId", mapOf("action" to "Second Action")))
+
+        verify(mockExtensionApi, times(1)).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["rateLimited"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_bridgingDisabled_dropsEvent() {
+        configureLimits(mapOf("edgebridge.enabled" to false))
+
+        extension.handleTrackRequest(createTrackActionEvent())
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequenceId", mapOf("action" to "Test Action")))
+
+        verify(mockExtensionApi, never()).dispatch(any())
+        assertEquals(2L, getDroppedMetrics()["disabled"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_bridgingReenabled_dispatchesEvent() {
+        configureLimits(mapOf("edgebridge.enabled" to false))
+        configureLimits(mapOf("edgebridge.enabled" to true))
+
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        captureAndAssertDispatchedEvent()
+    }
+
+    @Test
+    fun testHandleTrackRequest_sampleRateZero_dropsEvent() {
+        configureLimits(mapOf("edgebridge.sampleRate" to 0.0))
+
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, never()).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["sampled"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_payloadLargerThanMaximum_dropsEvent() {
+        configureLimits(mapOf("edgebridge.maxPayloadBytes" to 1024))
+        val event = Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+            .setEventData(mapOf("action" to "action name", "contextdata" to mapOf("key" to "x".repeat(2000))))
+            .build()
+
+        extension.handleTrackRequest(event)
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, times(1)).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["payloadTooLarge"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_truncatePolicy_dispatchesTruncatedData() {
+        configureLimits(mapOf("edgebridge.maxPayloadKeys" to 3, "edgebridge.oversizePolicy" to "truncate"))
+        val event = Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+            .setEventData(mapOf("action" to "action name", "contextdata" to mapOf("key1" to "value1", "key2" to "value2", "key3" to "value3")))
+            .build()
+
+        extension.handleTrackRequest(event)
+
+        val analyticsData = getAnalyticsData(captureAndAssertDispatchedEvent())
+        assertEquals("action name", analyticsData["linkName"])
+        assertEquals("other", analyticsData["linkType"])
+        assertEquals(mapOf("key1" to "value1", "a.AppID" to "null"), analyticsData["contextData"])
+        assertEquals(1L, getMetrics()["truncated"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_splitPolicy_rejectsOversizedData() {
+        configureLimits(mapOf("edgebridge.maxPayloadKeys" to 3, "edgebridge.oversizePolicy" to "split"))
+        val event = Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+            .setEventData(mapOf("action" to "action name", "contextdata" to mapOf("key1" to "value1", "key2" to "value2", "key3" to "value3")))
+            .build()
+
+        extension.handleTrackRequest(event)
+
+        // Splitting is not supported, as each part would be counted as a separate link in Analytics
+        verify(mockExtensionApi, never()).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["payloadTooLarge"])
+        assertEquals(0L, getMetrics()["truncated"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_allowedAndDeniedKeys_filtersContextData() {
+        configureLimits(
+            mapOf(
+                "edgebridge.allowedKeys" to listOf("&&c1", "key1", "debug"),
+                "edgebridge.deniedKeys" to listOf("debug")
+            )
+        )
+        val event = Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+            .setEventData(
+                mapOf(
+                    "action" to "action name",
+                    "contextdata" to mapOf("&&c1" to "propValue1", "&&c2" to "propValue2", "key1" to "value1", "key2" to "value2", "debug" to "true")
+                )
+            )
+            .build()
+
+        extension.handleTrackRequest(event)
+
+        val analyticsData = getAnalyticsData(captureAndAssertDispatchedEvent())
+        assertEquals("propValue1", analyticsData["c1"])
+        assertNull(analyticsData["c2"])
+        assertEquals(mapOf("key1" to "value1", "a.AppID" to "null"), analyticsData["contextData"])
+    }
+
+    @Test
+    fun testHandleTypedTrackRequest_dispatchesSameDataAsTrackEvent() {
+        val request = TrackRequest.Builder()
+            .setAction("action name")
+            .setContextData(mapOf("key1" to "value1"))
+            .setAnalyticsData(mapOf("c1" to "propValue1"))
+            .build()
+
+        extension.handleTypedTrackRequest(createTypedTrackEvent(request))
+        val typedTrackEvent = captureAndAssertDispatchedEvent()
+
+        reset(mockExtensionApi)
+        extension.handleTrackRequest(
+            Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+                .setEventData(
+                    mapOf(
+                        "action" to "action name",
+                        "contextdata" to mapOf("key1" to "value1", "&&c1" to "propValue1")
+                    )
+                )
+                .build()
+        )
+        val trackEvent = captureAndAssertDispatchedEvent()
+
+        assertEquals(trackEvent.eventData["data"], typedTrackEvent.eventData["data"])
+        assertEquals(
+            mapOf("linkName" to "action name", "linkType" to "other", "cp" to "foreground", "c1" to "propValue1", "contextData" to mapOf("key1" to "value1", "a.AppID" to "null")),
+            getAnalyticsData(typedTrackEvent)
+        )
+    }
+
+    @Test
+    fun testHandleTypedTrackRequest_allowedAndDeniedKeys_filtersContextData() {
+        configureLimits(
+            mapOf(
+                "edgebridge.allowedKeys" to listOf("&&c1", "key1", "debug"),
+                "edgebridge.deniedKeys" to listOf("debug")
+            )
+        )
+        val request = TrackRequest.Builder()
+            .setState("state name")
+            .setContextData(mapOf("key1" to "value1", "key2" to "value2", "debug" to "true"))
+            .setAnalyticsData(mapOf("c1" to "propValue1", "c2" to "propValue2"))
+            .build()
+
+        extension.handleTypedTrackRequest(createTypedTrackEvent(request))
+
+        val analyticsData = getAnalyticsData(captureAndAssertDispatchedEvent())
+        assertEquals("state name", analyticsData["pageName"])
+        assertEquals("propValue1", analyticsData["c1"])
+        assertNull(analyticsData["c2"])
+        assertEquals(mapOf("key1" to "value1", "a.AppID" to "null"), analyticsData["contextData"])
+    }
+
+    @Test
+    fun testHandleTypedTrackRequest_copiesRequestDataOnce() {
+        // Event data as copied by the event hub, counting every pass over its entries
+        val contextData = EntryCountingMap(mapOf("key1" to "value1", "&&c1" to "propValue1"))
+        val eventData = EntryCountingMap(mapOf("action" to "action name", "contextdata" to contextData))
+        val event = Mockito.mock(Event::class.java)
+        whenever(event.eventData).thenReturn(eventData)
+
+        val dispatchedEvent = Mockito.mockStatic(EventDataUtils::class.java, Mockito.CALLS_REAL_METHODS).use { eventDataUtils ->
+            extension.handleTypedTrackRequest(event)
+            val dispatchedEvent = captureAndAssertDispatchedEvent()
+
+            // Only the Edge request event builder copies the formatted data
+            eventDataUtils.verify({ EventDataUtils.clone(any()) }, never())
+            eventDataUtils.verify({ EventDataUtils.immutableClone(any()) }, times(1))
+            dispatchedEvent
+        }
+
+        // The event data is only read, and its context data is copied once, into the Edge request
+        assertEquals(0, eventData.entryPasses)
+        assertEquals(1, contextData.entryPasses)
+        assertEquals(
+            mapOf("linkName" to "action name", "linkType" to "other", "cp" to "foreground", "c1" to "propValue1", "contextData" to mapOf("key1" to "value1", "a.AppID" to "null")),
+            getAnalyticsData(dispatchedEvent)
+        )
+    }
+
+    @Test
+    fun testHandleTypedTrackRequest_nonStringContextData_skipsEntries() {
+        extension.handleTypedTrackRequest(
+            Event.Builder("Edge Bridge Track Request", "com.adobe.eventType.edgeBridge", "com.adobe.eventSource.requestTrack")
+                .setEventData(mapOf("state" to "state name", "contextdata" to mapOf("key1" to "value1", "count" to 1, "&&c1" to 2)))
+                .build()
+        )
+
+        val analyticsData = getAnalyticsData(captureAndAssertDispatchedEvent())
+        assertEquals("state name", analyticsData["pageName"])
+        assertNull(analyticsData["c1"])
+        assertEquals(mapOf("key1" to "value1", "a.AppID" to "null"), analyticsData["contextData"])
+    }
+
+    @Test
+    fun testHandleTypedTrackRequest_emptyRequest_dropsEvent() {
+        extension.handleTypedTrackRequest(
+            Event.Builder("Edge Bridge Track Request", "com.adobe.eventType.edgeBridge", "com.adobe.eventSource.requestTrack")
+                .setEventData(mapOf("action" to "", "contextdata" to mapOf("" to "value1")))
+                .build()
+        )
+
+        verify(mockExtensionApi, never()).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["emptyData"])
+    }
+
+    @Test
+    fun testHandleTypedTrackRequest_duplicateRequest_dropsEvent() {
+        configureDedup()
+        val request = TrackRequest.Builder().setAction("action name").build()
+
+        extension.handleTypedTrackRequest(createTypedTrackEvent(request))
+        extension.handleTypedTrackRequest(createTypedTrackEvent(TrackRequest.Builder().setAction("action name").build()))
+
+        verify(mockExtensionApi, times(1)).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["duplicate"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_stateNotSelected_dropsEvent() {
+        configureLimits(mapOf("edgebridge.bridgeStates" to listOf("checkout*")))
+
+        extension.handleTrackRequest(
+            Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+                .setEventData(mapOf("state" to "home"))
+                .build()
+        )
+        extension.handleTrackRequest(
+            Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+                .setEventData(mapOf("state" to "checkout:payment"))
+                .build()
+        )
+
+        verify(mockExtensionApi, times(1)).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["notSelected"])
+    }
+
+    @Test
+    fun testHandleRulesEngineResponse_bridgeRulesEngineFalse_dropsEvent() {
+        configureLimits(mapOf("edgebridge.bridgeRulesEngine" to false))
+
+        extension.handleRulesEngineResponse(createRulesEngineEvent("id", mapOf("action" to "Test Action")))
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, times(1)).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["notSelected"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_registeredPredicateRejects_dropsEvent() {
+        EdgeBridge.setBridgePredicate { action, _, _ -> action != "action name" }
+
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, never()).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["notSelected"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_keyPatterns_filtersContextData() {
+        configureLimits(
+            mapOf(
+                "edgebridge.allowedKeys" to listOf("&&*", "app.*", "user?"),
+                "edgebridge.deniedKeys" to listOf("app.debug.*", "*.tmp")
+            )
+        )
+        val event = Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+            .setEventData(
+                mapOf(
+                    "action" to "action name",
+                    "contextdata" to mapOf(
+                        "&&events" to "event1",
+                        "&&c1.tmp" to "propValue1",
+                        "app.version" to "1.0",
+                        "app.debug.level" to "verbose",
+                        "user1" to "value1",
+                        "user10" to "value10",
+                        "key" to "value"
+                    )
+                )
+            )
+            .build()
+
+        extension.handleTrackRequest(event)
+
+        val analyticsData = getAnalyticsData(captureAndAssertDispatchedEvent())
+        assertEquals("event1", analyticsData["events"])
+        assertNull(analyticsData["c1.tmp"])
+        assertEquals(mapOf("app.version" to "1.0", "user1" to "value1", "a.AppID" to "null"), analyticsData["contextData"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_mappingRules_routesContextData() {
+        configureLimits(
+            mapOf(
+                "edgebridge.mappingRules" to listOf(
+                    mapOf("key" to "page", "to" to "analytics", "as" to "pageName"),
+                    mapOf("prefix" to "debug.", "to" to "drop"),
+                    mapOf("key" to "sku", "to" to "xdm", "as" to "commerce.product.sku")
+                )
+            )
+        )
+        val event = Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+            .setEventData(
+                mapOf(
+                    "action" to "action name",
+                    "contextdata" to mapOf(
+                        "page" to "home",
+                        "debug.level" to "verbose",
+                        "sku" to "12345",
+                        "&&events" to "event1",
+                        "key1" to "value1"
+                    )
+                )
+            )
+            .build()
+
+        extension.handleTrackRequest(event)
+
+        val dispatchedEvent = captureAndAssertDispatchedEvent()
+        val analyticsData = getAnalyticsData(dispatchedEvent)
+        assertEquals("home", analyticsData["pageName"])
+        assertEquals("event1", analyticsData["events"])
+        assertEquals(mapOf("key1" to "value1", "a.AppID" to "null"), analyticsData["contextData"])
+
+        val xdm = dispatchedEvent.eventData["xdm"] as Map<String, Any?>
+        assertEquals(mapOf("product" to mapOf("sku" to "12345")), xdm["commerce"])
+        assertEquals(EdgeBridgeTestConstants.JsonValues.EVENT_TYPE, xdm["eventType"])
+    }
+
+    // ========================================================================================
+    // Collect consent
+    // ========================================================================================
+
+    @Test
+    fun testHandleTrackRequest_collectConsentDenied_dropsEventBeforeFormatting() {
+        configureConsent("n")
+
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, never()).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["consentDenied"])
+        assertEquals(0L, getDroppedMetrics()["noMappableData"])
+    }
+
+    @Test
+    fun testHandleRulesEngineResponse_collectConsentDenied_dropsEvent() {
+        configureConsent("n")
+
+        extension.handleRulesEngineResponse(
+            Event.Builder("Test Rules Engine Event", EventType.RULES_ENGINE, EventSource.RESPONSE_CONTENT)
+                .setEventData(
+                    mapOf(
+                        "triggeredconsequence" to mapOf(
+                            "type" to "an",
+                            "id" to "some value",
+                            "detail" to mapOf("action" to "Test Action")
+                        )
+                    )
+                )
+                .build()
+        )
+
+        verify(mockExtensionApi, never()).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["consentDenied"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_collectConsentPending_dispatchesEventsToEdge() {
+        configureConsent("p")
+        val trackEvents = listOf(createTrackActionEvent(), createTrackActionEvent())
+
+        trackEvents.forEach { extension.handleTrackRequest(it) }
+
+        // Events are not held while consent is pending, the Edge extension queues them instead
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, times(2)).dispatch(eventCaptor.capture())
+        assertEquals(trackEvents.map { it.uniqueIdentifier }, eventCaptor.allValues.map { it.parentID })
+    }
+
+    @Test
+    fun testHandleTrackRequest_collectConsentDeniedAfterPending_dropsLaterEvents() {
+        configureConsent("p")
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        configureConsent("n")
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, times(1)).dispatch(any())
+        assertEquals(1L, getDroppedMetrics()["consentDenied"])
+    }
+
+    @Test
+    fun testHandleTrackRequest_consentNotRegistered_dispatchesEvent() {
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, times(1)).dispatch(any())
+    }
+
+    // ========================================================================================
+    // handleSharedStateUpdate
+    // ========================================================================================
+
+    @Test
+    fun testHandleTrackRequest_edgeNotRegistered_holdsEventsUntilEdgeRegisters() {
+        whenever(mockExtensionApi.getSharedState(eq("com.adobe.module.eventhub"), any(), eq(false), eq(SharedStateResolution.ANY)))
+            .thenReturn(createEventHubState(edgeRegistered = false))
+        val trackEvents = listOf(createTrackActionEvent(), createTrackActionEvent())
+
+        trackEvents.forEach { extension.handleTrackRequest(it) }
+        verify(mockExtensionApi, never()).dispatch(any())
+
+        whenever(mockExtensionApi.getSharedState(eq("com.adobe.module.eventhub"), any(), eq(false), eq(SharedStateResolution.ANY)))
+            .thenReturn(createEventHubState(edgeRegistered = true))
+        extension.handleSharedStateUpdate(createSharedStateEvent("com.adobe.module.eventhub"))
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, times(2)).dispatch(eventCaptor.capture())
+        assertEquals(trackEvents.map { it.uniqueIdentifier }, eventCaptor.allValues.map { it.parentID })
+    }
+
+    @Test
+    fun testHandleTrackRequest_edgeNotRegistered_eventHubStatePending_holdsEvents() {
+        whenever(mockExtensionApi.getSharedState(eq("com.adobe.module.eventhub"), any(), eq(false), eq(SharedStateResolution.ANY)))
+            .thenReturn(SharedStateResult(SharedStateStatus.PENDING, null))
+
+        extension.handleTrackRequest(createTrackActionEvent())
+
+        verify(mockExtensionApi, never()).dispatch(any())
+    }
+
+    @Test
+    fun testHandleTrackRequest_edgeRegistersLater_dispatchesHeldEventsWithNextTrackEvent() {
+        whenever(mockExtensionApi.getSharedState(eq("com.adobe.module.eventhub"), any(), eq(false), eq(SharedStateResolution.ANY)))
+            .thenReturn(createEventHubState(edgeRegistered = false))
+            .thenReturn(createEventHubState(edgeRegistered = true))
+
+        extension.handleTrackRequest(createTrackActionEvent())
+        verify(mockExtensionApi, never()).dispatch(any())
+
+        extension.handleTrackRequest(createTrackActionEvent())
+        verify(mockExtensionApi, times(2)).dispatch(any())
+    }
+
+    @Test
+    fun testHandleSharedStateUpdate_otherStateOwner_doesNotReadEventHubState() {
+        extension.handleSharedStateUpdate(createSharedStateEvent("com.adobe.module.configuration"))
+
+        verify(mockExtensionApi, never()).getSharedState(any(), any(), any(), any())
+    }
+
     // ========================================================================================
     // handleRulesEngineResponse
     // ========================================================================================
@@ -1040,6 +1867,64 @@ class EdgeBridgeExtensionTests {
         assertEquals(event.uniqueIdentifier, responseEvent.parentID)
     }
 
+    @Test
+    fun testHandleRulesEngineResponse_sameConsequenceTwice_dispatchesSameData() {
+        val firstEvent = createRulesEngineEvent("consequenceId", mapOf("action" to "Test Action"))
+        val secondEvent = createRulesEngineEvent("consequenceId", mapOf("action" to "Test Action"))
+
+        extension.handleRulesEngineResponse(firstEvent)
+        extension.handleRulesEngineResponse(secondEvent)
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, times(2)).dispatch(eventCaptor.capture())
+        val (firstResponse, secondResponse) = eventCaptor.allValues
+        assertEquals(firstResponse.eventData["data"], secondResponse.eventData["data"])
+        assertEquals(firstEvent.uniqueIdentifier, firstResponse.parentID)
+        assertEquals(secondEvent.uniqueIdentifier, secondResponse.parentID)
+        assertEquals(
+            TimeUtils.getISO8601UTCDateWithMilliseconds(Date(secondEvent.timestamp)),
+            (secondResponse.eventData["xdm"] as Map<*, *>)["timestamp"]
+        )
+    }
+
+    @Test
+    fun testHandleRulesEngineResponse_sameConsequenceIdDifferentDetail_formatsNewDetail() {
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequenceId", mapOf("action" to "First Action")))
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequenceId", mapOf("action" to "Second Action")))
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, times(2)).dispatch(eventCaptor.capture())
+        assertEquals("First Action", getAnalyticsData(eventCaptor.allValues[0])["linkName"])
+        assertEquals("Second Action", getAnalyticsData(eventCaptor.allValues[1])["linkName"])
+    }
+
+    @Test
+    fun testHandleRulesEngineResponse_sameConsequenceAfterPause_usesBackgroundPerspective() {
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequenceId", mapOf("action" to "Test Action")))
+        extension.handleLifecycleRequest(createLifecycleEvent("pause"))
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequenceId", mapOf("action" to "Test Action")))
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, atLeastOnce()).dispatch(eventCaptor.capture())
+        val edgeRequests = eventCaptor.allValues.filter { it.type == EventType.EDGE }
+        assertEquals(2, edgeRequests.size)
+        assertEquals("foreground", getAnalyticsData(edgeRequests[0])["cp"])
+        assertEquals("background", getAnalyticsData(edgeRequests[1])["cp"])
+    }
+
+    @Test
+    fun testHandleRulesEngineReset_afterConsequence_dispatchesNextConsequence() {
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequenceId", mapOf("action" to "Test Action")))
+        extension.handleRulesEngineReset(
+            Event.Builder("Rules Engine Reset", EventType.RULES_ENGINE, EventSource.REQUEST_RESET).build()
+        )
+        extension.handleRulesEngineResponse(createRulesEngineEvent("consequenceId", mapOf("action" to "Test Action")))
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, times(2)).dispatch(eventCaptor.capture())
+        assertEquals(eventCaptor.allValues[0].eventData["data"], eventCaptor.allValues[1].eventData["data"])
+    }
+
     @Test
     fun testHandleRulesEngineResponse_withNullEventData_doesNotDispatchEvent() {
         val event = Event.Builder("Test Rules Engine Event", EventType.RULES_ENGINE, EventSource.RESPONSE_CONTENT)
@@ -1291,12 +2176,84 @@ class EdgeBridgeExtensionTests {
         assertNull(result)
     }
 
+    @Test
+    fun testFormatData_unsupportedValueType_returnsNull() {
+        val result = extension.formatData(mapOf("action" to "action name", "key" to Any()))
+        assertNull(result)
+        assertEquals(1L, getDroppedMetrics()["cloneFailure"])
+    }
+
+    @Test
+    fun testFormatData_doesNotCopyPassThroughValues() {
+        val passThroughValue = mapOf("nested" to listOf("value"))
+        val result = extension.formatData(mapOf("action" to "action name", "key" to passThroughValue))
+        assertSame(passThroughValue, result?.get("key"))
+    }
+
+    @Test
+    fun testHandleTrackEvent_copiesEventDataOncePerEvent() {
+        val event = Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+            .setEventData(
+                mapOf(
+                    "action" to "action name",
+                    "contextdata" to mapOf("key" to "value"),
+                    "key" to mapOf("nested" to listOf("value"))
+                )
+            )
+            .build()
+
+        Mockito.mockStatic(EventDataUtils::class.java, Mockito.CALLS_REAL_METHODS).use { eventDataUtils ->
+            extension.handleTrackRequest(event)
+            captureAndAssertDispatchedEvent()
+
+            // Only the event builder copies the Edge request event data
+            eventDataUtils.verify({ EventDataUtils.clone(any()) }, never())
+            eventDataUtils.verify({ EventDataUtils.immutableClone(any()) }, times(1))
+        }
+    }
+
     @Test
     fun testFormatData_nullMap_returnsNull() {
         val result = extension.formatData(null)
         assertNull(result)
     }
 
+    @Test
+    fun testFormatData_doesNotModifySourceData() {
+        val contextData = mutableMapOf<String, Any?>("&&c1" to "propValue1", "key1" to "value1")
+        val data = mutableMapOf<String, Any?>(
+            "action" to "action name",
+            "contextdata" to contextData,
+            "key2" to "value2"
+        )
+
+        extension.formatData(data)
+
+        assertEquals(
+            mapOf(
+                "action" to "action name",
+                "contextdata" to mapOf("&&c1" to "propValue1", "key1" to "value1"),
+                "key2" to "value2"
+            ),
+            data
+        )
+    }
+
+    @Test
+    fun testFormatData_passThroughData_isCopied() {
+        val nested = mutableMapOf<String, Any?>("key1" to "value1")
+        val data = mapOf<String, Any?>(
+            "action" to "action name",
+            "nested" to nested
+        )
+
+        val result = extension.formatData(data)
+
+        assertNotNull(result)
+        assertEquals(nested, result!!["nested"])
+        assertNotSame(nested, result["nested"])
+    }
+
     // Private helper methods
     private fun captureAndAssertDispatchedEvent(
         expectedType: String = EventType.EDGE,
@@ -1315,6 +2272,161 @@ class EdgeBridgeExtensionTests {
         return responseEvent
     }
 
+    private fun createRulesEngineEvent(consequenceId: String, detail: Map<String, Any>, triggeringEvent: Event? = null): Event {
+        val builder = Event.Builder("Test Rules Engine Event", EventType.RULES_ENGINE, EventSource.RESPONSE_CONTENT)
+            .setEventData(
+                mapOf(
+                    "triggeredconsequence" to mapOf(
+                        "type" to "an",
+                        "id" to consequenceId,
+                        "detail" to detail
+                    )
+                )
+            )
+        if (triggeringEvent != null) {
+            builder.chainToParentEvent(triggeringEvent)
+        }
+        return builder.build()
+    }
+
+    /**
+     * Read-only map counting the passes over its entries, which every copy of the map makes.
+     */
+    private class EntryCountingMap(private val delegate: Map<String, Any?>) : AbstractMap<String, Any?>() {
+        var entryPasses = 0
+
+        override val entries: Set<Map.Entry<String, Any?>>
+            get() {
+                entryPasses++
+                return delegate.entries
+            }
+        override val size: Int get() = delegate.size
+        override fun isEmpty(): Boolean = delegate.isEmpty()
+        override fun containsKey(key: String): Boolean = delegate.containsKey(key)
+        override fun get(key: String): Any? = delegate[key]
+    }
+
+    private fun createTypedTrackEvent(request: TrackRequest): Event {
+        return Event.Builder("Edge Bridge Track Request", "com.adobe.eventType.edgeBridge", "com.adobe.eventSource.requestTrack")
+            .setEventData(request.toEventData())
+            .build()
+    }
+
+    private fun createTrackActionEvent(): Event {
+        return Event.Builder("Test Track Event", EventType.GENERIC_TRACK, EventSource.REQUEST_CONTENT)
+            .setEventData(mapOf("action" to "action name"))
+            .build()
+    }
+
+    private fun createConfigurationEvent(): Event {
+        return Event.Builder("Configuration Response Event", EventType.CONFIGURATION, EventSource.RESPONSE_CONTENT)
+            .build()
+    }
+
+    private fun configureConsent(collect: String) {
+        whenever(mockExtensionApi.getXDMSharedState(eq("com.adobe.edge.consent"), any(), eq(false), eq(SharedStateResolution.LAST_SET)))
+            .thenReturn(
+                SharedStateResult(
+                    SharedStateStatus.SET,
+                    mapOf("consents" to mapOf("collect" to mapOf("val" to collect)))
+                )
+            )
+        extension.handleSharedStateUpdate(createSharedStateEvent("com.adobe.edge.consent"))
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun getDroppedMetrics(): Map<String, Any> {
+        return getMetrics()["dropped"] as Map<String, Any>
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun getMetrics(): Map<String, Any> {
+        extension.handleMetricsRequest(
+            Event.Builder("Edge Bridge Get Metrics Request", "com.adobe.eventType.edgeBridge", EventSource.REQUEST_CONTENT)
+                .build()
+        )
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, atLeastOnce()).dispatch(eventCaptor.capture())
+        return eventCaptor.value.eventData["metrics"] as Map<String, Any>
+    }
+
+    private fun createSharedStateEvent(stateOwner: String): Event {
+        return Event.Builder("Shared State Change", EventType.HUB, EventSource.SHARED_STATE)
+            .setEventData(mapOf("stateowner" to stateOwner))
+            .build()
+    }
+
+    private fun createEventHubState(edgeRegistered: Boolean): SharedStateResult {
+        val extensions = mutableMapOf<String, Any>(
+            "com.adobe.edge.bridge" to mapOf("version" to EdgeBridgeConstants.EXTENSION_VERSION)
+        )
+        if (edgeRegistered) {
+            extensions["com.adobe.edge"] = mapOf("version" to "3.0.0")
+        }
+        return SharedStateResult(SharedStateStatus.SET, mapOf("extensions" to extensions))
+    }
+
+    private fun configureWorker() {
+        whenever(mockExtensionApi.getSharedState(eq("com.adobe.module.configuration"), any(), eq(false), eq(SharedStateResolution.ANY)))
+            .thenReturn(
+                SharedStateResult(
+                    SharedStateStatus.SET,
+                    mapOf(
+                        "edgebridge.workerEnabled" to true,
+                        "edgebridge.workerQueueSize" to 10
+                    )
+                )
+            )
+        extension.handleConfigurationResponse(createConfigurationEvent())
+    }
+
+    private fun configureLimits(limits: Map<String, Any>) {
+        whenever(mockExtensionApi.getSharedState(eq("com.adobe.module.configuration"), any(), eq(false), eq(SharedStateResolution.ANY)))
+            .thenReturn(SharedStateResult(SharedStateStatus.SET, limits))
+        extension.handleConfigurationResponse(createConfigurationEvent())
+    }
+
+    private fun configureDedup() {
+        whenever(mockExtensionApi.getSharedState(eq("com.adobe.module.configuration"), any(), eq(false), eq(SharedStateResolution.ANY)))
+            .thenReturn(
+                SharedStateResult(
+                    SharedStateStatus.SET,
+                    mapOf(
+                        "edgebridge.dedupEnabled" to true,
+                        "edgebridge.dedupWindow" to 10000
+                    )
+                )
+            )
+        extension.handleConfigurationResponse(createConfigurationEvent())
+    }
+
+    private fun configureCoalescing(window: Long = 10000) {
+        whenever(mockExtensionApi.getSharedState(eq("com.adobe.module.configuration"), any(), eq(false), eq(SharedStateResolution.ANY)))
+            .thenReturn(
+                SharedStateResult(
+                    SharedStateStatus.SET,
+                    mapOf(
+                        "edgebridge.coalesceEnabled" to true,
+                        "edgebridge.coalesceWindow" to window
+                    )
+                )
+            )
+        extension.handleConfigurationResponse(createConfigurationEvent())
+    }
+
+    private fun createLifecycleEvent(action: String): Event {
+        return Event.Builder("Test Lifecycle Event", EventType.GENERIC_LIFECYCLE, EventSource.REQUEST_CONTENT)
+            .setEventData(mapOf("action" to action))
+            .build()
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun getAnalyticsData(event: Event): Map<String, Any?> {
+        val data = event.eventData["data"] as Map<String, Any?>
+        val adobe = data["__adobe"] as Map<String, Any?>
+        return adobe["analytics"] as Map<String, Any?>
+    }
+
     private fun createDeeplyNestedMap(depth: Int): Map<String, Any> {
         val map: MutableMap<String, Any> = HashMap()
         var currentLevel = map
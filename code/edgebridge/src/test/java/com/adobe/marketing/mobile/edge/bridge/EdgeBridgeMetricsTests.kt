@@ -0,0 +1,132 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+@Suppress("UNCHECKED_CAST")
+class EdgeBridgeMetricsTests {
+    private lateinit var metrics: EdgeBridgeMetrics
+
+    @Before
+    fun setup() {
+        metrics = EdgeBridgeMetrics()
+    }
+
+    @Test
+    fun testSnapshot_noEvents_allCountersZero() {
+        val snapshot = metrics.snapshot()
+
+        assertEquals(mapOf("track" to 0L, "rulesEngine" to 0L), snapshot["received"])
+        assertEquals(0L, snapshot["dispatched"])
+        assertEquals(0L, snapshot["coalesced"])
+        assertEquals(0L, snapshot["truncated"])
+        assertNull(snapshot["split"])
+        val dropped = snapshot["dropped"] as Map<String, Any>
+        assertEquals(16, dropped.size)
+        dropped.values.forEach { assertEquals(0L, it) }
+        val latency = snapshot["latency"] as Map<String, Any>
+        assertEquals(0L, latency["count"])
+        assertEquals(0L, latency["sumMicroseconds"])
+    }
+
+    @Test
+    fun testRecordLimited_countsOutcomesPerLimit() {
+        metrics.recordLimited(EdgeBridgeMetrics.LimitScope.ACTION, "scroll", null)
+        metrics.recordLimited(EdgeBridgeMetrics.LimitScope.ACTION, "scroll", EdgeBridgeMetrics.DropReason.SAMPLED)
+        metrics.recordLimited(EdgeBridgeMetrics.LimitScope.STATE, "Home", EdgeBridgeMetrics.DropReason.RATE_LIMITED)
+        metrics.recordLimited(EdgeBridgeMetrics.LimitScope.RULES_ENGINE, null, null)
+
+        val limits = metrics.snapshot()["limits"] as Map<String, Any>
+        assertEquals(mapOf("scroll" to mapOf("passed" to 1L, "sampled" to 1L, "rateLimited" to 0L)), limits["actions"])
+        assertEquals(mapOf("Home" to mapOf("passed" to 0L, "sampled" to 0L, "rateLimited" to 1L)), limits["states"])
+        assertEquals(mapOf("passed" to 1L, "sampled" to 0L, "rateLimited" to 0L), limits["rulesEngine"])
+    }
+
+    @Test
+    fun testRecordReceived_countsPerSource() {
+        metrics.recordReceived(EdgeBridgeMetrics.Source.TRACK)
+        metrics.recordReceived(EdgeBridgeMetrics.Source.TRACK)
+        metrics.recordReceived(EdgeBridgeMetrics.Source.RULES_ENGINE)
+
+        assertEquals(mapOf("track" to 2L, "rulesEngine" to 1L), metrics.snapshot()["received"])
+    }
+
+    @Test
+    fun testRecordDropped_countsPerReason() {
+        metrics.recordDropped(EdgeBridgeMetrics.DropReason.EMPTY_DATA)
+        metrics.recordDropped(EdgeBridgeMetrics.DropReason.NOT_ANALYTICS_CONSEQUENCE)
+        metrics.recordDropped(EdgeBridgeMetrics.DropReason.NOT_ANALYTICS_CONSEQUENCE)
+
+        val dropped = metrics.snapshot()["dropped"] as Map<String, Any>
+        assertEquals(1L, dropped["emptyData"])
+        assertEquals(2L, dropped["notAnalyticsConsequence"])
+        assertEquals(0L, dropped["noMappableData"])
+    }
+
+    @Test
+    fun testRecordCoalesced_countsMergedConsequences() {
+        metrics.recordCoalesced()
+        metrics.recordCoalesced()
+
+        assertEquals(2L, metrics.snapshot()["coalesced"])
+    }
+
+    @Test
+    fun testRecordTruncated_countsOversizedEvents() {
+        metrics.recordTruncated()
+        metrics.recordTruncated()
+
+        assertEquals(2L, metrics.snapshot()["truncated"])
+    }
+
+    @Test
+    fun testRecordDispatched_recordsLatency() {
+        metrics.recordDispatched(System.nanoTime())
+        metrics.recordDispatched(System.nanoTime() - TimeUnit.SECONDS.toNanos(2))
+
+        val snapshot = metrics.snapshot()
+        assertEquals(2L, snapshot["dispatched"])
+
+        val latency = snapshot["latency"] as Map<String, Any>
+        assertEquals(2L, latency["count"])
+        val buckets = latency["buckets"] as Map<String, Any>
+        assertEquals(1L, buckets["gt1000000us"])
+        assertEquals(2L, buckets.values.sumOf { it as Long })
+    }
+
+    @Test
+    fun testRecordReceived_concurrentWriters_countsAllEvents() {
+        val threads = 8
+        val eventsPerThread = 1000
+        val executor = Executors.newFixedThreadPool(threads)
+        val latch = CountDownLatch(threads)
+
+        repeat(threads) {
+            executor.execute {
+                repeat(eventsPerThread) { metrics.recordReceived(EdgeBridgeMetrics.Source.TRACK) }
+                latch.countDown()
+            }
+        }
+        latch.await(5, TimeUnit.SECONDS)
+        executor.shutdown()
+
+        val received = metrics.snapshot()["received"] as Map<String, Any>
+        assertEquals((threads * eventsPerThread).toLong(), received["track"])
+    }
+}
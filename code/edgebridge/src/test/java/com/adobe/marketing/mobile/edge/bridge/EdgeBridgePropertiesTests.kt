@@ -26,6 +26,9 @@ import org.mockito.MockedStatic
 import org.mockito.Mockito
 import org.mockito.MockitoAnnotations
 import org.mockito.junit.MockitoJUnitRunner
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 
 @RunWith(MockitoJUnitRunner::class)
@@ -62,6 +65,8 @@ class EdgeBridgePropertiesTests {
         whenever(mockServiceProvider.deviceInfoService).thenReturn(mockDeviceInfoService)
 
         Mockito.reset(mockExtensionApi)
+        EdgeBridgeProperties.resetApplicationIdentifier()
+        EdgeBridgeProperties.resetCustomerPerspective()
         extension = EdgeBridgeExtension(mockExtensionApi)
     }
 
@@ -245,6 +250,65 @@ class EdgeBridgePropertiesTests {
         assertEquals("background", actual)
     }
 
+    // Validates the cached perspective is used without reading the application state
+    @Test
+    fun testCustomerPerspective_withCachedPerspective_doesNotReadAppState() {
+        EdgeBridgeProperties.setCustomerPerspective("background")
+
+        val actual = EdgeBridgeProperties.getCustomerPerspective()
+
+        assertEquals("background", actual)
+        verify(mockServiceProvider, never()).appContextService
+        verify(mockAppContextService, never()).appState
+    }
+
+    // Validates the application state is read until a perspective is cached
+    @Test
+    fun testCustomerPerspective_withoutCachedPerspective_readsAppState() {
+        configureAppContextService(AppState.BACKGROUND)
+
+        assertEquals("background", EdgeBridgeProperties.getCustomerPerspective())
+
+        EdgeBridgeProperties.setCustomerPerspective("foreground")
+
+        assertEquals("foreground", EdgeBridgeProperties.getCustomerPerspective())
+        verify(mockAppContextService, times(1)).appState
+    }
+
+    // Validates the cached perspective is used when the application state is unknown
+    @Test
+    fun testCustomerPerspective_withCachedPerspective_andAppStateUnknown_returnsCachedPerspective() {
+        EdgeBridgeProperties.setCustomerPerspective("background")
+        configureAppContextService(null)
+
+        val actual = EdgeBridgeProperties.getCustomerPerspective()
+
+        assertEquals("background", actual)
+    }
+
+    // Validates the cached perspective is used when the AppContextService is unavailable
+    @Test
+    fun testCustomerPerspective_withCachedPerspective_andNoAppContextService_returnsCachedPerspective() {
+        whenever(mockServiceProvider.appContextService).thenReturn(null)
+        EdgeBridgeProperties.setCustomerPerspective("background")
+
+        val actual = EdgeBridgeProperties.getCustomerPerspective()
+
+        assertEquals("background", actual)
+    }
+
+    // Validates the default is used once the cached perspective is cleared
+    @Test
+    fun testCustomerPerspective_afterReset_andAppStateUnknown_returnsForeground() {
+        EdgeBridgeProperties.setCustomerPerspective("background")
+        EdgeBridgeProperties.resetCustomerPerspective()
+        configureAppContextService(null)
+
+        val actual = EdgeBridgeProperties.getCustomerPerspective()
+
+        assertEquals("foreground", actual)
+    }
+
     // endregion getCustomerPerspective tests
     // region getApplicationIdentifier tests
 
@@ -283,6 +347,19 @@ class EdgeBridgePropertiesTests {
 
         assertEquals("null (456)", actual)
     }
+
+    @Test
+    fun testApplicationIdentifier_calledMultipleTimes_computedOnce() {
+        configureDeviceInfoService("Test App Name", "1.2.3", "456")
+
+        assertEquals("Test App Name 1.2.3 (456)", EdgeBridgeProperties.getApplicationIdentifier())
+        assertEquals("Test App Name 1.2.3 (456)", EdgeBridgeProperties.getApplicationIdentifier())
+
+        verify(mockDeviceInfoService, times(1)).applicationName
+        verify(mockDeviceInfoService, times(1)).applicationVersion
+        verify(mockDeviceInfoService, times(1)).applicationVersionCode
+    }
+
     // endregion getApplicationIdentifier tests
     // endregion Properties tests
 
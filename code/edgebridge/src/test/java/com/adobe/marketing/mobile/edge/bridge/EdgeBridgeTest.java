@@ -15,23 +15,33 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 
 import android.app.Application;
 import android.content.Context;
+import com.adobe.marketing.mobile.AdobeCallbackWithError;
+import com.adobe.marketing.mobile.AdobeError;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.EventSource;
 import com.adobe.marketing.mobile.Extension;
 import com.adobe.marketing.mobile.MobileCore;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -98,6 +108,124 @@ public class EdgeBridgeTest {
 		);
 	}
 
+	// ========================================================================================
+	// getMetrics
+	// ========================================================================================
+	@Test
+	public void test_getMetrics_dispatchesRequestEvent_andReturnsMetrics() {
+		try (MockedStatic<MobileCore> mobileCoreMockedStatic = Mockito.mockStatic(MobileCore.class)) {
+			final Map<String, Object> metrics = new HashMap<>();
+			metrics.put("dispatched", 5L);
+			final Map<String, Object> responseData = new HashMap<>();
+			responseData.put("metrics", metrics);
+
+			final List<Map<String, Object>> results = new ArrayList<>();
+			EdgeBridge.getMetrics(results::add);
+
+			final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+			final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor = ArgumentCaptor.forClass(
+				AdobeCallbackWithError.class
+			);
+			mobileCoreMockedStatic.verify(() ->
+				MobileCore.dispatchEventWithResponseCallback(eventCaptor.capture(), anyLong(), callbackCaptor.capture())
+			);
+
+			final Event requestEvent = eventCaptor.getValue();
+			assertEquals("com.adobe.eventType.edgeBridge", requestEvent.getType());
+			assertEquals(EventSource.REQUEST_CONTENT, requestEvent.getSource());
+
+			final Event responseEvent = new Event.Builder(
+				"Edge Bridge Metrics Response",
+				"com.adobe.eventType.edgeBridge",
+				EventSource.RESPONSE_CONTENT
+			)
+				.setEventData(responseData)
+				.build();
+			callbackCaptor.getValue().call(responseEvent);
+
+			assertEquals(1, results.size());
+			assertEquals(metrics, results.get(0));
+		}
+	}
+
+	@Test
+	public void test_getMetrics_responseWithoutMetrics_returnsError() {
+		try (MockedStatic<MobileCore> mobileCoreMockedStatic = Mockito.mockStatic(MobileCore.class)) {
+			final List<AdobeError> errors = new ArrayList<>();
+			EdgeBridge.getMetrics(
+				new AdobeCallbackWithError<Map<String, Object>>() {
+					@Override
+					public void fail(final AdobeError error) {
+						errors.add(error);
+					}
+
+					@Override
+					public void call(final Map<String, Object> value) {}
+				}
+			);
+
+			final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor = ArgumentCaptor.forClass(
+				AdobeCallbackWithError.class
+			);
+			mobileCoreMockedStatic.verify(() ->
+				MobileCore.dispatchEventWithResponseCallback(any(), anyLong(), callbackCaptor.capture())
+			);
+
+			callbackCaptor
+				.getValue()
+				.call(
+					new Event.Builder(
+						"Edge Bridge Metrics Response",
+						"com.adobe.eventType.edgeBridge",
+						EventSource.RESPONSE_CONTENT
+					)
+						.build()
+				);
+
+			assertEquals(1, errors.size());
+			assertEquals(AdobeError.UNEXPECTED_ERROR, errors.get(0));
+		}
+	}
+
+	@Test
+	public void test_getMetrics_nullCallback_doesNotDispatchEvent() {
+		try (MockedStatic<MobileCore> mobileCoreMockedStatic = Mockito.mockStatic(MobileCore.class)) {
+			EdgeBridge.getMetrics(null);
+
+			mobileCoreMockedStatic.verifyNoInteractions();
+		}
+	}
+
+	// ========================================================================================
+	// track
+	// ========================================================================================
+	@Test
+	public void test_track_dispatchesRequestEvent_withRequestData() {
+		try (MockedStatic<MobileCore> mobileCoreMockedStatic = Mockito.mockStatic(MobileCore.class)) {
+			final TrackRequest request = new TrackRequest.Builder().setAction("action name").build();
+
+			EdgeBridge.track(request);
+
+			final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+			mobileCoreMockedStatic.verify(() -> MobileCore.dispatchEvent(eventCaptor.capture()));
+
+			final Event requestEvent = eventCaptor.getValue();
+			assertEquals("com.adobe.eventType.edgeBridge", requestEvent.getType());
+			assertEquals("com.adobe.eventSource.requestTrack", requestEvent.getSource());
+			assertEquals(request.toEventData(), requestEvent.getEventData());
+		}
+	}
+
+	@Test
+	public void test_track_nullOrEmptyRequest_doesNotDispatchEvent() {
+		try (MockedStatic<MobileCore> mobileCoreMockedStatic = Mockito.mockStatic(MobileCore.class)) {
+			EdgeBridge.track(null);
+			EdgeBridge.track(new TrackRequest.Builder().setAction("").build());
+
+			mobileCoreMockedStatic.verifyNoInteractions();
+		}
+	}
+
 	private Properties loadProperties(final String filepath) {
 		Properties properties = new Properties();
 		InputStream input = null;
@@ -0,0 +1,191 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@Suppress("UNCHECKED_CAST")
+class EdgeBridgeWorkerTests {
+    private lateinit var metrics: EdgeBridgeMetrics
+    private lateinit var worker: EdgeBridgeWorker
+
+    @Before
+    fun setup() {
+        metrics = EdgeBridgeMetrics()
+        worker = EdgeBridgeWorker(metrics)
+    }
+
+    @After
+    fun teardown() {
+        worker.shutdown()
+    }
+
+    @Test
+    fun testExecute_workerDisabled_runsOnCallingThread() {
+        var taskThread: Thread? = null
+
+        worker.execute { taskThread = Thread.currentThread() }
+
+        assertEquals(Thread.currentThread(), taskThread)
+    }
+
+    @Test
+    fun testExecute_workerEnabled_runsOnWorkerThread() {
+        worker.configure(createConfiguration(queueSize = 10))
+        val latch = CountDownLatch(1)
+        var taskThread: Thread? = null
+
+        worker.execute {
+            taskThread = Thread.currentThread()
+            latch.countDown()
+        }
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS))
+        assertNotEquals(Thread.currentThread(), taskThread)
+    }
+
+    @Test
+    fun testExecute_workerEnabled_runsTasksInOrder() {
+        worker.configure(createConfiguration(queueSize = 100))
+        val results = Collections.synchronizedList(mutableListOf<Int>())
+        val latch = CountDownLatch(50)
+
+        repeat(50) { i ->
+            worker.execute {
+                results.add(i)
+                latch.countDown()
+            }
+        }
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS))
+        assertEquals((0 until 50).toList(), results)
+    }
+
+    @Test
+    fun testExecute_queueFull_dropNewest_dropsAddedTask() {
+        worker.configure(createConfiguration(queueSize = 2, overflowPolicy = "dropNewest"))
+        val results = Collections.synchronizedList(mutableListOf<Int>())
+        val release = blockWorker()
+
+        repeat(3) { i -> worker.execute { results.add(i) } }
+        release.countDown()
+        worker.shutdown()
+
+        assertEquals(listOf(0, 1), results)
+        assertEquals(1L, getDropped()["queueOverflow"])
+    }
+
+    @Test
+    fun testExecute_queueFull_dropOldest_dropsOldestTask() {
+        worker.configure(createConfiguration(queueSize = 2, overflowPolicy = "dropOldest"))
+        val results = Collections.synchronizedList(mutableListOf<Int>())
+        val release = blockWorker()
+
+        repeat(3) { i -> worker.execute { results.add(i) } }
+        release.countDown()
+        worker.shutdown()
+
+        assertEquals(listOf(1, 2), results)
+        assertEquals(1L, getDropped()["queueOverflow"])
+    }
+
+    @Test
+    fun testExecuteAfterPending_queueFull_isNotDropped() {
+        worker.configure(createConfiguration(queueSize = 1, overflowPolicy = "dropOldest"))
+        val results = Collections.synchronizedList(mutableListOf<Int>())
+        val release = blockWorker()
+
+        worker.executeAfterPending { results.add(0) }
+        worker.execute { results.add(1) }
+        release.countDown()
+        worker.shutdown()
+
+        assertEquals(listOf(0), results)
+        assertEquals(1L, getDropped()["queueOverflow"])
+    }
+
+    @Test
+    fun testExecute_workerDisabledWithQueuedTasks_runsQueuedTasksFirst() {
+        worker.configure(createConfiguration(queueSize = 10))
+        val results = Collections.synchronizedList(mutableListOf<Int>())
+        val release = blockWorker()
+        worker.execute { results.add(0) }
+        worker.execute { results.add(1) }
+
+        worker.configure(EdgeBridgeConfiguration.DEFAULT)
+        release.countDown()
+        worker.execute { results.add(2) }
+
+        assertEquals(listOf(0, 1, 2), results)
+    }
+
+    @Test
+    fun testShutdown_runsQueuedTasks() {
+        worker.configure(createConfiguration(queueSize = 10))
+        val results = Collections.synchronizedList(mutableListOf<Int>())
+        val release = blockWorker()
+        worker.execute { results.add(0) }
+
+        release.countDown()
+        worker.shutdown()
+
+        assertEquals(listOf(0), results)
+    }
+
+    @Test
+    fun testExecute_taskThrows_laterTasksStillRun() {
+        worker.configure(createConfiguration(queueSize = 10))
+        val latch = CountDownLatch(1)
+
+        worker.execute { throw IllegalStateException("test") }
+        worker.execute { latch.countDown() }
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS))
+    }
+
+    /**
+     * Occupies the worker thread until the returned latch is released, so subsequently added tasks
+     * stay in the queue.
+     */
+    private fun blockWorker(): CountDownLatch {
+        val started = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        worker.execute {
+            started.countDown()
+            release.await(2, TimeUnit.SECONDS)
+        }
+        assertTrue(started.await(2, TimeUnit.SECONDS))
+        return release
+    }
+
+    private fun getDropped(): Map<String, Any> {
+        return metrics.snapshot()["dropped"] as Map<String, Any>
+    }
+
+    private fun createConfiguration(queueSize: Int, overflowPolicy: String = "dropNewest"): EdgeBridgeConfiguration {
+        return EdgeBridgeConfiguration.fromConfiguration(
+            mapOf(
+                "edgebridge.workerEnabled" to true,
+                "edgebridge.workerQueueSize" to queueSize,
+                "edgebridge.workerOverflowPolicy" to overflowPolicy
+            )
+        )
+    }
+}
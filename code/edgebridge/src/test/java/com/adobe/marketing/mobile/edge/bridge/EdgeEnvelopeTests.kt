@@ -0,0 +1,83 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.EventSource
+import com.adobe.marketing.mobile.EventType
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class EdgeEnvelopeTests {
+
+    private val data = mapOf<String, Any?>("action" to "action name")
+
+    @Test
+    fun testCreate_withoutXdmFields() {
+        val envelope = EdgeEnvelope.create(FormattedData(data, null), "timestamp")
+
+        val expected = mapOf(
+            "xdm" to mapOf(
+                "eventType" to "analytics.track",
+                "timestamp" to "timestamp"
+            ),
+            "data" to data
+        )
+        assertEquals(expected, envelope)
+        assertEquals(listOf("xdm", "data"), envelope.keys.toList())
+        assertSame(data, envelope["data"])
+        assertFalse(envelope.containsKey("request"))
+    }
+
+    @Test
+    fun testCreate_withXdmFields_mergesIntoXdm() {
+        val xdmFields = mapOf<String, Any?>("commerce" to mapOf("purchases" to mapOf("value" to 1)))
+        val envelope = EdgeEnvelope.create(FormattedData(data, xdmFields), "timestamp")
+
+        val expected = mapOf(
+            "commerce" to mapOf("purchases" to mapOf("value" to 1)),
+            "eventType" to "analytics.track",
+            "timestamp" to "timestamp"
+        )
+        assertEquals(expected, envelope["xdm"])
+    }
+
+    @Test
+    fun testCreate_setsTimestampPerEnvelope() {
+        val envelope1 = EdgeEnvelope.create(FormattedData(data, null), "timestamp1")
+        val envelope2 = EdgeEnvelope.create(FormattedData(data, null), "timestamp2")
+
+        assertEquals("timestamp1", (envelope1["xdm"] as Map<*, *>)["timestamp"])
+        assertEquals("timestamp2", (envelope2["xdm"] as Map<*, *>)["timestamp"])
+    }
+
+    @Test(expected = UnsupportedOperationException::class)
+    fun testCreate_isReadOnly() {
+        @Suppress("UNCHECKED_CAST")
+        (EdgeEnvelope.create(FormattedData(data, null), "timestamp") as MutableMap<String, Any?>)["key"] = "value"
+    }
+
+    @Test
+    fun testCreate_copiedByEventBuilder() {
+        val envelope = EdgeEnvelope.create(FormattedData(data, null), "timestamp")
+
+        val event = Event.Builder("name", EventType.EDGE, EventSource.REQUEST_CONTENT)
+            .setEventData(envelope)
+            .build()
+
+        assertEquals(envelope, event.eventData)
+        assertTrue(event.eventData["xdm"] is Map<*, *>)
+    }
+}
@@ -0,0 +1,162 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.EventSource
+import com.adobe.marketing.mobile.EventType
+import com.adobe.marketing.mobile.ExtensionApi
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentCaptor
+import org.mockito.Mock
+import org.mockito.junit.MockitoJUnitRunner
+import org.mockito.kotlin.any
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import java.util.concurrent.TimeUnit
+
+@Suppress("UNCHECKED_CAST")
+@RunWith(MockitoJUnitRunner::class)
+class EdgeEventBufferTests {
+    private lateinit var metrics: EdgeBridgeMetrics
+
+    @Mock
+    lateinit var mockExtensionApi: ExtensionApi
+
+    @Before
+    fun setup() {
+        metrics = EdgeBridgeMetrics()
+    }
+
+    @Test
+    fun testAdd_notReady_holdsEvents() {
+        val buffer = createBuffer()
+
+        buffer.add(createEvent(), System.nanoTime())
+
+        assertFalse(buffer.isReady)
+        verify(mockExtensionApi, never()).dispatch(any())
+    }
+
+    @Test
+    fun testSetReady_dispatchesHeldEventsInOrder() {
+        val buffer = createBuffer()
+        val events = listOf(createEvent(), createEvent(), createEvent())
+        events.forEach { buffer.add(it, System.nanoTime()) }
+
+        buffer.setReady()
+
+        assertTrue(buffer.isReady)
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, times(3)).dispatch(eventCaptor.capture())
+        assertEquals(events, eventCaptor.allValues)
+    }
+
+    @Test
+    fun testAdd_ready_dispatchesImmediately() {
+        val buffer = createBuffer()
+        buffer.setReady()
+        val event = createEvent()
+
+        buffer.add(event, System.nanoTime())
+
+        verify(mockExtensionApi, times(1)).dispatch(event)
+    }
+
+    @Test
+    fun testAdd_capacityReached_dropsOldestEvents() {
+        val buffer = createBuffer(capacity = 2)
+        val events = listOf(createEvent(), createEvent(), createEvent())
+        events.forEach { buffer.add(it, System.nanoTime()) }
+
+        buffer.setReady()
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, times(2)).dispatch(eventCaptor.capture())
+        assertEquals(events.drop(1), eventCaptor.allValues)
+        assertEquals(1L, getDropped()["bufferOverflow"])
+    }
+
+    @Test
+    fun testAdd_memoryLimitReached_dropsOldestEvents() {
+        val event = createEvent(mapOf("key" to "x".repeat(100)))
+        val eventBytes = EdgeEventBuffer.estimateSize(event.eventData)
+        val buffer = createBuffer(maxBytes = eventBytes * 2)
+        val events = listOf(event, createEvent(mapOf("key" to "y".repeat(100))), createEvent(mapOf("key" to "z".repeat(100))))
+        events.forEach { buffer.add(it, System.nanoTime()) }
+
+        buffer.setReady()
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, times(2)).dispatch(eventCaptor.capture())
+        assertEquals(events.drop(1), eventCaptor.allValues)
+        assertEquals(1L, getDropped()["bufferOverflow"])
+    }
+
+    @Test
+    fun testAdd_eventLargerThanMemoryLimit_dropsEvent() {
+        val buffer = createBuffer(maxBytes = 64)
+
+        buffer.add(createEvent(mapOf("key" to "x".repeat(100))), System.nanoTime())
+        buffer.setReady()
+
+        verify(mockExtensionApi, never()).dispatch(any())
+        assertEquals(1L, getDropped()["bufferOverflow"])
+    }
+
+    @Test
+    fun testSetReady_oldEvents_areDispatched() {
+        val buffer = createBuffer()
+        val events = listOf(createEvent(), createEvent())
+        // Edge may register long after the first events are tracked
+        buffer.add(events[0], System.nanoTime() - TimeUnit.MINUTES.toNanos(10))
+        buffer.add(events[1], System.nanoTime())
+
+        buffer.setReady()
+
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        verify(mockExtensionApi, times(2)).dispatch(eventCaptor.capture())
+        assertEquals(events, eventCaptor.allValues)
+        getDropped().values.forEach { assertEquals(0L, it) }
+    }
+
+    @Test
+    fun testEstimateSize_nestedData_includesAllValues() {
+        val flat = EdgeEventBuffer.estimateSize(mapOf("key" to "value"))
+        val nested = EdgeEventBuffer.estimateSize(mapOf("key" to "value", "nested" to mapOf("key" to "value"), "list" to listOf("a", "b")))
+
+        assertTrue(nested > flat)
+    }
+
+    private fun createBuffer(
+        capacity: Int = 10,
+        maxBytes: Long = 1024 * 1024
+    ): EdgeEventBuffer {
+        return EdgeEventBuffer(mockExtensionApi, metrics, capacity, maxBytes)
+    }
+
+    private fun createEvent(data: Map<String, Any> = mapOf("key" to "value")): Event {
+        return Event.Builder("Edge Bridge Request", EventType.EDGE, EventSource.REQUEST_CONTENT)
+            .setEventData(data)
+            .build()
+    }
+
+    private fun getDropped(): Map<String, Any> {
+        return metrics.snapshot()["dropped"] as Map<String, Any>
+    }
+}
@@ -0,0 +1,97 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class InternTableTests {
+
+    @Test
+    fun testGet_missingKey_returnsNull() {
+        val table = InternTable<String>(4, 16)
+
+        assertNull(table.get("key"))
+    }
+
+    @Test
+    fun testPut_returnsCanonicalValue() {
+        val table = InternTable<String>(4, 16)
+        val canonical = String("value".toCharArray())
+        val copy = String("value".toCharArray())
+
+        assertSame(canonical, table.put("value", canonical))
+        assertSame(canonical, table.put("value", copy))
+        assertSame(canonical, table.get(copy))
+    }
+
+    @Test
+    fun testPut_keyTooLong_isNotAdded() {
+        val table = InternTable<String>(4, 4)
+
+        table.put("longKey", "value")
+
+        assertEquals(0, table.size())
+        assertNull(table.get("longKey"))
+    }
+
+    @Test
+    fun testPut_tableFull_isNotAddedUntilSweep() {
+        val table = InternTable<String>(2, 16)
+        table.put("key1", "value1")
+        table.put("key2", "value2")
+
+        table.put("key3", "value3")
+
+        assertEquals(2, table.size())
+        assertNull(table.get("key3"))
+    }
+
+    @Test
+    fun testPut_sweep_evictsKeysNotHit() {
+        val table = InternTable<String>(2, 16)
+        table.put("key1", "value1")
+        table.put("key2", "value2")
+        table.get("key1")
+
+        // The second miss once full triggers a sweep, which keeps only the key hit since
+        table.put("key3", "value3")
+        table.put("key4", "value4")
+
+        assertEquals(2, table.size())
+        assertEquals("value1", table.get("key1"))
+        assertNull(table.get("key2"))
+        assertEquals("value4", table.get("key4"))
+    }
+
+    @Test
+    fun testPut_sweep_halvesHitCounts() {
+        val table = InternTable<String>(2, 16)
+        table.put("key1", "value1")
+        table.put("key2", "value2")
+        table.get("key1")
+        table.get("key1")
+        table.get("key2")
+
+        // The first sweep halves the hit counts to one and zero, so the second sweep keeps only key1
+        table.put("key3", "value3")
+        table.put("key4", "value4")
+        table.put("key5", "value5")
+        table.put("key6", "value6")
+
+        assertEquals(2, table.size())
+        assertEquals("value1", table.get("key1"))
+        assertEquals("value6", table.get("key6"))
+    }
+}
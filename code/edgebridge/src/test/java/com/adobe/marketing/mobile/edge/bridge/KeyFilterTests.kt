@@ -0,0 +1,72 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class KeyFilterTests {
+
+    @Test
+    fun testCompile_nullOrEmpty_returnsEmptyFilter() {
+        assertSame(KeyFilter.EMPTY, KeyFilter.compile(null))
+        assertSame(KeyFilter.EMPTY, KeyFilter.compile(emptyList()))
+        assertSame(KeyFilter.EMPTY, KeyFilter.compile(listOf(1, "", true)))
+        assertTrue(KeyFilter.EMPTY.isEmpty())
+    }
+
+    @Test
+    fun testMatches_exactKey() {
+        val filter = KeyFilter.compile(listOf("debug"))
+
+        assertFalse(filter.isEmpty())
+        assertTrue(filter.matches("debug"))
+        assertFalse(filter.matches("debug2"))
+        assertFalse(filter.matches("debu"))
+    }
+
+    @Test
+    fun testMatches_prefix() {
+        val filter = KeyFilter.compile(listOf("debug.*", "&&*"))
+
+        assertTrue(filter.matches("debug.level"))
+        assertTrue(filter.matches("debug."))
+        assertTrue(filter.matches("&&events"))
+        assertFalse(filter.matches("debug"))
+        assertFalse(filter.matches("app.debug.level"))
+    }
+
+    @Test
+    fun testMatches_glob() {
+        val filter = KeyFilter.compile(listOf("*.debug", "trace?", "a*b*c"))
+
+        assertTrue(filter.matches("app.debug"))
+        assertTrue(filter.matches(".debug"))
+        assertTrue(filter.matches("trace1"))
+        assertTrue(filter.matches("abc"))
+        assertTrue(filter.matches("aXbYbZc"))
+        assertFalse(filter.matches("app.debug.level"))
+        assertFalse(filter.matches("trace"))
+        assertFalse(filter.matches("trace12"))
+        assertFalse(filter.matches("aXbYbZ"))
+    }
+
+    @Test
+    fun testMatches_starOnly_matchesAllKeys() {
+        val filter = KeyFilter.compile(listOf("*"))
+
+        assertTrue(filter.matches("key"))
+        assertTrue(filter.matches("&&events"))
+    }
+}
@@ -0,0 +1,145 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class MappingPlanTests {
+
+    @Test
+    fun testRoute_defaultPlan_routesPrefixedKeysToAnalytics() {
+        val route = MappingPlan.DEFAULT.route("&&events")
+
+        assertEquals(MappingPlan.Target.ANALYTICS, route.target)
+        assertEquals("events", route.getOutputKey("&&events"))
+    }
+
+    @Test
+    fun testRoute_defaultPlan_routesOtherKeysToContextData() {
+        val route = MappingPlan.DEFAULT.route("key")
+
+        assertEquals(MappingPlan.Target.CONTEXT_DATA, route.target)
+        assertEquals("key", route.getOutputKey("key"))
+    }
+
+    @Test
+    fun testIsDefault_noValidRules_isDefault() {
+        assertTrue(MappingPlan.DEFAULT.isDefault)
+        assertTrue(MappingPlan.compile(emptyList()).isDefault)
+        assertTrue(MappingPlan.compile(listOf(mapOf("key" to "page"))).isDefault)
+    }
+
+    @Test
+    fun testIsDefault_configuredRules_isNotDefault() {
+        assertFalse(MappingPlan.compile(listOf(mapOf("key" to "page", "to" to "analytics"))).isDefault)
+        assertFalse(MappingPlan.compile(listOf(mapOf("prefix" to "&&", "to" to "contextData"))).isDefault)
+    }
+
+    @Test
+    fun testRoute_exactKeyRule_renamesKey() {
+        val plan = MappingPlan.compile(listOf(mapOf("key" to "page", "to" to "analytics", "as" to "pageName")))
+
+        val route = plan.route("page")
+        assertEquals(MappingPlan.Target.ANALYTICS, route.target)
+        assertEquals("pageName", route.getOutputKey("page"))
+        assertEquals(MappingPlan.Target.CONTEXT_DATA, plan.route("pages").target)
+    }
+
+    @Test
+    fun testRoute_prefixRule_replacesPrefix() {
+        val plan = MappingPlan.compile(listOf(mapOf("prefix" to "app.", "to" to "contextData", "as" to "a.")))
+
+        val route = plan.route("app.version")
+        assertEquals(MappingPlan.Target.CONTEXT_DATA, route.target)
+        assertEquals("a.version", route.getOutputKey("app.version"))
+    }
+
+    @Test
+    fun testRoute_overlappingPrefixes_longestPrefixWins() {
+        val plan = MappingPlan.compile(
+            listOf(
+                mapOf("prefix" to "debug", "to" to "drop"),
+                mapOf("prefix" to "debug.keep.", "to" to "contextData")
+            )
+        )
+
+        assertEquals(MappingPlan.Target.DROP, plan.route("debug.level").target)
+        assertEquals(MappingPlan.Target.CONTEXT_DATA, plan.route("debug.keep.level").target)
+        assertEquals("level", plan.route("debug.keep.level").getOutputKey("debug.keep.level"))
+    }
+
+    @Test
+    fun testRoute_exactKeyRule_takesPrecedenceOverPrefixRule() {
+        val plan = MappingPlan.compile(
+            listOf(
+                mapOf("prefix" to "&&", "to" to "drop"),
+                mapOf("key" to "&&events", "to" to "analytics", "as" to "events")
+            )
+        )
+
+        assertEquals(MappingPlan.Target.ANALYTICS, plan.route("&&events").target)
+        assertEquals(MappingPlan.Target.DROP, plan.route("&&products").target)
+    }
+
+    @Test
+    fun testRoute_xdmExactKeyRule_returnsPath() {
+        val plan = MappingPlan.compile(listOf(mapOf("key" to "sku", "to" to "xdm", "as" to "commerce.product.sku")))
+
+        val route = plan.route("sku")
+        assertEquals(MappingPlan.Target.XDM, route.target)
+        assertArrayEquals(arrayOf("commerce", "product", "sku"), route.getXdmPath("sku"))
+    }
+
+    @Test
+    fun testRoute_xdmPrefixRule_appendsSuffixToPath() {
+        val plan = MappingPlan.compile(listOf(mapOf("prefix" to "device.", "to" to "xdm", "as" to "_tenant.device")))
+
+        assertArrayEquals(arrayOf("_tenant", "device", "os", "name"), plan.route("device.os.name").getXdmPath("device.os.name"))
+        assertNull(plan.route("device.os.").getXdmPath("device.os."))
+    }
+
+    @Test
+    fun testResolve_sameKey_returnsSameResolvedKey() {
+        val plan = MappingPlan.compile(listOf(mapOf("key" to "sku", "to" to "xdm", "as" to "commerce.sku")))
+
+        val resolvedKey = plan.resolve("&&events")
+        assertEquals(MappingPlan.Target.ANALYTICS, resolvedKey.target)
+        assertEquals("events", resolvedKey.outputKey)
+        assertSame(resolvedKey, plan.resolve("&&events"))
+        assertSame(resolvedKey.outputKey, plan.resolve("&&events").outputKey)
+        assertArrayEquals(arrayOf("commerce", "sku"), plan.resolve("sku").xdmPath)
+        assertNull(plan.resolve("sku").outputKey)
+    }
+
+    @Test
+    fun testCompile_invalidRules_areSkipped() {
+        val plan = MappingPlan.compile(
+            listOf(
+                mapOf("key" to "a", "to" to "unknown"),
+                mapOf("key" to "b"),
+                mapOf("to" to "drop"),
+                mapOf("key" to "c", "prefix" to "c", "to" to "drop")
+            )
+        )
+
+        assertEquals(MappingPlan.Target.CONTEXT_DATA, plan.route("a").target)
+        assertEquals(MappingPlan.Target.CONTEXT_DATA, plan.route("b").target)
+        assertEquals(MappingPlan.Target.CONTEXT_DATA, plan.route("c").target)
+        assertEquals(MappingPlan.Target.ANALYTICS, plan.route("&&c").target)
+    }
+}
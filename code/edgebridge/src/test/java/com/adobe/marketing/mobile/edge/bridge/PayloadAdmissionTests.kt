@@ -0,0 +1,127 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class PayloadAdmissionTests {
+
+    private val data = mapOf<String, Any>(
+        "action" to "action name",
+        "contextdata" to mapOf("key1" to "value1", "key2" to "value2", "key3" to "value3")
+    )
+
+    @Test
+    fun testFromConfiguration_noLimits_returnsUnlimited() {
+        val admission = PayloadAdmission.fromConfiguration(mapOf("edgebridge.oversizePolicy" to "truncate"))
+
+        assertSame(PayloadAdmission.UNLIMITED, admission)
+        assertTrue(admission.fits(data))
+    }
+
+    @Test
+    fun testFromConfiguration_invalidPolicy_defaultsToReject() {
+        val admission = PayloadAdmission.fromConfiguration(mapOf("edgebridge.maxPayloadKeys" to 3, "edgebridge.oversizePolicy" to "unknown"))
+
+        assertEquals(PayloadAdmission.Policy.REJECT, admission.policy)
+        assertNull(admission.fit(data))
+    }
+
+    @Test
+    fun testFromConfiguration_splitPolicy_defaultsToReject() {
+        val admission = PayloadAdmission.fromConfiguration(mapOf("edgebridge.maxPayloadKeys" to 3, "edgebridge.oversizePolicy" to "split"))
+
+        assertEquals(PayloadAdmission.Policy.REJECT, admission.policy)
+        assertNull(admission.fit(data))
+    }
+
+    @Test
+    fun testFits_withinLimits_returnsTrue() {
+        val admission = PayloadAdmission.fromConfiguration(
+            mapOf("edgebridge.maxPayloadKeys" to 5, "edgebridge.maxPayloadDepth" to 2, "edgebridge.maxPayloadBytes" to 1024)
+        )
+
+        assertTrue(admission.fits(data))
+    }
+
+    @Test
+    fun testFits_tooManyKeys_returnsFalse() {
+        assertFalse(PayloadAdmission.fromConfiguration(mapOf("edgebridge.maxPayloadKeys" to 4)).fits(data))
+    }
+
+    @Test
+    fun testFits_tooDeep_returnsFalse() {
+        val admission = PayloadAdmission.fromConfiguration(mapOf("edgebridge.maxPayloadDepth" to 2))
+
+        assertFalse(admission.fits(mapOf("nested" to mapOf("a" to mapOf("b" to "c")))))
+        assertFalse(admission.fits(mapOf("list" to listOf(listOf("a")))))
+        assertTrue(admission.fits(mapOf("list" to listOf("a"))))
+    }
+
+    @Test
+    fun testFits_tooLarge_returnsFalse() {
+        val admission = PayloadAdmission.fromConfiguration(mapOf("edgebridge.maxPayloadBytes" to 100))
+
+        assertFalse(admission.fits(mapOf("contextdata" to mapOf("key" to "x".repeat(100)))))
+    }
+
+    @Test
+    fun testFit_truncatePolicy_keepsEntriesWhichFit() {
+        val admission = PayloadAdmission.fromConfiguration(mapOf("edgebridge.maxPayloadKeys" to 3, "edgebridge.oversizePolicy" to "truncate"))
+
+        val truncated = admission.fit(data)
+
+        assertEquals(mapOf("action" to "action name", "contextdata" to mapOf("key1" to "value1")), truncated)
+    }
+
+    @Test
+    fun testFit_truncatePolicy_dropsEntriesTooDeep() {
+        val admission = PayloadAdmission.fromConfiguration(mapOf("edgebridge.maxPayloadDepth" to 2, "edgebridge.oversizePolicy" to "truncate"))
+
+        val truncated = admission.fit(
+            mapOf(
+                "action" to "action name",
+                "contextdata" to mapOf("key" to "value", "nonString" to 1),
+                "nested" to mapOf("a" to mapOf("b" to "c")),
+                "flat" to mapOf("a" to "b")
+            )
+        )
+
+        assertEquals(
+            mapOf("action" to "action name", "contextdata" to mapOf("key" to "value"), "flat" to mapOf("a" to "b")),
+            truncated
+        )
+    }
+
+    @Test
+    fun testFit_truncatePolicy_keepsActionAndStateWhenOtherEntriesDoNotFit() {
+        val admission = PayloadAdmission.fromConfiguration(mapOf("edgebridge.maxPayloadKeys" to 3, "edgebridge.oversizePolicy" to "truncate"))
+
+        val truncated = admission.fit(
+            mapOf("action" to "action name", "state" to "state name", "extra" to "value", "contextdata" to mapOf("key1" to "value1"))
+        )
+
+        assertEquals(mapOf("action" to "action name", "state" to "state name", "extra" to "value"), truncated)
+    }
+
+    @Test
+    fun testFit_actionAloneTooLarge_returnsNull() {
+        val admission = PayloadAdmission.fromConfiguration(mapOf("edgebridge.maxPayloadBytes" to 10, "edgebridge.oversizePolicy" to "truncate"))
+
+        assertNull(admission.fit(mapOf("action" to "x".repeat(100))))
+    }
+}
@@ -0,0 +1,51 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class SizeHintTests {
+
+    @Test
+    fun testCapacity_noObservations_returnsMinimumCapacity() {
+        assertEquals(1, SizeHint(64).capacity())
+    }
+
+    @Test
+    fun testRecord_largerSize_isFollowedImmediately() {
+        val sizeHint = SizeHint(64)
+
+        sizeHint.record(12)
+
+        assertEquals(17, sizeHint.capacity())
+    }
+
+    @Test
+    fun testRecord_smallerSize_decaysGradually() {
+        val sizeHint = SizeHint(64)
+        sizeHint.record(16)
+
+        sizeHint.record(1)
+
+        assertEquals(19, sizeHint.capacity()) // 14 entries
+    }
+
+    @Test
+    fun testRecord_sizeAboveMaximum_isBounded() {
+        val sizeHint = SizeHint(64)
+
+        sizeHint.record(10000)
+
+        assertEquals(86, sizeHint.capacity())
+    }
+}
@@ -0,0 +1,86 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import com.adobe.marketing.mobile.util.TimeUtils
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.util.Date
+import java.util.Random
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class TimestampFormatterTests {
+
+    @Test
+    fun testFormat_matchesTimeUtils() {
+        val timestamps = listOf(
+            0L, // 1970-01-01T00:00:00.000Z
+            1714566896789L, // 2024-05-01T12:34:56.789Z
+            1709164800001L, // 2024-02-29T00:00:00.001Z, leap day
+            951868799999L, // 2000-02-29T23:59:59.999Z, leap century
+            4107542399999L, // 2100-02-28T23:59:59.999Z, non-leap century
+            253402300799999L // 9999-12-31T23:59:59.999Z
+        )
+
+        timestamps.forEach { assertFormat(it) }
+    }
+
+    @Test
+    fun testFormat_randomTimestamps_matchesTimeUtils() {
+        val random = Random(42)
+        repeat(10000) {
+            assertFormat((random.nextDouble() * 4102444800000L).toLong())
+        }
+    }
+
+    @Test
+    fun testFormat_sameSecond_onlyMillisecondsChange() {
+        assertEquals("2024-05-01T12:34:56.000Z", TimestampFormatter.format(1714566896000L))
+        assertEquals("2024-05-01T12:34:56.007Z", TimestampFormatter.format(1714566896007L))
+        assertEquals("2024-05-01T12:34:56.070Z", TimestampFormatter.format(1714566896070L))
+        assertEquals("2024-05-01T12:34:56.999Z", TimestampFormatter.format(1714566896999L))
+        assertEquals("2024-05-01T12:34:57.000Z", TimestampFormatter.format(1714566897000L))
+    }
+
+    @Test
+    fun testFormat_outOfRangeTimestamps_fallsBackToTimeUtils() {
+        assertFormat(-1L)
+        assertFormat(253402300800000L)
+    }
+
+    @Test
+    fun testFormat_concurrentCallers_matchesTimeUtils() {
+        val executor = Executors.newFixedThreadPool(4)
+        val tasks = (0 until 4).map { thread ->
+            Callable {
+                // Each thread alternates between its own seconds to churn the shared cached prefix
+                repeat(10000) { i ->
+                    val timestamp = 1714566896000L + thread * 1000L + (i % 2) * 60000L + i % 1000
+                    assertFormat(timestamp)
+                }
+            }
+        }
+
+        executor.invokeAll(tasks).forEach { it.get() }
+        executor.shutdown()
+        executor.awaitTermination(5, TimeUnit.SECONDS)
+    }
+
+    private fun assertFormat(timestamp: Long) {
+        assertEquals(
+            TimeUtils.getISO8601UTCDateWithMilliseconds(Date(timestamp)),
+            TimestampFormatter.format(timestamp)
+        )
+    }
+}
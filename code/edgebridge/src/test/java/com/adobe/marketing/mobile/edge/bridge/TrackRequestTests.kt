@@ -0,0 +1,116 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class TrackRequestTests {
+
+    @Test
+    fun testBuild_setsValues() {
+        val request = TrackRequest.Builder()
+            .setAction("action name")
+            .setState("state name")
+            .setContextData(mapOf("key1" to "value1"))
+            .setAnalyticsData(mapOf("events" to "event1"))
+            .build()
+
+        assertEquals("action name", request.action)
+        assertEquals("state name", request.state)
+        assertEquals(mapOf("key1" to "value1"), request.contextData)
+        assertEquals(mapOf("events" to "event1"), request.analyticsData)
+        assertFalse(request.isEmpty)
+    }
+
+    @Test
+    fun testBuild_prefixedContextData_movedToAnalyticsData() {
+        val request = TrackRequest.Builder()
+            .setContextData(mapOf("&&c1" to "propValue1", "key1" to "value1"))
+            .build()
+
+        assertEquals(mapOf("key1" to "value1"), request.contextData)
+        assertEquals(mapOf("c1" to "propValue1"), request.analyticsData)
+    }
+
+    @Test
+    fun testBuild_invalidValues_areDropped() {
+        val request = TrackRequest.Builder()
+            .setAction("")
+            .setState("")
+            .setContextData(mapOf("" to "value1", "key2" to null, "&&" to "value3"))
+            .setAnalyticsData(mapOf("" to "value4"))
+            .build()
+
+        assertNull(request.action)
+        assertNull(request.state)
+        assertTrue(request.contextData.isEmpty())
+        assertTrue(request.analyticsData.isEmpty())
+        assertTrue(request.isEmpty)
+    }
+
+    @Test
+    fun testBuild_copiesData() {
+        val contextData = mutableMapOf("key1" to "value1")
+        val request = TrackRequest.Builder().setContextData(contextData).build()
+
+        contextData["key2"] = "value2"
+
+        assertEquals(mapOf("key1" to "value1"), request.contextData)
+    }
+
+    @Test(expected = UnsupportedOperationException::class)
+    fun testBuild_contextDataIsReadOnly() {
+        val request = TrackRequest.Builder().setContextData(mapOf("key1" to "value1")).build()
+
+        (request.contextData as MutableMap<String, String>)["key2"] = "value2"
+    }
+
+    @Test
+    fun testToEventData_prefixesAnalyticsData() {
+        val request = TrackRequest.Builder()
+            .setAction("action name")
+            .setContextData(mapOf("key1" to "value1"))
+            .setAnalyticsData(mapOf("c1" to "propValue1"))
+            .build()
+
+        val expected = mapOf(
+            "action" to "action name",
+            "contextdata" to mapOf("key1" to "value1", "&&c1" to "propValue1")
+        )
+        assertEquals(expected, request.toEventData())
+        assertSame(request.toEventData(), request.toEventData())
+    }
+
+    @Test
+    fun testToEventData_withoutContextData() {
+        val request = TrackRequest.Builder().setState("state name").build()
+
+        assertEquals(mapOf("state" to "state name"), request.toEventData())
+    }
+
+    @Test
+    fun testEquals_comparesValues() {
+        val request1 = TrackRequest.Builder().setAction("action name").setContextData(mapOf("key1" to "value1")).build()
+        val request2 = TrackRequest.Builder().setAction("action name").setContextData(mapOf("key1" to "value1")).build()
+        val request3 = TrackRequest.Builder().setAction("action name").setContextData(mapOf("key1" to "value2")).build()
+
+        assertEquals(request1, request2)
+        assertEquals(request1.hashCode(), request2.hashCode())
+        assertNotEquals(request1, request3)
+    }
+}
@@ -0,0 +1,157 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.edge.bridge
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Test
+import java.util.Random
+import java.util.concurrent.TimeUnit
+
+class TrafficLimiterTests {
+
+    private val metrics = EdgeBridgeMetrics()
+
+    @Test
+    fun testCheckTrack_noLimits_returnsNull() {
+        val limiter = createLimiter(emptyMap())
+
+        assertNull(limiter.checkTrack("action", "state", 1.0, 0L))
+        assertNull(limiter.checkRulesEngine(1.0, 0L))
+    }
+
+    @Test
+    fun testCheckTrack_actionSampleRateZero_returnsSampled() {
+        val limiter = createLimiter(mapOf("edgebridge.actionLimits" to mapOf("scroll" to mapOf("sampleRate" to 0.0))))
+
+        assertEquals(EdgeBridgeMetrics.DropReason.SAMPLED, limiter.checkTrack("scroll", null, 1.0, 0L))
+        assertNull(limiter.checkTrack("click", null, 1.0, 0L))
+    }
+
+    @Test
+    fun testCheckTrack_actionSampleRate_samplesProportionally() {
+        val limiter = createLimiter(mapOf("edgebridge.actionLimits" to mapOf("scroll" to mapOf("sampleRate" to 0.25))))
+
+        val bridged = (0 until 10000).count { limiter.checkTrack("scroll", null, 1.0, 0L) == null }
+
+        assertEquals(2500.0, bridged.toDouble(), 250.0)
+    }
+
+    @Test
+    fun testCheckTrack_stateRateLimit_allowsBurstThenLimits() {
+        val limiter = createLimiter(
+            mapOf("edgebridge.stateLimits" to mapOf("Home" to mapOf("ratePerSecond" to 1, "burst" to 2)))
+        )
+
+        assertNull(limiter.checkTrack(null, "Home", 1.0, 0L))
+        assertNull(limiter.checkTrack(null, "Home", 1.0, 1L))
+        assertEquals(EdgeBridgeMetrics.DropReason.RATE_LIMITED, limiter.checkTrack(null, "Home", 1.0, 2L))
+    }
+
+    @Test
+    fun testCheckTrack_stateRateLimit_refillsOverTime() {
+        val limiter = createLimiter(
+            mapOf("edgebridge.stateLimits" to mapOf("Home" to mapOf("ratePerSecond" to 2, "burst" to 1)))
+        )
+
+        assertNull(limiter.checkTrack(null, "Home", 1.0, 0L))
+        assertNotNull(limiter.checkTrack(null, "Home", 1.0, TimeUnit.MILLISECONDS.toNanos(100)))
+        assertNull(limiter.checkTrack(null, "Home", 1.0, TimeUnit.MILLISECONDS.toNanos(600)))
+    }
+
+    @Test
+    fun testCheckTrack_actionAndState_appliesBothLimits() {
+        val limiter = createLimiter(
+            mapOf(
+                "edgebridge.actionLimits" to mapOf("scroll" to mapOf("sampleRate" to 1.0, "ratePerSecond" to 10)),
+                "edgebridge.stateLimits" to mapOf("Home" to mapOf("sampleRate" to 0.0))
+            )
+        )
+
+        assertEquals(EdgeBridgeMetrics.DropReason.SAMPLED, limiter.checkTrack("scroll", "Home", 1.0, 0L))
+    }
+
+    @Test
+    fun testCheckTrack_stateRejects_returnsActionToken() {
+        val limiter = createLimiter(
+            mapOf(
+                "edgebridge.actionLimits" to mapOf("scroll" to mapOf("ratePerSecond" to 1, "burst" to 1)),
+                "edgebridge.stateLimits" to mapOf("Home" to mapOf("ratePerSecond" to 1, "burst" to 1))
+            )
+        )
+
+        assertNull(limiter.checkTrack(null, "Home", 1.0, 0L))
+        assertEquals(EdgeBridgeMetrics.DropReason.RATE_LIMITED, limiter.checkTrack("scroll", "Home", 1.0, 1L))
+        assertNull(limiter.checkTrack("scroll", null, 1.0, 2L))
+    }
+
+    @Test
+    fun testCheckTrack_sampleRateZero_returnsSampledWithoutTakingToken() {
+        val limiter = createLimiter(
+            mapOf("edgebridge.actionLimits" to mapOf("scroll" to mapOf("ratePerSecond" to 1, "burst" to 1)))
+        )
+
+        assertEquals(EdgeBridgeMetrics.DropReason.SAMPLED, limiter.checkTrack("scroll", null, 0.0, 0L))
+        assertEquals(EdgeBridgeMetrics.DropReason.SAMPLED, limiter.checkRulesEngine(0.0, 0L))
+        assertNull(limiter.checkTrack("scroll", null, 1.0, 1L))
+    }
+
+    @Test
+    fun testCheckTrack_configuredLimits_countsOutcomesPerName() {
+        val limiter = createLimiter(
+            mapOf(
+                "edgebridge.actionLimits" to mapOf("scroll" to mapOf("ratePerSecond" to 1, "burst" to 1)),
+                "edgebridge.stateLimits" to mapOf("Home" to mapOf("sampleRate" to 0.0))
+            )
+        )
+
+        limiter.checkTrack("scroll", null, 1.0, 0L)
+        limiter.checkTrack("scroll", null, 1.0, 1L)
+        limiter.checkTrack("scroll", "Home", 1.0, 2L)
+        limiter.checkTrack("click", "Settings", 1.0, 3L)
+
+        val limits = metrics.snapshot()["limits"] as Map<*, *>
+        assertEquals(
+            mapOf("scroll" to mapOf("passed" to 1L, "sampled" to 1L, "rateLimited" to 1L)),
+            limits["actions"]
+        )
+        assertEquals(mapOf("Home" to mapOf("passed" to 0L, "sampled" to 1L, "rateLimited" to 0L)), limits["states"])
+        assertEquals(mapOf("passed" to 0L, "sampled" to 0L, "rateLimited" to 0L), limits["rulesEngine"])
+    }
+
+    @Test
+    fun testCheckRulesEngine_rateLimit_limitsRulesEngineEvents() {
+        val limiter = createLimiter(mapOf("edgebridge.rulesEngineLimit" to mapOf("ratePerSecond" to 1)))
+
+        assertNull(limiter.checkRulesEngine(1.0, 0L))
+        assertEquals(EdgeBridgeMetrics.DropReason.RATE_LIMITED, limiter.checkRulesEngine(1.0, 1L))
+        assertEquals(
+            mapOf("passed" to 1L, "sampled" to 0L, "rateLimited" to 1L),
+            (metrics.snapshot()["limits"] as Map<*, *>)["rulesEngine"]
+        )
+        assertNull(limiter.checkTrack("action", null, 1.0, 2L))
+    }
+
+    @Test
+    fun testLimitFromMap_noSamplingOrRate_returnsNull() {
+        assertNull(TrafficLimiter.Limit.fromMap(null))
+        assertNull(TrafficLimiter.Limit.fromMap(mapOf("sampleRate" to 1.0)))
+        assertNull(TrafficLimiter.Limit.fromMap(mapOf("ratePerSecond" to -1)))
+    }
+
+    private fun createLimiter(configuration: Map<String, Any>): TrafficLimiter {
+        val limiter = TrafficLimiter(metrics, Random(42))
+        limiter.configure(EdgeBridgeConfiguration.fromConfiguration(configuration))
+        return limiter
+    }
+}
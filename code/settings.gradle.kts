@@ -32,5 +32,6 @@ dependencyResolutionManagement {
 rootProject.name = "aepsdk-edgebridge-android"
 include (
     ":edgebridge",
+    ":edgebridge-benchmarks",
     ":app"
 )
\ No newline at end of file